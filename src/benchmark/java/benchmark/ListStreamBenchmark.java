@@ -0,0 +1,259 @@
+package benchmark;
+
+import com.zyf.util.IntObjectMap;
+import com.zyf.util.MapListStream;
+import com.zyf.util.Sort;
+import com.zyf.util.X;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ListStream 常用操作与等价 java.util.stream 管道的对比，每组以 jdk 前缀的方法作为基线
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListStreamBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<Row> rows;
+    private MapListStream<Integer, Row> byAge;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final Integer score = random.nextInt(20) == 0 ? null : random.nextInt(size);
+            rows.add(new Row(i, "name" + random.nextInt(size / 10 + 1), random.nextInt(100), score));
+        }
+        byAge = X.list(rows).groupBy(r -> r.age);
+    }
+
+    // ================================ filter / map ==================================
+
+    @Benchmark
+    public List<String> filterMap() {
+        return X.list(rows)
+                .filter(r -> r.age >= 18)
+                .map(r -> r.name)
+                .filter(n -> n.length() > 5)
+                .map(String::toUpperCase)
+                .toList();
+    }
+
+    @Benchmark
+    public List<String> jdkFilterMap() {
+        return rows.stream()
+                .filter(r -> r.age >= 18)
+                .map(r -> r.name)
+                .filter(n -> n.length() > 5)
+                .map(String::toUpperCase)
+                .collect(Collectors.toList());
+    }
+
+    // ================================ groupBy ==================================
+
+    @Benchmark
+    public Map<Integer, List<Row>> groupBy() {
+        return X.list(rows).groupBy(r -> r.age).toMap();
+    }
+
+    @Benchmark
+    public Map<Integer, List<Row>> jdkGroupBy() {
+        return rows.stream().collect(Collectors.groupingBy(r -> r.age));
+    }
+
+    // 约 size / 10 个分组，每组约 10 个元素
+    @Benchmark
+    public Map<String, List<Row>> groupByName() {
+        return X.list(rows).groupBy(r -> r.name).toMap();
+    }
+
+    @Benchmark
+    public Map<String, List<Row>> groupByCompactName() {
+        return X.list(rows).groupByCompact(r -> r.name).toMap();
+    }
+
+    // 每组排序后聚合，比较逐组执行与并行执行
+    @Benchmark
+    public Map<Integer, Long> valueStreamSorted() {
+        return byAge.valueStream(values -> values.sortDesc(r -> r.id).sumLong(r -> r.id)).toMap();
+    }
+
+    @Benchmark
+    public Map<Integer, Long> valueStreamParallelSorted() {
+        return byAge.valueStreamParallel(values -> values.sortDesc(r -> r.id).sumLong(r -> r.id)).toMap();
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Row>> groupByBoolean() {
+        return X.list(rows).groupBy(r -> r.age >= 18).toMap();
+    }
+
+    @Benchmark
+    public Map<Boolean, Long> groupingByBoolean() {
+        return X.list(rows).groupingBy(r -> r.age >= 18, Collectors.counting()).toMap();
+    }
+
+    @Benchmark
+    public IntObjectMap<List<Row>> groupByInt() {
+        return X.list(rows).groupByInt(r -> r.age);
+    }
+
+    // ================================ toMap ==================================
+
+    @Benchmark
+    public Map<Integer, Row> toMap() {
+        return X.list(rows).toMap(r -> r.id);
+    }
+
+    @Benchmark
+    public Map<Integer, Row> jdkToMap() {
+        return rows.stream().collect(Collectors.toMap(r -> r.id, Function.identity(), (a, b) -> b));
+    }
+
+    @Benchmark
+    public IntObjectMap<Row> toIntMap() {
+        return X.list(rows).toIntMap(r -> r.id);
+    }
+
+    // ================================ sort(keyExtractor, Sort, Sort) ==================================
+
+    @Benchmark
+    public List<Row> sort() {
+        return X.list(rows).sort(r -> r.score, Sort.Desc, Sort.NullLast).toList();
+    }
+
+    @Benchmark
+    public List<Row> sortParallel() {
+        return X.list(rows).parallel().sort(r -> r.score, Sort.Desc, Sort.NullLast).toList();
+    }
+
+    @Benchmark
+    public List<Row> sortThenTake() {
+        return X.list(rows).sortDesc(r -> r.score).take(10).toList();
+    }
+
+    @Benchmark
+    public List<Row> topK() {
+        return X.list(rows).topK(10, r -> r.score).toList();
+    }
+
+    @Benchmark
+    public List<Row> jdkSortThenLimit() {
+        return rows.stream()
+                .sorted(Comparator.comparing((Row r) -> r.score, Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(10)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Row> jdkSort() {
+        return rows.stream()
+                .sorted(Comparator.comparing((Row r) -> r.score, Comparator.nullsLast(Comparator.reverseOrder())))
+                .collect(Collectors.toList());
+    }
+
+    // ================================ windowed ==================================
+
+    @Benchmark
+    public long windowed() {
+        return X.list(rows).windowed(10, 1, false).count();
+    }
+
+    @Benchmark
+    public long jdkWindowed() {
+        final int windows = Math.max(0, rows.size() - 10 + 1);
+        long count = 0;
+        for (int i = 0; i < windows; i++) {
+            count += rows.subList(i, i + 10).stream().collect(Collectors.toList()).isEmpty() ? 0 : 1;
+        }
+        return count;
+    }
+
+    // 大小为 100 的滑动窗口，每个窗口读取首尾元素：复制窗口 / 源列表上的视图 / 复用一个环形缓冲区视图
+
+    @Benchmark
+    public long windowedCopy() {
+        final long[] sum = {0};
+        X.list(rows).windowed(100, 1, false).forEach(w -> sum[0] += w.get(0).age + w.get(w.size() - 1).age);
+        return sum[0];
+    }
+
+    @Benchmark
+    public long windowedView() {
+        final long[] sum = {0};
+        X.list(rows).windowedView(100, 1, false).forEach(w -> sum[0] += w.get(0).age + w.get(w.size() - 1).age);
+        return sum[0];
+    }
+
+    @Benchmark
+    public long windowedReuse() {
+        final long[] sum = {0};
+        X.list(rows).filter(r -> true).windowed(100, 1, false, w -> sum[0] += w.get(0).age + w.get(w.size() - 1).age);
+        return sum[0];
+    }
+
+    // ================================ distinct ==================================
+
+    @Benchmark
+    public List<String> distinct() {
+        return X.list(rows).map(r -> r.name).distinct().toList();
+    }
+
+    @Benchmark
+    public List<String> jdkDistinct() {
+        return rows.stream().map(r -> r.name).distinct().collect(Collectors.toList());
+    }
+
+    // ================================ sumBigDecimal ==================================
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        return X.list(rows).sumBigDecimal(r -> r.age);
+    }
+
+    @Benchmark
+    public BigDecimal jdkSumBigDecimal() {
+        return rows.stream().map(r -> BigDecimal.valueOf(r.age)).reduce(new BigDecimal("0.0"), BigDecimal::add);
+    }
+
+    public static final class Row {
+        final int id;
+        final String name;
+        final int age;
+        final Integer score;
+
+        Row(int id, String name, int age, Integer score) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package benchmark;
+
+import com.zyf.util.ListStream;
+import com.zyf.util.X;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 6 个无状态阶段的管道：拉模式逐层 hasNext/next 与终端操作融合后的推模式对比
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListStreamFusionBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<Integer> data;
+
+    @Setup
+    public void setup() {
+        data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(i);
+        }
+    }
+
+    private ListStream<Integer> pipeline() {
+        return X.list(data)
+                .filter(i -> (i & 1) == 0)
+                .map(i -> i + 1)
+                .filterNotNull()
+                .map(i -> i * 3)
+                .filter(i -> i % 5 != 0)
+                .peek(i -> {
+                });
+    }
+
+    @Benchmark
+    public List<Integer> pullIterator() {
+        final List<Integer> result = new ArrayList<>();
+        final Iterator<Integer> iterator = pipeline().iterator();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Integer> fusedToList() {
+        return pipeline().toList();
+    }
+
+    @Benchmark
+    public long fusedCount() {
+        return pipeline().count();
+    }
+
+    @Benchmark
+    public List<Integer> handWrittenLoop() {
+        final List<Integer> result = new ArrayList<>();
+        for (Integer i : data) {
+            if ((i & 1) == 0) {
+                final int v = (i + 1) * 3;
+                if (v % 5 != 0) {
+                    result.add(v);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,94 @@
+package benchmark;
+
+import com.zyf.util.ListStream;
+import com.zyf.util.X;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * 多条件过滤/计数/分组：编译后的条件与逐元素 Arrays.stream(predicates).allMatch(...) 对比。
+ * 查看每个元素的分配量：mvn -Pbenchmark test-compile exec:exec -Djmh.args="Predicate -prof gc"，
+ * 关注 gc.alloc.rate.norm，除结果集合外应接近 0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PredicateBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"1", "3", "5"})
+    public int predicateCount;
+
+    private List<Integer> data;
+
+    private Predicate<Integer>[] predicates;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(i);
+        }
+        final List<Predicate<Integer>> all = Arrays.asList(
+                i -> i >= 0, i -> (i & 1) == 0, i -> i % 3 != 0, i -> i < Integer.MAX_VALUE, i -> i % 7 != 0);
+        predicates = all.subList(0, predicateCount).toArray(new Predicate[0]);
+    }
+
+    @Benchmark
+    public long filtersCount() {
+        return X.list(data).filters(predicates).count();
+    }
+
+    @Benchmark
+    public long filtersAdaptiveCount() {
+        return X.list(data).filtersAdaptive(predicates).count();
+    }
+
+    @Benchmark
+    public long countPredicates() {
+        return X.list(data).count(predicates);
+    }
+
+    @Benchmark
+    public List<List<Integer>> partition() {
+        return X.list(data).partition(predicates);
+    }
+
+    @Benchmark
+    public Integer lastMatching() {
+        return ListStream.of(data).lastOrNull(predicates);
+    }
+
+    // 基线：旧实现每个元素创建一个 Stream 管道
+    @Benchmark
+    public long streamAllMatchCount() {
+        long count = 0;
+        for (Integer i : data) {
+            if (Arrays.stream(predicates).allMatch(p -> p.test(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,116 @@
+package benchmark;
+
+import com.zyf.util.Diff;
+import com.zyf.util.X;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * X.getDiff 与 X.clone 的对比基准，jdk 前缀的方法为等价的 java.util.stream 写法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XBenchmark {
+
+    @Param({"1000"})
+    public int size;
+
+    private List<Item> oldList;
+    private List<Item> newList;
+
+    @Setup
+    public void setup() {
+        oldList = new ArrayList<>(size);
+        newList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            oldList.add(new Item(i, "old" + i));
+            newList.add(new Item(i + size / 2, "new" + i));
+        }
+    }
+
+    // ================================ getDiff ==================================
+
+    @Benchmark
+    public Diff<Item> getDiffBiFunction() {
+        return X.getDiff(oldList, newList, (a, b) -> a.id == b.id);
+    }
+
+    @Benchmark
+    public Diff<Item> getDiffKey() {
+        return X.getDiff(oldList, newList, (Item item) -> item.id);
+    }
+
+    @Benchmark
+    public Object jdkGetDiff() {
+        final Map<Integer, Item> newIndex = newList.stream().collect(Collectors.toMap(i -> i.id, Function.identity(), (a, b) -> a));
+        final Set<Integer> oldIds = oldList.stream().map(i -> i.id).collect(Collectors.toSet());
+        final List<Item> addList = newList.stream().filter(i -> !oldIds.contains(i.id)).collect(Collectors.toList());
+        final List<Item> delList = oldList.stream().filter(i -> !newIndex.containsKey(i.id)).collect(Collectors.toList());
+        return new Object[]{addList, delList};
+    }
+
+    // ================================ clone ==================================
+
+    @Benchmark
+    public List<Item> cloneList() {
+        return X.clone(new ArrayList<>(oldList));
+    }
+
+    @Benchmark
+    public List<Item> cloneListElementWise() {
+        return X.cloneList(oldList);
+    }
+
+    @Benchmark
+    public List<Item> cloneListParallel() {
+        return X.cloneList(oldList, true);
+    }
+
+    @Benchmark
+    public List<Item> jdkCopyList() {
+        return oldList.stream().map(i -> new Item(i.id, i.name)).collect(Collectors.toList());
+    }
+
+    public static final class Item implements Serializable {
+        final int id;
+        final String name;
+
+        Item(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Item item && item.id == id && Objects.equals(item.name, name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, name);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.zyf.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+/**
+ * 自适应的多条件组合：前 sampleSize 次判断按声明顺序短路执行，统计每个被执行到的条件的通过率与平均耗时
+ * （即前面的条件都未决定结果时的条件通过率），之后按期望代价最小的顺序短路执行。
+ * <p>
+ * 与：按 耗时 / (1 - 通过率) 升序，优先执行便宜且能排除大量元素的条件；
+ * 或：按 耗时 / 通过率 升序，优先执行便宜且容易满足的条件。
+ * 调整的只是执行顺序，与/或的结果不变，要求各条件没有副作用。
+ * 前面的条件可以是后面条件的保护（如先判断非空）：采样阶段不会越过保护执行后面的条件；
+ * 调整顺序后某个条件抛出异常时，该元素按声明顺序重新判断，之后一直使用声明顺序，结果与 filters/filterOrs 相同。
+ * 线程安全，可用于 parallel()
+ */
+public final class AdaptivePredicate<T> implements Predicate<T> {
+
+    // 默认的采样次数
+    public static final int DEFAULT_SAMPLE_SIZE = 1024;
+
+    private final Predicate<? super T>[] predicates;
+    private final boolean and;
+    private final int sampleSize;
+    // 声明顺序
+    private final int[] declared;
+
+    private final AtomicInteger samples = new AtomicInteger();
+    // 采样中每个条件被执行的次数，短路时后面的条件不计入
+    private final AtomicLongArray evaluated;
+    private final AtomicLongArray passes;
+    private final AtomicLongArray nanos;
+
+    // 采样完成前为 null，按声明顺序执行
+    private volatile int[] order;
+
+    private AdaptivePredicate(Predicate<? super T>[] predicates, boolean and, int sampleSize) {
+        Objects.requireNonNull(predicates);
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("sampleSize must be positive");
+        }
+        this.predicates = predicates.clone();
+        this.and = and;
+        this.sampleSize = sampleSize;
+        this.evaluated = new AtomicLongArray(predicates.length);
+        this.passes = new AtomicLongArray(predicates.length);
+        this.nanos = new AtomicLongArray(predicates.length);
+        this.declared = new int[predicates.length];
+        for (int i = 0; i < declared.length; i++) {
+            declared[i] = i;
+        }
+        if (predicates.length < 2) {
+            // 只有一个条件时无需调整
+            this.order = declared;
+        }
+    }
+
+    @SafeVarargs
+    public static <T> AdaptivePredicate<T> and(Predicate<? super T>... predicates) {
+        return new AdaptivePredicate<>(predicates, true, DEFAULT_SAMPLE_SIZE);
+    }
+
+    @SafeVarargs
+    public static <T> AdaptivePredicate<T> and(int sampleSize, Predicate<? super T>... predicates) {
+        return new AdaptivePredicate<>(predicates, true, sampleSize);
+    }
+
+    @SafeVarargs
+    public static <T> AdaptivePredicate<T> or(Predicate<? super T>... predicates) {
+        return new AdaptivePredicate<>(predicates, false, DEFAULT_SAMPLE_SIZE);
+    }
+
+    @SafeVarargs
+    public static <T> AdaptivePredicate<T> or(int sampleSize, Predicate<? super T>... predicates) {
+        return new AdaptivePredicate<>(predicates, false, sampleSize);
+    }
+
+    @Override
+    public boolean test(T t) {
+        final int[] current = order;
+        if (current == declared) {
+            return evaluate(t, declared);
+        }
+        if (current != null) {
+            try {
+                return evaluate(t, current);
+            } catch (RuntimeException e) {
+                // 调整后的顺序让某个条件越过了保护它的前面的条件，退回声明顺序；按声明顺序仍然抛出时才是条件本身的异常
+                order = declared;
+                return evaluate(t, declared);
+            }
+        }
+        final int sample = samples.getAndIncrement();
+        if (sample >= sampleSize) {
+            // 其他线程正在计算顺序
+            return evaluate(t, declared);
+        }
+        try {
+            return sample(t);
+        } finally {
+            // 最后一次采样（即使条件抛出异常）确定执行顺序
+            if (sample == sampleSize - 1) {
+                order = chooseOrder();
+            }
+        }
+    }
+
+    // 按给定顺序短路执行
+    private boolean evaluate(T t, int[] order) {
+        for (int i : order) {
+            if (predicates[i].test(t) != and) {
+                return !and;
+            }
+        }
+        return and;
+    }
+
+    // 采样阶段：按声明顺序短路执行，分别记录执行到的条件的执行次数、通过次数与耗时
+    private boolean sample(T t) {
+        for (int i = 0; i < predicates.length; i++) {
+            final long start = System.nanoTime();
+            final boolean passed = predicates[i].test(t);
+            nanos.addAndGet(i, System.nanoTime() - start);
+            evaluated.incrementAndGet(i);
+            if (passed) {
+                passes.incrementAndGet(i);
+            }
+            if (passed != and) {
+                return !and;
+            }
+        }
+        return and;
+    }
+
+    private int[] chooseOrder() {
+        final double[] rank = new double[predicates.length];
+        final double[] selectivities = selectivities();
+        final double[] costs = costs();
+        for (int i = 0; i < rank.length; i++) {
+            // 与：期望排除一个元素的代价；或：期望接受一个元素的代价。概率为 0 或采样中从未执行到时排到最后
+            final double decisive = and ? 1 - selectivities[i] : selectivities[i];
+            rank[i] = !(decisive > 0) ? Double.POSITIVE_INFINITY : Math.max(costs[i], 1) / decisive;
+        }
+        final Integer[] indexes = new Integer[rank.length];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+        // 稳定排序，代价相同时保持声明顺序
+        Arrays.sort(indexes, Comparator.comparingDouble(i -> rank[i]));
+        final int[] chosen = new int[indexes.length];
+        for (int i = 0; i < chosen.length; i++) {
+            chosen[i] = indexes[i];
+        }
+        return chosen;
+    }
+
+    // ================================ 诊断 (Diagnostics)  ==================================
+
+    /**
+     * 采样是否已完成、执行顺序已确定
+     */
+    public boolean isAdapted() {
+        return order != null;
+    }
+
+    /**
+     * 当前的执行顺序，元素为条件的声明下标；采样完成前或退回声明顺序后为声明顺序
+     */
+    public int[] order() {
+        final int[] current = order;
+        return (current == null ? declared : current).clone();
+    }
+
+    /**
+     * 采样中每个条件在被执行到时的通过率，按声明下标排列；尚未执行到时为 NaN
+     */
+    public double[] selectivities() {
+        final double[] result = new double[predicates.length];
+        for (int i = 0; i < result.length; i++) {
+            final long count = evaluated.get(i);
+            result[i] = count == 0 ? Double.NaN : (double) passes.get(i) / count;
+        }
+        return result;
+    }
+
+    /**
+     * 采样中每个条件的平均耗时（纳秒），按声明下标排列；尚未执行到时为 NaN
+     */
+    public double[] costs() {
+        final double[] result = new double[predicates.length];
+        for (int i = 0; i < result.length; i++) {
+            final long count = evaluated.get(i);
+            result[i] = count == 0 ? Double.NaN : (double) nanos.get(i) / count;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptivePredicate{" + (and ? "and" : "or")
+                + ", adapted=" + isAdapted()
+                + ", order=" + Arrays.toString(order())
+                + ", selectivities=" + Arrays.toString(selectivities())
+                + ", costs=" + Arrays.toString(costs()) + '}';
+    }
+}
@@ -0,0 +1,108 @@
+package com.zyf.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// 内部类，cache()/memoize() 的缓冲区：首次遍历时从上游逐个拉取元素并追加到缓冲区，之后的遍历直接读缓冲区。
+// 拉取在锁内进行，读取已缓存的前缀不加锁；多个线程同时遍历时上游的每个元素仍只计算一次
+final class CachedIterable<T> implements Iterable<T> {
+
+    // 缓存完成后置为 null，释放上游的引用
+    private Iterable<T> upstream;
+    private Iterator<T> iterator;
+
+    // 先写数组再写 size，读取时先读 size 再读数组，保证读到的元素已经写入
+    private volatile Object[] buffer = new Object[16];
+    private volatile int size;
+    private volatile boolean complete;
+
+    CachedIterable(Iterable<T> upstream) {
+        this.upstream = upstream;
+    }
+
+    /**
+     * 下标 index 的元素已缓存或可以从上游拉取到时返回 true。
+     * 上游抛出异常时原样抛出，已缓存的前缀保持不变
+     */
+    private boolean fetch(int index) {
+        if (index < size) {
+            return true;
+        }
+        if (complete) {
+            return false;
+        }
+        synchronized (this) {
+            // 其他线程可能已经拉取过
+            while (size <= index) {
+                if (complete) {
+                    return false;
+                }
+                if (iterator == null) {
+                    iterator = upstream.iterator();
+                }
+                if (!iterator.hasNext()) {
+                    complete = true;
+                    iterator = null;
+                    upstream = null;
+                    return false;
+                }
+                append(iterator.next());
+            }
+            return true;
+        }
+    }
+
+    // 只在锁内调用
+    private void append(T element) {
+        Object[] array = buffer;
+        final int n = size;
+        if (n == array.length) {
+            array = Arrays.copyOf(array, n + (n >> 1));
+            buffer = array;
+        }
+        array[n] = element;
+        size = n + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T element(int index) {
+        return (T) buffer[index];
+    }
+
+    /**
+     * 拉取剩余的全部元素，返回缓冲区内容的副本
+     */
+    List<T> toList() {
+        // 一次加锁拉取到上游结束
+        fetch(Integer.MAX_VALUE);
+        final int n = size;
+        final List<T> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(element(i));
+        }
+        return list;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            int index;
+
+            @Override
+            public boolean hasNext() {
+                return fetch(index);
+            }
+
+            @Override
+            public T next() {
+                if (!fetch(index)) {
+                    throw new NoSuchElementException();
+                }
+                return element(index++);
+            }
+        };
+    }
+}
@@ -0,0 +1,211 @@
+package com.zyf.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+// 内部类，groupByCompact 的紧凑分组存储（CSR）：键数组、偏移数组和一个连续的值数组，
+// 第 g 组的值为 values[offsets[g], offsets[g + 1])。不为每组创建 ArrayList 和 Map 节点，
+// 通过 asMap() 以只读 Map 视图对外提供，每组的值是值数组上的只读区间视图，按需创建
+final class CompactGroups<K, V> {
+
+    // 按首次出现的顺序
+    private final Object[] keys;
+    private final int[] hashes;
+    // 长度为组数 + 1
+    private final int[] offsets;
+    private final List<V> values;
+    // 组下标 + 1，0 表示空槽，装载因子不超过 1/2
+    private final int[] slots;
+    private final int mask;
+
+    private CompactGroups(Object[] keys, int[] hashes, int[] offsets, Object[] values, int[] slots) {
+        this.keys = keys;
+        this.hashes = hashes;
+        this.offsets = offsets;
+        this.values = asList(values);
+        this.slots = slots;
+        this.mask = slots.length - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> List<V> asList(Object[] values) {
+        return (List<V>) Arrays.asList(values);
+    }
+
+    private static int[] newSlots(int groups) {
+        return new int[Integer.highestOneBit(Math.max(groups, 2) * 4 - 1)];
+    }
+
+    private int groupOf(Object key) {
+        final int hash = Hashes.hash(key);
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            final int group = slots[slot] - 1;
+            if (group < 0 || hashes[group] == hash && Objects.equals(keys[group], key)) {
+                return group;
+            }
+        }
+    }
+
+    int groups() {
+        return keys.length;
+    }
+
+    // 第 group 组的只读视图
+    private List<V> slice(int group) {
+        return ListRange.of(values, offsets[group], offsets[group + 1]);
+    }
+
+    /**
+     * 只读的 Map 视图，按键首次出现的顺序遍历
+     */
+    Map<K, List<V>> asMap() {
+        return new AbstractMap<>() {
+            @Override
+            public int size() {
+                return keys.length;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return groupOf(key) >= 0;
+            }
+
+            @Override
+            public List<V> get(Object key) {
+                final int group = groupOf(key);
+                return group < 0 ? null : slice(group);
+            }
+
+            @Override
+            public Set<Entry<K, List<V>>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public int size() {
+                        return keys.length;
+                    }
+
+                    @Override
+                    public Iterator<Entry<K, List<V>>> iterator() {
+                        return new Iterator<>() {
+                            int group;
+
+                            @Override
+                            public boolean hasNext() {
+                                return group < keys.length;
+                            }
+
+                            @Override
+                            @SuppressWarnings("unchecked")
+                            public Entry<K, List<V>> next() {
+                                if (group >= keys.length) {
+                                    throw new NoSuchElementException();
+                                }
+                                final int g = group++;
+                                return new SimpleImmutableEntry<>((K) keys[g], slice(g));
+                            }
+                        };
+                    }
+                };
+            }
+        };
+    }
+
+    // 构建器：第一遍只记录每个元素的组下标与值，build 时先按组计数得到偏移，再按偏移把值填入连续数组，组内保持遇到顺序
+    static final class Builder<K, V> {
+        private Object[] keys = new Object[16];
+        private int[] hashes = new int[16];
+        private int[] counts = new int[16];
+        private int groups;
+        private int[] slots = newSlots(16);
+
+        private int[] groupIds;
+        private Object[] raw;
+        private int size;
+
+        Builder() {
+            this(16);
+        }
+
+        Builder(int expectedSize) {
+            groupIds = new int[Math.max(expectedSize, 16)];
+            raw = new Object[groupIds.length];
+        }
+
+        Builder<K, V> add(K key, V value) {
+            final int hash = Hashes.hash(key);
+            final int mask = slots.length - 1;
+            int slot = hash & mask;
+            int group;
+            while ((group = slots[slot] - 1) >= 0 && !(hashes[group] == hash && Objects.equals(keys[group], key))) {
+                slot = (slot + 1) & mask;
+            }
+            if (group < 0) {
+                group = newGroup(key, hash, slot);
+            }
+            counts[group]++;
+            if (size == raw.length) {
+                raw = Arrays.copyOf(raw, size << 1);
+                groupIds = Arrays.copyOf(groupIds, size << 1);
+            }
+            groupIds[size] = group;
+            raw[size++] = value;
+            return this;
+        }
+
+        private int newGroup(Object key, int hash, int slot) {
+            if (groups == keys.length) {
+                keys = Arrays.copyOf(keys, groups << 1);
+                hashes = Arrays.copyOf(hashes, groups << 1);
+                counts = Arrays.copyOf(counts, groups << 1);
+            }
+            final int group = groups++;
+            keys[group] = key;
+            hashes[group] = hash;
+            if ((groups << 1) > slots.length) {
+                slots = newSlots(groups);
+                final int mask = slots.length - 1;
+                for (int g = 0; g < groups; g++) {
+                    int s = hashes[g] & mask;
+                    while (slots[s] != 0) {
+                        s = (s + 1) & mask;
+                    }
+                    slots[s] = g + 1;
+                }
+            } else {
+                slots[slot] = group + 1;
+            }
+            return group;
+        }
+
+        /**
+         * 并行时合并右侧分段：右侧的元素在遇到顺序上靠后
+         */
+        @SuppressWarnings("unchecked")
+        Builder<K, V> merge(Builder<K, V> right) {
+            for (int i = 0; i < right.size; i++) {
+                add((K) right.keys[right.groupIds[i]], (V) right.raw[i]);
+            }
+            return this;
+        }
+
+        CompactGroups<K, V> build() {
+            final int[] offsets = new int[groups + 1];
+            for (int g = 0; g < groups; g++) {
+                offsets[g + 1] = offsets[g] + counts[g];
+            }
+            final int[] cursor = Arrays.copyOf(offsets, groups);
+            final Object[] values = new Object[size];
+            for (int i = 0; i < size; i++) {
+                values[cursor[groupIds[i]]++] = raw[i];
+            }
+            return new CompactGroups<>(Arrays.copyOf(keys, groups), Arrays.copyOf(hashes, groups), offsets, values, slots);
+        }
+    }
+}
@@ -0,0 +1,564 @@
+package com.zyf.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.regex.Pattern;
+
+// 内部类，基于反射/MethodHandle 的深拷贝引擎：按类缓存复制计划，IdentityHashMap 处理循环引用，不要求 Serializable
+final class DeepCopier {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class);
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, Void.class, BigDecimal.class, BigInteger.class, UUID.class, Class.class,
+            Locale.class, URI.class, URL.class, File.class, Pattern.class,
+            OptionalInt.class, OptionalLong.class, OptionalDouble.class);
+
+    // 不可变类型直接共享引用，不进入 IdentityHashMap
+    private static final Plan IMMUTABLE = (src, copier) -> src;
+
+    // 记录正在构造中的 record，用于识别无法复制的循环引用
+    private static final Object IN_PROGRESS = new Object();
+
+    // ReflectionFactory.newConstructorForSerialization(Class, Constructor)，不可用时为 null
+    private static final MethodHandle SERIALIZATION_CONSTRUCTOR = serializationConstructorFactory();
+
+    private static final ClassValue<Plan> PLANS = new ClassValue<>() {
+        @Override
+        protected Plan computeValue(Class<?> type) {
+            return createPlan(type);
+        }
+    };
+
+    private final IdentityHashMap<Object, Object> copies = new IdentityHashMap<>();
+
+    private DeepCopier() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T copy(T obj) {
+        return (T) new DeepCopier().copyValue(obj);
+    }
+
+    private Object copyValue(Object src) {
+        if (src == null) {
+            return null;
+        }
+        final Plan plan = PLANS.get(src.getClass());
+        if (plan == IMMUTABLE) {
+            return src;
+        }
+        final Object existing = copies.get(src);
+        if (existing == IN_PROGRESS) {
+            throw new IllegalStateException("record 存在循环引用，无法复制: " + src.getClass().getName());
+        }
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            return plan.copy(src, this);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // 先登记再填充，循环引用时返回同一个副本
+    private void register(Object src, Object copy) {
+        copies.put(src, copy);
+    }
+
+    @FunctionalInterface
+    private interface Plan {
+        Object copy(Object src, DeepCopier copier) throws Throwable;
+    }
+
+    // ================================ 复制计划 ==================================
+
+    private static Plan createPlan(Class<?> type) {
+        if (isImmutable(type)) {
+            return IMMUTABLE;
+        }
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive() ? primitiveArrayPlan(type) : objectArrayPlan(type);
+        }
+        if (type == Optional.class) {
+            return (src, copier) -> ((Optional<?>) src).map(copier::copyValue);
+        }
+        if (type.isRecord()) {
+            return recordPlan(type);
+        }
+        if (EnumSet.class.isAssignableFrom(type)) {
+            return (src, copier) -> ((EnumSet<?>) src).clone();
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return collectionPlan(type);
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return mapPlan(type);
+        }
+        if (isJdkType(type)) {
+            return jdkFallbackPlan(type);
+        }
+        if (hasJdkState(type)) {
+            return jdkSubclassPlan(type);
+        }
+        final MethodHandle factory = instantiator(type);
+        return factory == null ? jdkFallbackPlan(type) : beanPlan(type, factory);
+    }
+
+    // 父类中是否有声明了实例字段的 JDK 类型（如继承 Date），这些字段不可访问，不能逐字段复制
+    private static boolean hasJdkState(Class<?> type) {
+        for (Class<?> c = type.getSuperclass(); c != null && c != Object.class; c = c.getSuperclass()) {
+            if (isJdkType(c)) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 继承了有状态 JDK 类型的自定义类：public clone() 复制 JDK 父类的状态，再深拷贝自定义类声明的字段；
+     * 不支持 clone 时整体序列化，都不支持时抛出异常，不会只复制一部分字段
+     */
+    private static Plan jdkSubclassPlan(Class<?> type) {
+        if (Cloneable.class.isAssignableFrom(type)) {
+            try {
+                final MethodHandle clone = LOOKUP.unreflect(type.getMethod("clone")).asType(GETTER_TYPE);
+                final Plan fields = beanPlan(type, null);
+                return (src, copier) -> {
+                    final Object copy = (Object) clone.invokeExact(src);
+                    copier.register(src, copy);
+                    fields.copy(new Object[]{src, copy}, copier);
+                    return copy;
+                };
+            } catch (NoSuchMethodException | IllegalAccessException | RuntimeException ignored) {
+                // 继续尝试序列化
+            }
+        }
+        return jdkFallbackPlan(type);
+    }
+
+    private static boolean isImmutable(Class<?> type) {
+        if (type.isPrimitive() || Enum.class.isAssignableFrom(type) || IMMUTABLE_TYPES.contains(type)) {
+            return true;
+        }
+        // lambda 等隐藏类无法实例化，按不可变共享
+        if (type.isHidden() || type.isSynthetic()) {
+            return true;
+        }
+        final String packageName = type.getPackageName();
+        return packageName.equals("java.time") || packageName.startsWith("java.time.")
+                || Path.class.isAssignableFrom(type) || Charset.class.isAssignableFrom(type);
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        final String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    private static Plan primitiveArrayPlan(Class<?> type) {
+        return (src, copier) -> {
+            final int length = Array.getLength(src);
+            final Object copy = Array.newInstance(type.getComponentType(), length);
+            System.arraycopy(src, 0, copy, 0, length);
+            return copy;
+        };
+    }
+
+    private static Plan objectArrayPlan(Class<?> type) {
+        final Class<?> componentType = type.getComponentType();
+        return (src, copier) -> {
+            final Object[] array = (Object[]) src;
+            final Object[] copy = (Object[]) Array.newInstance(componentType, array.length);
+            copier.register(src, copy);
+            for (int i = 0; i < array.length; i++) {
+                copy[i] = copier.copyValue(array[i]);
+            }
+            return copy;
+        };
+    }
+
+    private static Plan recordPlan(Class<?> type) {
+        final RecordComponent[] components = type.getRecordComponents();
+        final MethodHandle[] accessors = new MethodHandle[components.length];
+        final Class<?>[] parameterTypes = new Class<?>[components.length];
+        try {
+            for (int i = 0; i < components.length; i++) {
+                final Method accessor = components[i].getAccessor();
+                accessor.setAccessible(true);
+                accessors[i] = LOOKUP.unreflect(accessor).asType(GETTER_TYPE);
+                parameterTypes[i] = components[i].getType();
+            }
+            final Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            final MethodHandle canonical = LOOKUP.unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, components.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return (src, copier) -> {
+                copier.register(src, IN_PROGRESS);
+                final Object[] values = new Object[accessors.length];
+                for (int i = 0; i < accessors.length; i++) {
+                    values[i] = copier.copyValue((Object) accessors[i].invokeExact(src));
+                }
+                final Object copy = (Object) canonical.invokeExact(values);
+                copier.register(src, copy);
+                return copy;
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return jdkFallbackPlan(type);
+        }
+    }
+
+    private static Plan collectionPlan(Class<?> type) {
+        final String name = type.getName();
+        if (name.startsWith("java.util.ImmutableCollections$")) {
+            final boolean isList = List.class.isAssignableFrom(type);
+            return (src, copier) -> {
+                copier.register(src, IN_PROGRESS);
+                final List<Object> elements = copyElements((Collection<?>) src, copier, new ArrayList<>());
+                // Stream.toList() 的结果也是 ImmutableCollections 且允许 null，List.copyOf 不接受 null
+                final Object copy = !isList ? Set.copyOf(elements)
+                        : elements.contains(null) ? Collections.unmodifiableList(elements) : List.copyOf(elements);
+                copier.register(src, copy);
+                return copy;
+            };
+        }
+        if (name.equals("java.util.Arrays$ArrayList")) {
+            return (src, copier) -> {
+                final Object[] elements = new Object[((Collection<?>) src).size()];
+                final List<Object> copy = Arrays.asList(elements);
+                copier.register(src, copy);
+                int i = 0;
+                for (Object element : (Collection<?>) src) {
+                    elements[i++] = copier.copyValue(element);
+                }
+                return copy;
+            };
+        }
+        if (name.startsWith("java.util.Collections$")) {
+            if (name.contains("Empty")) {
+                return IMMUTABLE;
+            }
+            final boolean unmodifiable = name.contains("Unmodifiable") || name.contains("Singleton") || name.contains("Copies");
+            if (!unmodifiable && !name.contains("Synchronized")) {
+                // checked、newSetFromMap 等包装持有不可访问的状态（元素类型、底层 Map），整体序列化
+                return jdkFallbackPlan(type);
+            }
+            return (src, copier) -> {
+                final Collection<Object> target = src instanceof List ? new ArrayList<>()
+                        : src instanceof SortedSet<?> sortedSet ? new TreeSet<>((Comparator<Object>) sortedSet.comparator())
+                        : src instanceof Set ? new LinkedHashSet<>() : new ArrayList<>();
+                // 复制到常用实现后套上同样的包装
+                final Collection<Object> copy = unmodifiable
+                        ? target instanceof List<Object> list ? Collections.unmodifiableList(list)
+                        : target instanceof SortedSet<Object> sortedSet ? Collections.unmodifiableSortedSet(sortedSet)
+                        : target instanceof Set<Object> set ? Collections.unmodifiableSet(set)
+                        : Collections.unmodifiableCollection(target)
+                        : target instanceof List<Object> list ? Collections.synchronizedList(list)
+                        : target instanceof SortedSet<Object> sortedSet ? Collections.synchronizedSortedSet(sortedSet)
+                        : target instanceof Set<Object> set ? Collections.synchronizedSet(set)
+                        : Collections.synchronizedCollection(target);
+                copier.register(src, copy);
+                copyElements((Collection<?>) src, copier, target);
+                return copy;
+            };
+        }
+
+        final Plan fields = isJdkType(type) ? null : beanPlan(type, null);
+        return (src, copier) -> {
+            final Collection<Object> copy = (Collection<Object>) newContainer(src);
+            copier.register(src, copy);
+            if (fields != null) {
+                // 自定义子类声明的字段
+                fields.copy(new Object[]{src, copy}, copier);
+            }
+            copy.clear();
+            copyElements((Collection<?>) src, copier, copy);
+            return copy;
+        };
+    }
+
+    private static Plan mapPlan(Class<?> type) {
+        final String name = type.getName();
+        if (name.startsWith("java.util.ImmutableCollections$")) {
+            return (src, copier) -> {
+                copier.register(src, IN_PROGRESS);
+                final Object copy = Map.copyOf(copyEntries((Map<?, ?>) src, copier, new LinkedHashMap<>()));
+                copier.register(src, copy);
+                return copy;
+            };
+        }
+        if (name.startsWith("java.util.Collections$")) {
+            if (name.contains("Empty")) {
+                return IMMUTABLE;
+            }
+            final boolean unmodifiable = name.contains("Unmodifiable") || name.contains("Singleton");
+            if (!unmodifiable && !name.contains("Synchronized")) {
+                // checked 包装持有不可访问的键值类型，整体序列化
+                return jdkFallbackPlan(type);
+            }
+            return (src, copier) -> {
+                final Map<Object, Object> target = src instanceof SortedMap<?, ?> sortedMap
+                        ? new TreeMap<>((Comparator<Object>) sortedMap.comparator()) : new LinkedHashMap<>();
+                final Map<Object, Object> copy = unmodifiable
+                        ? target instanceof SortedMap<Object, Object> sortedMap ? Collections.unmodifiableSortedMap(sortedMap)
+                        : Collections.unmodifiableMap(target)
+                        : target instanceof SortedMap<Object, Object> sortedMap ? Collections.synchronizedSortedMap(sortedMap)
+                        : Collections.synchronizedMap(target);
+                copier.register(src, copy);
+                copyEntries((Map<?, ?>) src, copier, target);
+                return copy;
+            };
+        }
+
+        final Plan fields = isJdkType(type) ? null : beanPlan(type, null);
+        return (src, copier) -> {
+            final Map<Object, Object> copy = (Map<Object, Object>) newContainer(src);
+            copier.register(src, copy);
+            if (fields != null) {
+                fields.copy(new Object[]{src, copy}, copier);
+            }
+            copy.clear();
+            copyEntries((Map<?, ?>) src, copier, copy);
+            return copy;
+        };
+    }
+
+    private static <C extends Collection<Object>> C copyElements(Collection<?> src, DeepCopier copier, C target) {
+        for (Object element : src) {
+            target.add(copier.copyValue(element));
+        }
+        return target;
+    }
+
+    private static <M extends Map<Object, Object>> M copyEntries(Map<?, ?> src, DeepCopier copier, M target) {
+        for (Map.Entry<?, ?> entry : src.entrySet()) {
+            target.put(copier.copyValue(entry.getKey()), copier.copyValue(entry.getValue()));
+        }
+        return target;
+    }
+
+    /**
+     * 创建与源容器同类型的空容器：有序容器沿用比较器，否则使用无参构造，都不可用时退化为常用实现
+     */
+    private static Object newContainer(Object src) throws Throwable {
+        if (src instanceof EnumMap<?, ?> enumMap) {
+            return new EnumMap<>(enumMap);
+        }
+        if (src.getClass() == LinkedHashMap.class) {
+            // 访问顺序（accessOrder）没有公开的读取方法，clone 会保留它，清空后作为空容器
+            final LinkedHashMap<?, ?> map = (LinkedHashMap<?, ?>) ((LinkedHashMap<?, ?>) src).clone();
+            map.clear();
+            return map;
+        }
+        if (src instanceof SortedMap<?, ?> sortedMap && src.getClass() == TreeMap.class) {
+            return new TreeMap<>((Comparator<Object>) sortedMap.comparator());
+        }
+        if (src instanceof SortedSet<?> sortedSet && src.getClass() == TreeSet.class) {
+            return new TreeSet<>((Comparator<Object>) sortedSet.comparator());
+        }
+        if (src.getClass() == PriorityQueue.class) {
+            return new PriorityQueue<>((Comparator<Object>) ((PriorityQueue<?>) src).comparator());
+        }
+        if (src.getClass() == PriorityBlockingQueue.class) {
+            return new PriorityBlockingQueue<>(11, (Comparator<Object>) ((PriorityBlockingQueue<?>) src).comparator());
+        }
+        final MethodHandle factory = instantiator(src.getClass());
+        if (factory != null) {
+            return (Object) factory.invokeExact();
+        }
+        if (src instanceof SortedMap<?, ?> sortedMap) {
+            return new TreeMap<>((Comparator<Object>) sortedMap.comparator());
+        }
+        if (src instanceof Map) {
+            return new LinkedHashMap<>();
+        }
+        if (src instanceof SortedSet<?> sortedSet) {
+            return new TreeSet<>((Comparator<Object>) sortedSet.comparator());
+        }
+        if (src instanceof Set) {
+            return new LinkedHashSet<>();
+        }
+        if (src instanceof Deque || src instanceof Queue) {
+            return new ArrayDeque<>();
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * 普通类：逐字段复制。factory 为 null 时表示只复制字段，src 参数为 {源对象, 目标对象}
+     */
+    private static Plan beanPlan(Class<?> type, MethodHandle factory) {
+        final List<MethodHandle> getters = new ArrayList<>();
+        final List<MethodHandle> setters = new ArrayList<>();
+        final List<Boolean> primitives = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            if (isJdkType(c)) {
+                // JDK 父类的字段不可访问，由容器逻辑、public clone 或序列化负责
+                continue;
+            }
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    getters.add(LOOKUP.unreflectGetter(field).asType(GETTER_TYPE));
+                    setters.add(LOOKUP.unreflectSetter(field).asType(SETTER_TYPE));
+                    primitives.add(field.getType().isPrimitive());
+                } catch (IllegalAccessException | RuntimeException e) {
+                    return jdkFallbackPlan(type);
+                }
+            }
+        }
+        final MethodHandle[] getterArray = getters.toArray(new MethodHandle[0]);
+        final MethodHandle[] setterArray = setters.toArray(new MethodHandle[0]);
+        final boolean[] primitiveArray = new boolean[primitives.size()];
+        for (int i = 0; i < primitiveArray.length; i++) {
+            primitiveArray[i] = primitives.get(i);
+        }
+
+        if (factory == null) {
+            return (pair, copier) -> {
+                final Object src = ((Object[]) pair)[0];
+                final Object copy = ((Object[]) pair)[1];
+                copyFields(src, copy, copier, getterArray, setterArray, primitiveArray);
+                return copy;
+            };
+        }
+        return (src, copier) -> {
+            final Object copy = (Object) factory.invokeExact();
+            copier.register(src, copy);
+            copyFields(src, copy, copier, getterArray, setterArray, primitiveArray);
+            return copy;
+        };
+    }
+
+    private static void copyFields(Object src, Object copy, DeepCopier copier,
+                                   MethodHandle[] getters, MethodHandle[] setters, boolean[] primitives) throws Throwable {
+        for (int i = 0; i < getters.length; i++) {
+            final Object value = (Object) getters[i].invokeExact(src);
+            setters[i].invokeExact(copy, primitives[i] ? value : copier.copyValue(value));
+        }
+    }
+
+    /**
+     * 创建实例的方式：优先无参构造，没有时使用不调用构造方法的序列化构造器（同 Objenesis），都不可用时返回 null
+     */
+    private static MethodHandle instantiator(Class<?> type) {
+        if (Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            final Constructor<?> constructor = type.getDeclaredConstructor();
+            if (!isJdkType(type) || Modifier.isPublic(constructor.getModifiers())) {
+                constructor.setAccessible(true);
+                return LOOKUP.unreflectConstructor(constructor).asType(FACTORY_TYPE);
+            }
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException ignored) {
+            // 继续尝试其它方式
+        }
+        if (isJdkType(type)) {
+            return null;
+        }
+        if (SERIALIZATION_CONSTRUCTOR == null) {
+            return null;
+        }
+        try {
+            final Constructor<?> constructor = (Constructor<?>) SERIALIZATION_CONSTRUCTOR
+                    .invoke(type, Object.class.getDeclaredConstructor());
+            // 序列化构造器的声明类是 Object，不能 unreflectConstructor，通过 newInstance 调用
+            final MethodHandle newInstance = LOOKUP.findVirtual(Constructor.class, "newInstance",
+                    MethodType.methodType(Object.class, Object[].class));
+            return MethodHandles.insertArguments(newInstance, 0, constructor, new Object[0]);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * 没有无参构造的类需要不调用构造方法创建实例，JDK 中只有 jdk.unsupported 模块的 sun.reflect.ReflectionFactory 提供这一能力。
+     * 这里通过反射查找，源码不直接引用内部 API（编译不产生 proprietary API 警告）；
+     * 运行时不存在时返回 null，这些类改为 clone/序列化复制
+     */
+    private static MethodHandle serializationConstructorFactory() {
+        try {
+            final Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+            final Object factory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+            return LOOKUP.findVirtual(factoryClass, "newConstructorForSerialization",
+                    MethodType.methodType(Constructor.class, Class.class, Constructor.class)).bindTo(factory);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * 字段不可访问的 JDK 类型：优先 public clone()，其次序列化，都不支持时抛出异常
+     */
+    private static Plan jdkFallbackPlan(Class<?> type) {
+        if (Cloneable.class.isAssignableFrom(type)) {
+            try {
+                final Method clone = type.getMethod("clone");
+                final MethodHandle handle = LOOKUP.unreflect(clone).asType(GETTER_TYPE);
+                return (src, copier) -> {
+                    final Object copy = (Object) handle.invokeExact(src);
+                    copier.register(src, copy);
+                    return copy;
+                };
+            } catch (NoSuchMethodException | IllegalAccessException | RuntimeException ignored) {
+                // 继续尝试序列化
+            }
+        }
+        if (Serializable.class.isAssignableFrom(type)) {
+            return (src, copier) -> {
+                final Object copy = serialize(src);
+                copier.register(src, copy);
+                return copy;
+            };
+        }
+        return (src, copier) -> {
+            throw new IllegalArgumentException("不支持复制的类型: " + type.getName());
+        };
+    }
+
+    private static Object serialize(Object obj) throws Exception {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(obj);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            return ois.readObject();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.zyf.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// 内部类，基于 double[] 存储的原始类型流，统计类操作不装箱、不分配
+public final class DoubleListStream {
+    private final double[] values;
+    private final int size;
+
+    DoubleListStream(double[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    public static DoubleListStream of(double... values) {
+        return new DoubleListStream(values.clone(), values.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Kahan-Babuska 补偿求和，降低大量累加时的舍入误差
+    public double sum() {
+        double sum = 0.0;
+        double compensation = 0.0;
+        for (int i = 0; i < size; i++) {
+            final double value = values[i];
+            final double t = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - t) + value;
+            } else {
+                compensation += (value - t) + sum;
+            }
+            sum = t;
+        }
+        return sum + compensation;
+    }
+
+    // 空集合返回 0.0，与 ListStream.averageDouble() 保持一致
+    public double average() {
+        return size == 0 ? 0.0 : sum() / size;
+    }
+
+    public double min() {
+        if (size == 0) {
+            throw new NoSuchElementException("Collection is empty.");
+        }
+        double min = values[0];
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    public double minOrElse(double defaultValue) {
+        return size == 0 ? defaultValue : min();
+    }
+
+    public double max() {
+        if (size == 0) {
+            throw new NoSuchElementException("Collection is empty.");
+        }
+        double max = values[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    public double maxOrElse(double defaultValue) {
+        return size == 0 ? defaultValue : max();
+    }
+
+    /**
+     * 按升序边界统计直方图，返回长度为 boundaries.length + 1 的计数数组：
+     * 第 0 个桶为 (-∞, b[0])，第 i 个桶为 [b[i-1], b[i])，最后一个桶为 [b[n-1], +∞)，NaN 不计入任何桶
+     *
+     * @param boundaries 严格升序的桶边界
+     * @return 每个桶中的元素数量
+     */
+    public long[] histogram(double... boundaries) {
+        for (int i = 1; i < boundaries.length; i++) {
+            if (boundaries[i - 1] >= boundaries[i]) {
+                throw new IllegalArgumentException("boundaries must be strictly ascending");
+            }
+        }
+        final long[] counts = new long[boundaries.length + 1];
+        for (int i = 0; i < size; i++) {
+            if (Double.isNaN(values[i])) {
+                continue;
+            }
+            final int index = Arrays.binarySearch(boundaries, values[i]);
+            counts[index >= 0 ? index + 1 : -index - 1]++;
+        }
+        return counts;
+    }
+
+    public DoubleListStream sorted() {
+        final double[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        return new DoubleListStream(sorted, size);
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    public List<Double> toList() {
+        final List<Double> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(values[i]);
+        }
+        return list;
+    }
+
+    public ListStream<Double> boxed() {
+        return ListStream.of(toList());
+    }
+
+    // 可增长的 double 缓冲区，用于从 ListStream 收集
+    static final class Builder {
+        private double[] values;
+        private int size;
+
+        Builder(int capacity) {
+            this.values = new double[Math.max(capacity, 8)];
+        }
+
+        void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1));
+            }
+            values[size++] = value;
+        }
+
+        Builder addAll(Builder other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, size + other.size);
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        DoubleListStream build() {
+            return new DoubleListStream(values, size);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.zyf.util;
+
+// 内部类，开放寻址哈希表共用的散列函数。线性探测直接取散列值的低位作为槽位，没有 HashMap 的树化兜底，
+// 因此使用 murmur3 的 fmix 做完整的雪崩混合，每个输入位都会影响低位，hashCode 只在高位不同的键（如 i * 65537）不会聚集
+final class Hashes {
+
+    private Hashes() {
+    }
+
+    static int hash(Object key) {
+        return mix(key == null ? 0 : key.hashCode());
+    }
+
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        key *= 0xC4CEB9FE1A85EC53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
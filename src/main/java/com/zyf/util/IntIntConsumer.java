@@ -0,0 +1,16 @@
+package com.zyf.util;
+
+/**
+ * int 键与 int 值的遍历操作，键和值都不装箱
+ */
+@FunctionalInterface
+public interface IntIntConsumer {
+
+    /**
+     * Performs this operation on the given arguments.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    void accept(int key, int value);
+}
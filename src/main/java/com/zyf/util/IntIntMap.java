@@ -0,0 +1,128 @@
+package com.zyf.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * int 键、int 值的 Map，countByInt 的结果：键和值都不装箱。
+ * 键的取值范围较窄时自动使用数组直接寻址，否则使用开放寻址的哈希表。
+ * 遍历顺序为键首次加入的顺序；只支持加入与更新，不支持删除，非线程安全
+ */
+public final class IntIntMap {
+
+    private final PrimitiveIndex index;
+    // 与 index 的条目下标对应
+    private int[] values;
+
+    public IntIntMap() {
+        this(8);
+    }
+
+    public IntIntMap(int expectedSize) {
+        index = new PrimitiveIndex(expectedSize);
+        values = new int[index.capacity()];
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public boolean isEmpty() {
+        return index.size() == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return index.indexOf(key) >= 0;
+    }
+
+    /**
+     * 键不存在时返回 0
+     */
+    public int get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        final int entry = index.indexOf(key);
+        return entry < 0 ? defaultValue : values[entry];
+    }
+
+    // 返回键的条目下标，新加入时扩充值数组
+    private int entry(int key) {
+        final int entry = index.getOrAdd(key);
+        if (entry >= values.length) {
+            values = Arrays.copyOf(values, index.capacity());
+        }
+        return entry;
+    }
+
+    /**
+     * 设置键的值，返回原来的值，键不存在时返回 0
+     */
+    public int put(int key, int value) {
+        final int entry = entry(key);
+        final int old = values[entry];
+        values[entry] = value;
+        return old;
+    }
+
+    /**
+     * 把 delta 加到键的值上（键不存在时从 0 开始），返回相加后的值
+     */
+    public int addTo(int key, int delta) {
+        // 先取得下标，entry 可能扩充值数组
+        final int entry = entry(key);
+        return values[entry] += delta;
+    }
+
+    /**
+     * 按键首次加入的顺序遍历
+     */
+    public void forEach(IntIntConsumer action) {
+        Objects.requireNonNull(action);
+        final int n = index.size();
+        for (int entry = 0; entry < n; entry++) {
+            action.accept((int) index.keyAt(entry), values[entry]);
+        }
+    }
+
+    /**
+     * 按键首次加入的顺序返回所有键
+     */
+    public int[] keys() {
+        final int[] keys = new int[index.size()];
+        for (int entry = 0; entry < keys.length; entry++) {
+            keys[entry] = (int) index.keyAt(entry);
+        }
+        return keys;
+    }
+
+    /**
+     * 当前是否使用数组直接寻址
+     */
+    public boolean isDense() {
+        return index.isDense();
+    }
+
+    /**
+     * 转换为装箱的 Map，保持遍历顺序
+     */
+    public Map<Integer, Integer> toMap() {
+        final Map<Integer, Integer> map = new OpenHashMap<>(size());
+        forEach(map::put);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+}
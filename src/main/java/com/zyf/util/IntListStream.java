@@ -0,0 +1,150 @@
+package com.zyf.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// 内部类，基于 int[] 存储的原始类型流，统计类操作不装箱、不分配
+public final class IntListStream {
+    private final int[] values;
+    private final int size;
+
+    IntListStream(int[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    public static IntListStream of(int... values) {
+        return new IntListStream(values.clone(), values.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // 使用 long 累加，避免 int 溢出
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    // 空集合返回 0.0，与 ListStream.averageDouble() 保持一致
+    public double average() {
+        return size == 0 ? 0.0 : (double) sum() / size;
+    }
+
+    public int min() {
+        if (size == 0) {
+            throw new NoSuchElementException("Collection is empty.");
+        }
+        int min = values[0];
+        for (int i = 1; i < size; i++) {
+            if (values[i] < min) {
+                min = values[i];
+            }
+        }
+        return min;
+    }
+
+    public int minOrElse(int defaultValue) {
+        return size == 0 ? defaultValue : min();
+    }
+
+    public int max() {
+        if (size == 0) {
+            throw new NoSuchElementException("Collection is empty.");
+        }
+        int max = values[0];
+        for (int i = 1; i < size; i++) {
+            if (values[i] > max) {
+                max = values[i];
+            }
+        }
+        return max;
+    }
+
+    public int maxOrElse(int defaultValue) {
+        return size == 0 ? defaultValue : max();
+    }
+
+    /**
+     * 按升序边界统计直方图，返回长度为 boundaries.length + 1 的计数数组：
+     * 第 0 个桶为 (-∞, b[0])，第 i 个桶为 [b[i-1], b[i])，最后一个桶为 [b[n-1], +∞)
+     *
+     * @param boundaries 严格升序的桶边界
+     * @return 每个桶中的元素数量
+     */
+    public long[] histogram(int... boundaries) {
+        for (int i = 1; i < boundaries.length; i++) {
+            if (boundaries[i - 1] >= boundaries[i]) {
+                throw new IllegalArgumentException("boundaries must be strictly ascending");
+            }
+        }
+        final long[] counts = new long[boundaries.length + 1];
+        for (int i = 0; i < size; i++) {
+            final int index = Arrays.binarySearch(boundaries, values[i]);
+            counts[index >= 0 ? index + 1 : -index - 1]++;
+        }
+        return counts;
+    }
+
+    public IntListStream sorted() {
+        final int[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        return new IntListStream(sorted, size);
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    public List<Integer> toList() {
+        final List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(values[i]);
+        }
+        return list;
+    }
+
+    public ListStream<Integer> boxed() {
+        return ListStream.of(toList());
+    }
+
+    // 可增长的 int 缓冲区，用于从 ListStream 收集
+    static final class Builder {
+        private int[] values;
+        private int size;
+
+        Builder(int capacity) {
+            this.values = new int[Math.max(capacity, 8)];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1));
+            }
+            values[size++] = value;
+        }
+
+        Builder addAll(Builder other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, size + other.size);
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        IntListStream build() {
+            return new IntListStream(values, size);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.zyf.util;
+
+/**
+ * int 键与值的遍历操作，键不装箱
+ */
+@FunctionalInterface
+public interface IntObjConsumer<V> {
+
+    /**
+     * Performs this operation on the given arguments.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    void accept(int key, V value);
+}
@@ -0,0 +1,17 @@
+package com.zyf.util;
+
+/**
+ * 带 int 下标的函数，下标不装箱
+ */
+@FunctionalInterface
+public interface IntObjFunction<T, R> {
+
+    /**
+     * Applies this function to the given arguments.
+     *
+     * @param index the element index
+     * @param t     the element
+     * @return the function result
+     */
+    R apply(int index, T t);
+}
@@ -0,0 +1,17 @@
+package com.zyf.util;
+
+/**
+ * 带 int 下标的累加操作，下标不装箱
+ */
+@FunctionalInterface
+public interface IntObjObjConsumer<A, T> {
+
+    /**
+     * Performs this operation on the given arguments.
+     *
+     * @param index the element index
+     * @param a     the accumulator
+     * @param t     the element
+     */
+    void accept(int index, A a, T t);
+}
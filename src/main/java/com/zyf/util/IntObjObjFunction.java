@@ -0,0 +1,18 @@
+package com.zyf.util;
+
+/**
+ * 带 int 下标的累加函数，下标不装箱
+ */
+@FunctionalInterface
+public interface IntObjObjFunction<A, T, R> {
+
+    /**
+     * Applies this function to the given arguments.
+     *
+     * @param index the element index
+     * @param a     the accumulator
+     * @param t     the element
+     * @return the function result
+     */
+    R apply(int index, A a, T t);
+}
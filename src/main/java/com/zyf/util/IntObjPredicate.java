@@ -0,0 +1,17 @@
+package com.zyf.util;
+
+/**
+ * 带 int 下标的条件，下标不装箱
+ */
+@FunctionalInterface
+public interface IntObjPredicate<T> {
+
+    /**
+     * Evaluates this predicate on the given arguments.
+     *
+     * @param index the element index
+     * @param t     the element
+     * @return {@code true} if the arguments match the predicate
+     */
+    boolean test(int index, T t);
+}
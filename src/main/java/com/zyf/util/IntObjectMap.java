@@ -0,0 +1,153 @@
+package com.zyf.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+
+/**
+ * int 键的 Map，groupByInt/toIntMap 的结果：键不装箱，查找时不计算 Integer 的哈希。
+ * 键的取值范围较窄时自动使用数组直接寻址，否则使用开放寻址的哈希表。
+ * 遍历顺序为键首次加入的顺序；只支持加入与更新，不支持删除，非线程安全
+ */
+public final class IntObjectMap<V> {
+
+    private final PrimitiveIndex index;
+    // 与 index 的条目下标对应
+    private Object[] values;
+
+    public IntObjectMap() {
+        this(8);
+    }
+
+    public IntObjectMap(int expectedSize) {
+        index = new PrimitiveIndex(expectedSize);
+        values = new Object[index.capacity()];
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public boolean isEmpty() {
+        return index.size() == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return index.indexOf(key) >= 0;
+    }
+
+    public V get(int key) {
+        return getOrDefault(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(int key, V defaultValue) {
+        final int entry = index.indexOf(key);
+        return entry < 0 ? defaultValue : (V) values[entry];
+    }
+
+    // 返回键的条目下标，新加入时扩充值数组
+    private int entry(int key) {
+        final int entry = index.getOrAdd(key);
+        if (entry >= values.length) {
+            values = Arrays.copyOf(values, index.capacity());
+        }
+        return entry;
+    }
+
+    /**
+     * 设置键的值，返回原来的值
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        final int entry = entry(key);
+        final V old = (V) values[entry];
+        values[entry] = value;
+        return old;
+    }
+
+    /**
+     * 键不存在或值为 null 时用 mappingFunction 计算并保存，返回当前的值
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(int key, IntFunction<? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        final int found = index.indexOf(key);
+        if (found >= 0 && values[found] != null) {
+            return (V) values[found];
+        }
+        final V value = mappingFunction.apply(key);
+        if (value != null) {
+            // 先取得下标，entry 可能扩充值数组
+            final int entry = entry(key);
+            values[entry] = value;
+        }
+        return value;
+    }
+
+    /**
+     * 键不存在或值为 null 时保存 value，否则保存 mergeFunction 合并后的值，返回保存的值
+     */
+    @SuppressWarnings("unchecked")
+    public V merge(int key, V value, BinaryOperator<V> mergeFunction) {
+        Objects.requireNonNull(mergeFunction);
+        final int entry = entry(key);
+        final V old = (V) values[entry];
+        final V merged = old == null ? value : mergeFunction.apply(old, value);
+        values[entry] = merged;
+        return merged;
+    }
+
+    /**
+     * 按键首次加入的顺序遍历
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(IntObjConsumer<? super V> action) {
+        Objects.requireNonNull(action);
+        final int n = index.size();
+        for (int entry = 0; entry < n; entry++) {
+            action.accept((int) index.keyAt(entry), (V) values[entry]);
+        }
+    }
+
+    /**
+     * 按键首次加入的顺序返回所有键
+     */
+    public int[] keys() {
+        final int[] keys = new int[index.size()];
+        for (int entry = 0; entry < keys.length; entry++) {
+            keys[entry] = (int) index.keyAt(entry);
+        }
+        return keys;
+    }
+
+    /**
+     * 当前是否使用数组直接寻址
+     */
+    public boolean isDense() {
+        return index.isDense();
+    }
+
+    /**
+     * 转换为装箱键的 Map，保持遍历顺序
+     */
+    public Map<Integer, V> toMap() {
+        final Map<Integer, V> map = new OpenHashMap<>(size());
+        forEach(map::put);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,177 @@
+package com.zyf.util;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// 内部类，groupBy/groupingBy 的分组容器：键属于取值域（枚举、Boolean 或显式给定）时按域下标放入数组分桶，
+// 每个元素只做一次下标计算，不计算哈希、不调用 computeIfAbsent；域以外的键放入 OpenHashMap。
+// 未给定取值域时由第一个键推断，之后遇到域以外的键就把已有分桶按出现顺序转入 OpenHashMap，结果与直接使用 Map 相同
+final class KeyBuckets<K, A> {
+
+    private final Supplier<A> supplier;
+    private final Function<K, A> newBucket;
+    // 为 true 时结果包含域中的每个键（没有元素的键也创建分桶），按域的顺序排在前面
+    private final boolean explicit;
+
+    // 推断模式下第一个键到来前为 null，退化为 Map 后也为 null
+    private KeyDomain domain;
+    private boolean detected;
+    private Object[] buckets;
+    // 推断模式下分桶首次出现的顺序
+    private int[] order;
+    private int seen;
+
+    private OpenHashMap<K, A> others;
+
+    private KeyBuckets(Supplier<A> supplier, KeyDomain domain) {
+        this.supplier = supplier;
+        this.newBucket = k -> supplier.get();
+        this.explicit = domain != null;
+        this.detected = explicit;
+        if (domain != null) {
+            useDomain(domain);
+        }
+    }
+
+    /**
+     * 由第一个键推断取值域
+     */
+    static <K, A> KeyBuckets<K, A> detecting(Supplier<A> supplier) {
+        return new KeyBuckets<>(supplier, null);
+    }
+
+    /**
+     * 显式给定取值域
+     */
+    static <K, A> KeyBuckets<K, A> of(Supplier<A> supplier, KeyDomain domain) {
+        return new KeyBuckets<>(supplier, Objects.requireNonNull(domain));
+    }
+
+    private void useDomain(KeyDomain domain) {
+        this.domain = domain;
+        this.buckets = new Object[domain.size()];
+        this.order = new int[domain.size()];
+    }
+
+    // 返回键在域中的下标；不在域中时返回 -1，此时 others 已创建
+    private int slot(K key) {
+        if (!detected) {
+            detected = true;
+            final KeyDomain inferred = KeyDomain.detect(key);
+            if (inferred != null) {
+                useDomain(inferred);
+            }
+        }
+        if (domain != null) {
+            final int slot = domain.indexOf(key);
+            if (slot >= 0) {
+                return slot;
+            }
+            if (!explicit) {
+                // 推断的域不包含该键（null 或其他类型），转为 Map，保持首次出现的顺序
+                others = new OpenHashMap<>(seen + 1);
+                forEachPresent(others::put);
+                domain = null;
+                buckets = null;
+                order = null;
+            }
+        }
+        if (others == null) {
+            others = new OpenHashMap<>();
+        }
+        return -1;
+    }
+
+    /**
+     * 返回键对应的分桶，不存在时创建
+     */
+    @SuppressWarnings("unchecked")
+    A bucket(K key) {
+        final int slot = slot(key);
+        if (slot < 0) {
+            return others.computeIfAbsent(key, newBucket);
+        }
+        Object bucket = buckets[slot];
+        if (bucket == null) {
+            bucket = supplier.get();
+            buckets[slot] = bucket;
+            order[seen++] = slot;
+        }
+        return (A) bucket;
+    }
+
+    // 只遍历已创建的分桶
+    @SuppressWarnings("unchecked")
+    private void forEachPresent(BiConsumer<K, A> action) {
+        if (domain != null) {
+            if (explicit) {
+                for (int slot = 0; slot < buckets.length; slot++) {
+                    if (buckets[slot] != null) {
+                        action.accept((K) domain.keyAt(slot), (A) buckets[slot]);
+                    }
+                }
+            } else {
+                for (int i = 0; i < seen; i++) {
+                    action.accept((K) domain.keyAt(order[i]), (A) buckets[order[i]]);
+                }
+            }
+        }
+        if (others != null) {
+            others.forEach(action);
+        }
+    }
+
+    /**
+     * 并行时合并右侧分段：右侧的分桶在遇到顺序上靠后
+     */
+    @SuppressWarnings("unchecked")
+    KeyBuckets<K, A> merge(KeyBuckets<K, A> right, BinaryOperator<A> combiner) {
+        right.forEachPresent((key, bucket) -> {
+            final int slot = slot(key);
+            if (slot < 0) {
+                others.merge(key, bucket, combiner);
+            } else if (buckets[slot] == null) {
+                buckets[slot] = bucket;
+                order[seen++] = slot;
+            } else {
+                buckets[slot] = combiner.apply((A) buckets[slot], bucket);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * 转换为 Map：显式域的键按域的顺序排在前面（没有元素的键也有分桶），其余的键按首次出现的顺序
+     */
+    Map<K, A> toMap() {
+        if (domain == null && others != null) {
+            return others;
+        }
+        return toMap(Function.identity());
+    }
+
+    /**
+     * 同 toMap()，每个分桶经 finisher 转换
+     */
+    @SuppressWarnings("unchecked")
+    <R> Map<K, R> toMap(Function<A, R> finisher) {
+        final int size = (domain == null ? 0 : explicit ? buckets.length : seen) + (others == null ? 0 : others.size());
+        final Map<K, R> result = new OpenHashMap<>(size);
+        if (explicit) {
+            for (int slot = 0; slot < buckets.length; slot++) {
+                final A bucket = buckets[slot] == null ? supplier.get() : (A) buckets[slot];
+                result.put((K) domain.keyAt(slot), finisher.apply(bucket));
+            }
+            if (others != null) {
+                others.forEach((key, bucket) -> result.put(key, finisher.apply(bucket)));
+            }
+        } else {
+            forEachPresent((key, bucket) -> result.put(key, finisher.apply(bucket)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,239 @@
+package com.zyf.util;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+// 内部类，携带键提取函数的比较器：单独使用时与普通比较器一致，
+// 在 ListStream 排序时会先把每个元素的键提取一次到数组，再对下标排序（Schwartzian transform），避免每次比较都调用 keyExtractor
+final class KeyComparator<T, U extends Comparable<? super U>> implements Comparator<T> {
+
+    // 小于该长度的区间使用插入排序
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    // 并行排序时不再拆分的最小区间长度，与 Arrays.parallelSort 相同
+    private static final int MIN_PARALLEL_SORT_GRAIN = 1 << 13;
+
+    private final Function<? super T, ? extends U> keyExtractor;
+    private final boolean desc;
+    // 空值相对非空值的比较结果
+    private final int nullSign;
+
+    KeyComparator(Function<? super T, ? extends U> keyExtractor, Sort order, Sort nullPosition) {
+        this.keyExtractor = keyExtractor;
+        this.desc = order == Sort.Desc;
+        this.nullSign = nullPosition == Sort.NullFirst ? -1 : 1;
+    }
+
+    @Override
+    public int compare(T o1, T o2) {
+        return compareKeys(keyExtractor.apply(o1), keyExtractor.apply(o2));
+    }
+
+    U key(T element) {
+        return keyExtractor.apply(element);
+    }
+
+    // 按排序方向与空值位置比较两个已提取的键
+    int compareKeys(U key1, U key2) {
+        // 处理空值情况
+        if (key1 == null && key2 == null) {
+            return 0;
+        }
+        if (key1 == null) {
+            return nullSign;
+        }
+        if (key2 == null) {
+            return -nullSign;
+        }
+
+        // 正常比较
+        int comparison = key1.compareTo(key2);
+        return desc ? -comparison : comparison;
+    }
+
+    // 按下标比较已提取好的键
+    @FunctionalInterface
+    private interface IndexComparator {
+        int compare(int i, int j);
+    }
+
+    /**
+     * 按多个键稳定排序，返回排好序的新数组，与 Arrays.sort(elements, k1.thenComparing(k2)...) 的结果一致。
+     * parallel 为 true 时在 ForkJoinPool.commonPool() 中并行归并（同样是稳定排序），两种方式都对 int 下标排序，比较时不装箱
+     */
+    static <T> Object[] sort(Object[] elements, List<KeyComparator<T, ?>> comparators, boolean parallel) {
+        final int n = elements.length;
+        if (n < 2) {
+            return elements;
+        }
+
+        final IndexComparator[] keys = new IndexComparator[comparators.size()];
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = comparators.get(k).extract(elements);
+        }
+        final IndexComparator comparator = keys.length == 1 ? keys[0] : (i, j) -> {
+            for (IndexComparator key : keys) {
+                final int c = key.compare(i, j);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return 0;
+        };
+
+        final int[] indexes = new int[n];
+        for (int i = 0; i < n; i++) {
+            indexes[i] = i;
+        }
+        if (parallel) {
+            final int grain = Math.max(n / (ForkJoinPool.getCommonPoolParallelism() << 2), MIN_PARALLEL_SORT_GRAIN);
+            ForkJoinPool.commonPool().invoke(new ParallelMergeSort(indexes.clone(), indexes, 0, n, grain, comparator));
+        } else {
+            mergeSort(indexes.clone(), indexes, 0, n, comparator);
+        }
+        final Object[] sorted = new Object[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = elements[indexes[i]];
+        }
+        return sorted;
+    }
+
+    /**
+     * 提取所有键，全部非空键为 Integer/Long/Double/String 时拆箱到对应数组，比较时不再经过 Comparable 接口
+     */
+    @SuppressWarnings("unchecked")
+    private IndexComparator extract(Object[] elements) {
+        final int n = elements.length;
+        final Object[] raw = new Object[n];
+        boolean hasNull = false;
+        boolean allInt = true, allLong = true, allDouble = true, allString = true;
+        for (int i = 0; i < n; i++) {
+            final U key = keyExtractor.apply((T) elements[i]);
+            raw[i] = key;
+            if (key == null) {
+                hasNull = true;
+                continue;
+            }
+            final Class<?> type = key.getClass();
+            allInt &= type == Integer.class;
+            allLong &= type == Long.class;
+            allDouble &= type == Double.class;
+            allString &= type == String.class;
+        }
+
+        final IndexComparator nonNull;
+        if (allInt) {
+            final int[] values = new int[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = raw[i] == null ? 0 : (Integer) raw[i];
+            }
+            nonNull = (i, j) -> Integer.compare(values[i], values[j]);
+        } else if (allLong) {
+            final long[] values = new long[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = raw[i] == null ? 0L : (Long) raw[i];
+            }
+            nonNull = (i, j) -> Long.compare(values[i], values[j]);
+        } else if (allDouble) {
+            final double[] values = new double[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = raw[i] == null ? 0.0 : (Double) raw[i];
+            }
+            nonNull = (i, j) -> Double.compare(values[i], values[j]);
+        } else if (allString) {
+            final String[] values = new String[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = (String) raw[i];
+            }
+            nonNull = (i, j) -> values[i].compareTo(values[j]);
+        } else {
+            nonNull = (i, j) -> ((U) raw[i]).compareTo((U) raw[j]);
+        }
+
+        final IndexComparator ordered = desc ? (i, j) -> -nonNull.compare(i, j) : nonNull;
+        if (!hasNull) {
+            return ordered;
+        }
+        final boolean[] nulls = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            nulls[i] = raw[i] == null;
+        }
+        return (i, j) -> {
+            if (nulls[i] || nulls[j]) {
+                return nulls[i] == nulls[j] ? 0 : nulls[i] ? nullSign : -nullSign;
+            }
+            return ordered.compare(i, j);
+        };
+    }
+
+    // 稳定的归并排序，src 与 dest 初始内容相同，结果写入 dest
+    private static void mergeSort(int[] src, int[] dest, int from, int to, IndexComparator comparator) {
+        final int length = to - from;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                final int current = dest[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(dest[j], current) > 0) {
+                    dest[j + 1] = dest[j];
+                    j--;
+                }
+                dest[j + 1] = current;
+            }
+            return;
+        }
+
+        final int mid = (from + to) >>> 1;
+        mergeSort(dest, src, from, mid, comparator);
+        mergeSort(dest, src, mid, to, comparator);
+        merge(src, dest, from, mid, to, comparator);
+    }
+
+    // 把 src 中有序的 [from, mid) 与 [mid, to) 合并到 dest，相等时左段在前
+    private static void merge(int[] src, int[] dest, int from, int mid, int to, IndexComparator comparator) {
+        // 两段已经有序时直接复制
+        if (comparator.compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, from, dest, from, to - from);
+            return;
+        }
+        for (int i = from, p = from, q = mid; i < to; i++) {
+            if (q >= to || p < mid && comparator.compare(src[p], src[q]) <= 0) {
+                dest[i] = src[p++];
+            } else {
+                dest[i] = src[q++];
+            }
+        }
+    }
+
+    // 并行归并排序：与 mergeSort 相同的 src/dest 交替方式，区间超过 grain 时两半作为子任务并行排序，再合并
+    private static final class ParallelMergeSort extends RecursiveAction {
+        private final int[] src;
+        private final int[] dest;
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final IndexComparator comparator;
+
+        ParallelMergeSort(int[] src, int[] dest, int from, int to, int grain, IndexComparator comparator) {
+            this.src = src;
+            this.dest = dest;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                mergeSort(src, dest, from, to, comparator);
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new ParallelMergeSort(dest, src, from, mid, grain, comparator),
+                    new ParallelMergeSort(dest, src, mid, to, grain, comparator));
+            merge(src, dest, from, mid, to, comparator);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.zyf.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+// 内部类，低基数键的取值域：把键映射为在域中的下标，不存在时为 -1。
+// 域中全是同一枚举类型时按 ordinal 查表，Boolean 直接取 false/true 的下标，都不计算哈希；
+// 其他类型的域较小时线性查找，较大时使用哈希表
+final class KeyDomain {
+
+    // 不超过该个数时线性查找
+    private static final int LINEAR_MAX = 8;
+    private static final Boolean[] BOOLEANS = {Boolean.FALSE, Boolean.TRUE};
+
+    private final Object[] keys;
+    // 枚举域：ordinal -> 下标，其他域为 null
+    private final Class<?> enumClass;
+    private final int[] slotByOrdinal;
+    // Boolean 域：false/true 的下标，域中没有时为 -1
+    private final boolean booleans;
+    private final int falseSlot;
+    private final int trueSlot;
+    // 其他类型且个数超过 LINEAR_MAX 时的下标表
+    private final Map<Object, Integer> index;
+
+    private KeyDomain(Object[] keys) {
+        this.keys = keys;
+        Class<?> commonEnum = keys.length > 0 && keys[0] instanceof Enum<?> first ? first.getDeclaringClass() : null;
+        boolean allBooleans = keys.length > 0;
+        for (Object key : keys) {
+            if (!(key instanceof Enum<?> e && e.getDeclaringClass() == commonEnum)) {
+                commonEnum = null;
+            }
+            allBooleans &= key instanceof Boolean;
+        }
+        enumClass = commonEnum;
+        booleans = allBooleans;
+        int[] ordinals = null;
+        int falseAt = -1;
+        int trueAt = -1;
+        Map<Object, Integer> table = null;
+        if (commonEnum != null) {
+            ordinals = new int[commonEnum.getEnumConstants().length];
+            Arrays.fill(ordinals, -1);
+        } else if (!allBooleans && keys.length > LINEAR_MAX) {
+            table = new OpenHashMap<>(keys.length);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            final Object key = keys[i];
+            final boolean duplicate;
+            if (ordinals != null) {
+                final int ordinal = ((Enum<?>) key).ordinal();
+                duplicate = ordinals[ordinal] >= 0;
+                ordinals[ordinal] = i;
+            } else if (allBooleans) {
+                duplicate = ((Boolean) key ? trueAt : falseAt) >= 0;
+                if ((Boolean) key) {
+                    trueAt = i;
+                } else {
+                    falseAt = i;
+                }
+            } else if (table != null) {
+                duplicate = table.put(key, i) != null;
+            } else {
+                duplicate = indexOf(keys, i, key) >= 0;
+            }
+            if (duplicate) {
+                throw new IllegalArgumentException("duplicate key in domain: " + key);
+            }
+        }
+        slotByOrdinal = ordinals;
+        falseSlot = falseAt;
+        trueSlot = trueAt;
+        index = table;
+    }
+
+    // 在 keys 的前 length 个中线性查找
+    private static int indexOf(Object[] keys, int length, Object key) {
+        for (int i = 0; i < length; i++) {
+            if (Objects.equals(keys[i], key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 显式给定的取值域，键不能重复
+     */
+    static KeyDomain of(Object[] domain) {
+        return new KeyDomain(domain.clone());
+    }
+
+    /**
+     * 根据第一个键推断取值域：枚举取该类型的全部常量，Boolean 取 false/true，其他类型返回 null
+     */
+    static KeyDomain detect(Object key) {
+        if (key instanceof Enum<?> e) {
+            return new KeyDomain(e.getDeclaringClass().getEnumConstants());
+        }
+        if (key instanceof Boolean) {
+            return new KeyDomain(BOOLEANS.clone());
+        }
+        return null;
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    Object keyAt(int slot) {
+        return keys[slot];
+    }
+
+    int indexOf(Object key) {
+        if (enumClass != null) {
+            return key instanceof Enum<?> e && e.getDeclaringClass() == enumClass ? slotByOrdinal[e.ordinal()] : -1;
+        }
+        if (booleans) {
+            return key instanceof Boolean b ? (b ? trueSlot : falseSlot) : -1;
+        }
+        if (index != null) {
+            final Integer slot = index.get(key);
+            return slot == null ? -1 : slot;
+        }
+        return indexOf(keys, keys.length, key);
+    }
+}
@@ -1,13 +1,21 @@
 package com.zyf.util;
 
 import java.util.*;
+import java.util.function.IntSupplier;
 
 public class ListPair<T, U, S extends Pair<T, U>> {
 
     private final Iterable<S> source;
+    // 元素个数，为 null 表示未知，用于预分配结果集合
+    private final IntSupplier knownSize;
 
     ListPair(Iterable<S> source) {
+        this(source, null);
+    }
+
+    ListPair(Iterable<S> source, IntSupplier knownSize) {
         this.source = source;
+        this.knownSize = knownSize;
     }
 
     public static <T, U, S extends Pair<T, U>> ListPair<T, U, S> of(Iterable<S> source) {
@@ -20,13 +28,13 @@ public class ListPair<T, U, S extends Pair<T, U>> {
         if (source instanceof List<S>) {
             return (List<Pair<T, U>>) source;
         }
-        List<Pair<T, U>> result = new ArrayList<>();
+        List<Pair<T, U>> result = knownSize == null ? new ArrayList<>() : new ArrayList<>(knownSize.getAsInt());
         source.forEach(result::add);
         return result;
     }
 
     public Map<T, U> toMap() {
-        final Map<T, U> map = new HashMap<>();
+        final Map<T, U> map = knownSize == null ? new HashMap<>() : new HashMap<>((int) (knownSize.getAsInt() / .75f) + 1);
         source.forEach(pair -> map.put(pair.getFirst(), pair.getSecond()));
         return map;
     }
@@ -0,0 +1,45 @@
+package com.zyf.util;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+// 内部类，RandomAccess 列表上 [from, to) 区间的只读视图：skip/take/sub 直接按下标跳转，不逐个遍历。
+// 与 subList 不同，长度在每次访问时按源列表的当前长度计算，保持流的延迟求值语义
+final class ListRange<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<T> list;
+    private final int from;
+    private final int to;
+
+    private ListRange(List<T> list, int from, int to) {
+        this.list = list;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * 区间 [from, to) 的视图，to 超出长度时截断到末尾；嵌套的视图会合并为一层
+     */
+    static <T> ListRange<T> of(List<T> list, int from, int to) {
+        if (list instanceof ListRange<T> range) {
+            final int start = (int) Math.min((long) range.from + from, Integer.MAX_VALUE);
+            final int end = (int) Math.min((long) range.from + to, range.to);
+            return new ListRange<>(range.list, start, Math.max(start, end));
+        }
+        return new ListRange<>(list, from, to);
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return list.get(from + index);
+    }
+
+    @Override
+    public int size() {
+        return Math.max(0, Math.min(list.size(), to) - from);
+    }
+}
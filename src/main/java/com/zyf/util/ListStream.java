@@ -1,23 +1,171 @@
 package com.zyf.util;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.*;
 import java.util.stream.Collector;
 
 public class ListStream<T> {
 
     private final Iterable<T> source;
+    // 源头 + 融合后的无状态阶段，用于推模式和并行执行
+    private final Pipeline<?, T> pipeline;
+    // 并行执行使用的线程池，为 null 表示顺序执行
+    private final Executor executor;
+    // 流的特征，取值同 Spliterator 的 SIZED/SORTED/DISTINCT/NONNULL，SORTED 表示按自然顺序升序
+    private final int characteristics;
+    // 元素个数，为 null 表示未知；按源头的当前大小计算，保持延迟求值
+    private final IntSupplier knownSize;
+
+    // 元素个数达到该值时排序自动使用 Arrays.parallelSort
+    private static volatile int parallelSortThreshold = 1 << 16;
+
+    // 各阶段可以继承的特征
+    private static final int ORDER_FLAGS = Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
 
     ListStream(Iterable<T> source) {
+        this(source, Pipeline.of(source), null, characteristicsOf(source), sizeOf(source));
+    }
+
+    private ListStream(Iterable<T> source, Pipeline<?, T> pipeline, Executor executor,
+                       int characteristics, IntSupplier knownSize) {
         this.source = source;
+        this.pipeline = pipeline;
+        this.executor = executor;
+        this.characteristics = knownSize == null ? characteristics & ~Spliterator.SIZED : characteristics | Spliterator.SIZED;
+        this.knownSize = knownSize;
     }
 
     public static <T> ListStream<T> of(Iterable<T> source) {
         return new ListStream<>(Objects.requireNonNull(source));
     }
 
+    // ================================ 并行 (Parallel)  ==================================
+    // ====================================================================================
+    //  parallel(): 切换为并行模式，源头为 RandomAccess 的 List 时按下标区间拆分，
+    //  无状态阶段(filter/map/mapNotNull/flatMap/peek)与归约型终端操作在线程池中执行后按顺序合并。
+
+    public ListStream<T> parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    public ListStream<T> parallel(Executor executor) {
+        Objects.requireNonNull(executor, "executor cannot be null");
+        return new ListStream<>(source, pipeline, executor, characteristics, knownSize);
+    }
+
+    public ListStream<T> sequential() {
+        return executor == null ? this : new ListStream<>(source, pipeline, null, characteristics, knownSize);
+    }
+
+    public boolean isParallel() {
+        return executor != null;
+    }
+
+    // ================================ 缓存 (Caching)  ==================================
+    // ====================================================================================
+    //  cache(): 首次遍历时把上游的结果逐个存入缓冲区，之后的终端操作都直接读缓冲区，不再重复执行 filter/map 等阶段。
+    //  只遍历了一部分（如 first()、take(n)）时已缓存的前缀会被复用；多个线程同时遍历时上游的每个元素也只计算一次。
+
+    public ListStream<T> cache() {
+        // 源头本身已经是集合，或者已经缓存过
+        if (source instanceof Collection || source instanceof CachedIterable) {
+            return this;
+        }
+        return derive(new CachedIterable<>(source), characteristics, knownSize);
+    }
+
+    public ListStream<T> memoize() {
+        return cache();
+    }
+
+    //  characteristics(): 流的特征，取值同 Spliterator.SIZED/SORTED/DISTINCT/NONNULL 的组合。
+    //  SORTED 表示按自然顺序升序，例如 sorted() 之后、或源头为无比较器的 SortedSet。
+
+    public int characteristics() {
+        return characteristics;
+    }
+
+    public boolean hasCharacteristics(int characteristics) {
+        return (this.characteristics & characteristics) == characteristics;
+    }
+
+    //  exactSizeIfKnown(): 不遍历即可确定的元素个数，未知时返回 -1。
+
+    public long exactSizeIfKnown() {
+        return knownSize == null ? -1 : knownSize.getAsInt();
+    }
+
+    private static int characteristicsOf(Iterable<?> iterable) {
+        int characteristics = 0;
+        if (iterable instanceof Set) {
+            characteristics |= Spliterator.DISTINCT;
+        }
+        if (iterable instanceof SortedSet<?> sortedSet && sortedSet.comparator() == null) {
+            characteristics |= Spliterator.SORTED;
+        }
+        return characteristics;
+    }
+
+    private static IntSupplier sizeOf(Iterable<?> iterable) {
+        return iterable instanceof Collection<?> collection ? collection::size : null;
+    }
+
+    // 以新的可迭代对象为源头创建下游流（有状态阶段，无法融合），保留并行设置
+    private <R> ListStream<R> derive(Iterable<R> iterable) {
+        return derive(iterable, characteristicsOf(iterable), sizeOf(iterable));
+    }
+
+    private <R> ListStream<R> derive(Iterable<R> iterable, int characteristics, IntSupplier knownSize) {
+        return new ListStream<>(iterable, Pipeline.of(iterable), executor, characteristics, knownSize);
+    }
+
+    // 追加无状态阶段：拉模式使用 iterable，推模式/并行使用融合后的 pipeline
+    private <R> ListStream<R> derive(Iterable<R> iterable, Function<Consumer<R>, Consumer<T>> stage) {
+        return derive(iterable, stage, 0, null);
+    }
+
+    private <R> ListStream<R> derive(Iterable<R> iterable, Function<Consumer<R>, Consumer<T>> stage,
+                                     int characteristics, IntSupplier knownSize) {
+        return new ListStream<>(iterable, pipeline.then(stage), executor, characteristics, knownSize);
+    }
+
+    // 过滤不改变顺序与唯一性，但元素个数变为未知
+    private ListStream<T> filtered(Predicate<T> condition) {
+        return filtered(condition, characteristics & ORDER_FLAGS);
+    }
+
+    private ListStream<T> filtered(Predicate<T> condition, int characteristics) {
+        return derive(createFilteredIterable(condition), sink -> elem -> {
+            if (condition.test(elem)) {
+                sink.accept(elem);
+            }
+        }, characteristics, null);
+    }
+
+    // 元素个数已知时计算下游的元素个数
+    private IntSupplier sizeMapped(IntUnaryOperator sizeMapper) {
+        final IntSupplier size = knownSize;
+        return size == null ? null : () -> sizeMapper.applyAsInt(size.getAsInt());
+    }
+
+    // 可变归约：并行模式下拆分执行并按顺序合并，否则顺序遍历
+    private <A> A collect(Supplier<A> supplier, BiConsumer<A, T> accumulator, BinaryOperator<A> combiner) {
+        if (executor == null) {
+            final A container = supplier.get();
+            pipeline.forEach(t -> accumulator.accept(container, t));
+            return container;
+        }
+        return pipeline.collect(executor, supplier, accumulator, combiner);
+    }
+
+    // 键通常各不相同的结果 Map（toMap/associate*）：大小已知时按元素个数预分配，避免逐步扩容
+    private <K, V> Map<K, V> presizedMap() {
+        return knownSize == null ? new OpenHashMap<>() : new OpenHashMap<>(knownSize.getAsInt());
+    }
+
     // ================================ 过滤 (Filtering)  ==================================
     // ====================================================================================
     //  filter { predicate }: 返回一个新的列表，包含所有满足给定条件的元素。
@@ -34,8 +182,7 @@ public class ListStream<T> {
     @SafeVarargs
     public final ListStream<T> filters(Predicate<? super T>... predicates) {
         Objects.requireNonNull(predicates);
-        return of(createFilteredIterable(elem ->
-                Arrays.stream(predicates).allMatch(predicate -> predicate.test(elem))));
+        return filtered(Predicates.and(predicates));
     }
 
     //  filterOrs { predicate }: 返回一个新的列表，包含任意满足给定条件的元素。
@@ -49,8 +196,21 @@ public class ListStream<T> {
     // 过滤或的实现
     @SafeVarargs
     public final ListStream<T> filterOrs(Predicate<T>... predicates) {
-        return of(createFilteredIterable(elem ->
-                Arrays.stream(predicates).anyMatch(predicate -> predicate.test(elem))));
+        return filtered(Predicates.or(predicates));
+    }
+
+    //  filtersAdaptive / filterOrsAdaptive: 同 filters/filterOrs，但先采样每个条件的通过率与耗时，再按期望代价最小的顺序执行。
+    //  前面的条件可以保护后面的条件（如 Objects::nonNull 在前），结果与 filters/filterOrs 相同。
+    //  需要查看选定的顺序与通过率时，自行创建 AdaptivePredicate 并传给 filter(...)
+
+    @SafeVarargs
+    public final ListStream<T> filtersAdaptive(Predicate<? super T>... predicates) {
+        return filtered(AdaptivePredicate.and(predicates));
+    }
+
+    @SafeVarargs
+    public final ListStream<T> filterOrsAdaptive(Predicate<? super T>... predicates) {
+        return filtered(AdaptivePredicate.or(predicates));
     }
 
     //  filterNot { predicate }: 返回一个新列表，包含所有不满足给定条件的元素。
@@ -62,15 +222,14 @@ public class ListStream<T> {
     @SafeVarargs
     public final ListStream<T> filterNots(Predicate<? super T>... predicates) {
         Objects.requireNonNull(predicates);
-        return of(createFilteredIterable(elem ->
-                Arrays.stream(predicates).noneMatch(predicate -> predicate.test(elem))));
+        return filtered(Predicates.none(predicates));
     }
 
 
     //  filterNull(): 返回一个新列表，其中包含null元素。
 
     public final ListStream<T> filterNull() {
-        return of(createFilteredIterable(Objects::isNull));
+        return filtered(Objects::isNull);
     }
 
     public final ListStream<T> filterNull(Function<T, ?> function) {
@@ -80,17 +239,16 @@ public class ListStream<T> {
     @SafeVarargs
     public final ListStream<T> filterNulls(Function<T, ?>... functions) {
         Objects.requireNonNull(functions);
-        return of(createFilteredIterable(elem ->
-                Arrays.stream(functions).allMatch(fun -> {
-                    Object value = fun.apply(elem);
-                    return value == null;
-                })));
+        return filtered(Predicates.allValues(functions, Objects::isNull));
     }
 
     //  filterNotNull(): 返回一个新列表，其中不包含null元素。
 
     public final ListStream<T> filterNotNull() {
-        return of(createFilteredIterable(Objects::nonNull));
+        if (hasCharacteristics(Spliterator.NONNULL)) {
+            return this;
+        }
+        return filtered(Objects::nonNull, (characteristics & ORDER_FLAGS) | Spliterator.NONNULL);
     }
 
     public final ListStream<T> filterNotNull(Function<T, ?> function) {
@@ -100,28 +258,50 @@ public class ListStream<T> {
     @SafeVarargs
     public final ListStream<T> filterNotNulls(Function<T, ?>... functions) {
         Objects.requireNonNull(functions);
-        return of(createFilteredIterable(elem ->
-                Arrays.stream(functions).allMatch(fun -> {
-                    Object value = fun.apply(elem);
-                    return value != null;
-                })));
+        return filtered(Predicates.allValues(functions, Objects::nonNull));
     }
 
 
     //  filterIndexed { index, value -> predicate }: 类似filter，但谓词同时接收元素的索引。
 
     @SafeVarargs
+    @SuppressWarnings("unchecked")
     public final ListStream<T> filterIndexeds(BiPredicate<Integer, ? super T>... predicates) {
         Objects.requireNonNull(predicates);
-        return of(createFilteredIterable((index, elem) ->
-                Arrays.stream(predicates).allMatch(predicate -> predicate.test(index, elem))));
+        final LongObjPredicate<T>[] indexed = new LongObjPredicate[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            final BiPredicate<Integer, ? super T> predicate = predicates[i];
+            indexed[i] = (index, elem) -> predicate.test((int) index, elem);
+        }
+        return filterIndexedLong(indexed);
+    }
+
+    //  filterIndexedInt / filterIndexedLong: 同 filterIndexeds，下标以基本类型传入，不装箱。
+    //  int 下标在元素个数超过 Integer.MAX_VALUE 时会溢出，此时使用 long 下标的版本
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    public final ListStream<T> filterIndexedInt(IntObjPredicate<? super T>... predicates) {
+        Objects.requireNonNull(predicates);
+        final LongObjPredicate<T>[] indexed = new LongObjPredicate[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            final IntObjPredicate<? super T> predicate = predicates[i];
+            indexed[i] = (index, elem) -> predicate.test((int) index, elem);
+        }
+        return filterIndexedLong(indexed);
+    }
+
+    @SafeVarargs
+    public final ListStream<T> filterIndexedLong(LongObjPredicate<? super T>... predicates) {
+        Objects.requireNonNull(predicates);
+        return derive(createFilteredIterable(Predicates.andIndexed(predicates)));
     }
 
     //  filterIsInstance<R>(): 返回一个新列表，包含所有指定类型R的元素。
     public final <R> ListStream<R> filterIsInstance(Class<R> classOfR) {
         Objects.requireNonNull(classOfR, "classOfR cannot be null");
 
-        return ListStream.of(() -> new Iterator<>() {
+        return derive(() -> new Iterator<>() {
             final Iterator<T> sourceIterator = source.iterator();
             R nextElement;
             boolean hasNextComputed = false;
@@ -163,7 +343,12 @@ public class ListStream<T> {
                 hasNextResult = false;
                 hasNextComputed = true;
             }
-        });
+        },
+                sink -> elem -> {
+                    if (classOfR.isInstance(elem)) {
+                        sink.accept(classOfR.cast(elem));
+                    }
+                });
     }
 
     //  drop(n): 返回一个新的列表，移除了前n个元素。
@@ -176,14 +361,20 @@ public class ListStream<T> {
         if (n < 0) {
             return this;
         }
-        return of(createFilteredIterable((index, elem) -> index + 1 > n));
+        // RandomAccess 列表直接按下标跳过
+        if (source instanceof List<T> list && source instanceof RandomAccess) {
+            ListRange<T> range = ListRange.of(list, n, Integer.MAX_VALUE);
+            return derive(range, characteristics & ORDER_FLAGS, range::size);
+        }
+        return derive(createFilteredIterable((index, elem) -> index + 1 > n),
+                characteristics & ORDER_FLAGS, sizeMapped(size -> Math.max(0, size - n)));
     }
 
     //  dropWhile { predicate }: 从第一个不满足条件的元素开始，返回剩余的元素。
     public final ListStream<T> dropWhile(Predicate<T> predicate) {
         Objects.requireNonNull(predicate, "predicate cannot be null");
 
-        return ListStream.of(() -> new Iterator<>() {
+        return derive(() -> new Iterator<>() {
             final Iterator<T> sourceIterator = source.iterator();
             boolean dropping = true; // 初始状态为“正在丢弃”
             T nextElement;
@@ -251,14 +442,154 @@ public class ListStream<T> {
         if (n < 0) {
             return this;
         }
-        return of(createFilteredIterable((index, elem) -> index + 1 <= n));
+        // sort(...).take(n)：还未排序时改为只选出前 n 个
+        if (source instanceof SortedList<T> sortedList) {
+            SortedList<T> first = sortedList.limit(n);
+            if (first != null) {
+                return derive(first, characteristics & ORDER_FLAGS, sizeMapped(size -> Math.min(size, n)));
+            }
+        }
+        return sub(0, n);
+    }
+
+    //  takeLast(n): 返回最后n个元素的新列表。
+
+    public ListStream<T> takeLast(int n) {
+        if (n < 0) {
+            return this;
+        }
+        final int lastCharacteristics = characteristics & ORDER_FLAGS;
+        final IntSupplier lastSize = sizeMapped(size -> Math.min(size, n));
+        // RandomAccess 列表按下标跳到末尾，起点按遍历时的长度计算
+        if (source instanceof List<T> list && source instanceof RandomAccess) {
+            return derive(() -> ListRange.of(list, Math.max(0, list.size() - n), Integer.MAX_VALUE).iterator(),
+                    lastCharacteristics, lastSize);
+        }
+        // 可以从末尾遍历时逆向读出最后 n 个，再按原顺序输出
+        if (descendingIterator(source) != null) {
+            return derive(() -> {
+                Iterator<T> descending = descendingIterator(source);
+                List<T> last = new ArrayList<>();
+                while (last.size() < n && descending.hasNext()) {
+                    last.add(descending.next());
+                }
+                return descendingIterator(last);
+            }, lastCharacteristics, lastSize);
+        }
+        // 元素个数已知时跳过前面的元素
+        if (knownSize != null) {
+            final IntSupplier size = knownSize;
+            return derive(() -> {
+                Iterator<T> iterator = source.iterator();
+                for (int skip = size.getAsInt() - n; skip > 0 && iterator.hasNext(); skip--) {
+                    iterator.next();
+                }
+                return iterator;
+            }, lastCharacteristics, lastSize);
+        }
+        // 否则遍历一次，用大小为 n 的环形缓冲区保留最后 n 个
+        return derive(() -> {
+            List<T> ring = new ArrayList<>();
+            int position = 0;
+            if (n > 0) {
+                for (T t : source) {
+                    if (ring.size() < n) {
+                        ring.add(t);
+                    } else {
+                        ring.set(position, t);
+                        position = position + 1 == n ? 0 : position + 1;
+                    }
+                }
+            }
+            List<T> last = new ArrayList<>(ring.size());
+            last.addAll(ring.subList(position, ring.size()));
+            last.addAll(ring.subList(0, position));
+            return last.iterator();
+        }, lastCharacteristics, lastSize);
+    }
+
+    //  dropLast(n): 返回移除了最后n个元素的新列表。
+
+    public ListStream<T> dropLast(int n) {
+        if (n <= 0) {
+            return this;
+        }
+        final int dropCharacteristics = characteristics & ORDER_FLAGS;
+        // 元素个数已知（集合、或之后只有不改变个数的阶段）：只取前 size - n 个，取满后不再拉取
+        if (knownSize != null) {
+            final IntSupplier size = knownSize;
+            return derive(() -> new Iterator<>() {
+                final Iterator<T> iterator = source.iterator();
+                int remaining = Math.max(0, size.getAsInt() - n);
+
+                @Override
+                public boolean hasNext() {
+                    return remaining > 0 && iterator.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    if (remaining <= 0) {
+                        throw new NoSuchElementException();
+                    }
+                    remaining--;
+                    return iterator.next();
+                }
+            }, dropCharacteristics, sizeMapped(s -> Math.max(0, s - n)));
+        }
+        // 否则延迟 n 个输出：缓冲区满后每读入一个元素，输出 n 个之前读入的元素
+        return derive(() -> new Iterator<>() {
+            final Iterator<T> iterator = source.iterator();
+            final List<T> ring = new ArrayList<>();
+            int position = 0;
+            T nextElement;
+            boolean hasNextComputed = false;
+            boolean hasNextResult = false;
+
+            @Override
+            public boolean hasNext() {
+                if (!hasNextComputed) {
+                    computeNext();
+                }
+                return hasNextResult;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNextComputed) {
+                    computeNext();
+                }
+                if (!hasNextResult) {
+                    throw new NoSuchElementException();
+                }
+                hasNextComputed = false;
+                return nextElement;
+            }
+
+            private void computeNext() {
+                while (iterator.hasNext()) {
+                    T current = iterator.next();
+                    if (ring.size() < n) {
+                        ring.add(current);
+                        continue;
+                    }
+                    nextElement = ring.set(position, current);
+                    position = position + 1 == n ? 0 : position + 1;
+                    hasNextResult = true;
+                    hasNextComputed = true;
+                    return;
+                }
+                hasNextResult = false;
+                hasNextComputed = true;
+            }
+        }, dropCharacteristics, null);
     }
 
     //  takeWhile { predicate }: 返回从开头开始，连续满足条件的元素。
     public final ListStream<T> takeWhile(Predicate<T> predicate) {
         Objects.requireNonNull(predicate, "predicate cannot be null");
 
-        return ListStream.of(() -> new Iterator<>() {
+        return derive(() -> new Iterator<>() {
             final Iterator<T> sourceIterator = source.iterator();
             boolean taking = true; // 初始状态为“正在获取”
             T nextElement;
@@ -321,7 +652,7 @@ public class ListStream<T> {
         // 将索引集合转换为HashSet以便O(1)查找
         final Set<Integer> targetIndices = new HashSet<>(indices);
 
-        return ListStream.of(() -> new Iterator<>() {
+        return derive(() -> new Iterator<>() {
             final Iterator<T> sourceIterator = source.iterator();
             int currentIndex = 0; // 当前遍历的元素索引
             T nextElement;
@@ -383,7 +714,7 @@ public class ListStream<T> {
             throw new IllegalArgumentException("startIndex (" + startIndex + ") cannot be greater than endIndex (" + endIndex + ")");
         }
 
-        return ListStream.of(() -> new Iterator<>() {
+        return derive(() -> new Iterator<>() {
             final Iterator<T> sourceIterator = source.iterator();
             int currentIndex = 0; // 当前遍历的元素索引
             T nextElement;
@@ -435,27 +766,24 @@ public class ListStream<T> {
     //  distinct(): 返回一个新列表，包含所有唯一的元素（基于equals()）。
 
     public ListStream<T> distinct() {
-        Set<Object> seen = new HashSet<>();
-        return of(createFilteredIterable(elem -> {
-            if (seen.contains(elem)) {
-                return false;
-            }
-            seen.add(elem);
-            return true;
-        }));
+        // 已经是唯一的（distinct() 之后、源头为 Set 等）直接返回
+        if (hasCharacteristics(Spliterator.DISTINCT)) {
+            return this;
+        }
+        // 每次遍历使用新的集合记录已出现的元素，流可以被多次遍历
+        return derive(() -> {
+            OpenHashSet seen = new OpenHashSet();
+            return createFilteredIterable(seen::add).iterator();
+        }, (characteristics & ORDER_FLAGS) | Spliterator.DISTINCT, null);
     }
 
     //  distinctBy { selector }: 返回一个新列表，通过给定选择器函数返回的键来判断唯一性。
 
     public ListStream<T> distinct(Function<T, ?> keyExtractor) {
-        Set<Object> seen = new HashSet<>();
-        return of(createFilteredIterable(elem -> {
-            if (seen.contains(keyExtractor.apply(elem))) {
-                return false;
-            }
-            seen.add(keyExtractor.apply(elem));
-            return true;
-        }));
+        return derive(() -> {
+            OpenHashSet seen = new OpenHashSet();
+            return createFilteredIterable(elem -> seen.add(keyExtractor.apply(elem))).iterator();
+        }, characteristics & ORDER_FLAGS, null);
     }
 
     // ====================================================================================
@@ -468,7 +796,7 @@ public class ListStream<T> {
 
     public <R> ListStream<R> map(Function<? super T, ? extends R> mapper) {
         Objects.requireNonNull(mapper);
-        return of(() -> new Iterator<>() {
+        return derive(() -> new Iterator<>() {
             final Iterator<T> iterator = source.iterator();
 
             public boolean hasNext() {
@@ -479,16 +807,29 @@ public class ListStream<T> {
                 final T next = iterator.next();
                 return mapper.apply(next);
             }
-        });
+        },
+                sink -> elem -> sink.accept(mapper.apply(elem)), 0, knownSize);
     }
 
     //  mapIndexed { index, value -> transform }: 类似map，但转换函数同时接收元素的索引。接收元素的索引。
 
     public <R> ListStream<R> mapIndexed(BiFunction<Integer, ? super T, ? extends R> mapper) {
         Objects.requireNonNull(mapper);
-        return of(() -> new Iterator<>() {
+        return mapIndexedLong((index, elem) -> mapper.apply((int) index, elem));
+    }
+
+    //  mapIndexedInt / mapIndexedLong: 同 mapIndexed，下标以基本类型传入，不装箱。
+
+    public <R> ListStream<R> mapIndexedInt(IntObjFunction<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper);
+        return mapIndexedLong((index, elem) -> mapper.apply((int) index, elem));
+    }
+
+    public <R> ListStream<R> mapIndexedLong(LongObjFunction<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper);
+        return derive(() -> new Iterator<>() {
             final Iterator<T> iterator = source.iterator();
-            int index = 0;
+            long index = 0;
 
             public boolean hasNext() {
                 return iterator.hasNext();
@@ -499,14 +840,14 @@ public class ListStream<T> {
                 index += 1;
                 return r;
             }
-        });
+        }, 0, knownSize);
     }
 
     //  mapNotNull { transform }: 类似map，但会过滤掉转换后为null的元素。
 
     public <R> ListStream<R> mapNotNull(Function<? super T, ? extends R> mapper) {
         Objects.requireNonNull(mapper);
-        return of(() -> new Iterator<>() {
+        return derive(() -> new Iterator<>() {
             final Iterator<T> iterator = source.iterator();
             R nextElement;
             boolean hasNextComputed = false;
@@ -546,7 +887,13 @@ public class ListStream<T> {
                 hasNextResult = false;
                 hasNextComputed = true;
             }
-        });
+        },
+                sink -> elem -> {
+                    final R r = mapper.apply(elem);
+                    if (r != null) {
+                        sink.accept(r);
+                    }
+                });
     }
 
     //  flatMap { transform }: 将每个元素映射为一个Iterable，然后将所有结果展平到一个列表中。
@@ -554,11 +901,7 @@ public class ListStream<T> {
     public <R> ListStream<R> flatMap(Function<? super T, ? extends Iterable<? extends R>> mapper) {
         Objects.requireNonNull(mapper, "mapper cannot be null");
 
-        if (isEmpty()) {
-            return of(new ArrayList<>());
-        }
-
-        return of(() -> new Iterator<>() {
+        return derive(() -> new Iterator<>() {
             final Iterator<T> iterator = source.iterator();
             private Iterator<? extends R> currentIterator = Collections.emptyIterator();
             private boolean hasNextComputed;
@@ -597,14 +940,28 @@ public class ListStream<T> {
                 hasNextResult = currentIterator.hasNext();
                 hasNextComputed = true;
             }
-        });
+        },
+                sink -> elem -> {
+                    if (elem != null) {
+                        final Iterable<? extends R> iterable = mapper.apply(elem);
+                        if (iterable != null) {
+                            for (R r : iterable) {
+                                sink.accept(r);
+                            }
+                        }
+                    }
+                });
     }
 
     //  zip(other): 将两个列表的元素按位置配对，生成一个Pair的列表。
 
     public <U> ListPair<T, U, Pair<T, U>> zip(Iterable<U> other) {
         Objects.requireNonNull(other, "list cannot be null");
-        return ListPair.of(() -> new Iterator<>() {
+        // 两边个数都已知时取较小者
+        final IntSupplier size = knownSize;
+        final IntSupplier zipSize = size != null && other instanceof Collection<?> collection
+                ? () -> Math.min(size.getAsInt(), collection.size()) : null;
+        return new ListPair<>(() -> new Iterator<>() {
             final Iterator<T> it1 = source.iterator();
             final Iterator<U> it2 = other.iterator();
 
@@ -620,13 +977,14 @@ public class ListStream<T> {
                 }
                 return Pair.of(it1.next(), it2.next());
             }
-        });
+        }, zipSize);
     }
 
     //  unzip(): 将一个Pair列表解构为两个列表（第一个元素一个列表，第二个元素一个列表）。
     public final <A, B> Pair<List<A>, List<B>> unzip() {
-        final List<A> firstElements = new ArrayList<>();
-        final List<B> secondElements = new ArrayList<>();
+        final int capacity = initialCapacity();
+        final List<A> firstElements = new ArrayList<>(capacity);
+        final List<B> secondElements = new ArrayList<>(capacity);
 
         // 遍历原始 ListStream，并解构每个 Pair
         for (final T element : source) {
@@ -645,6 +1003,40 @@ public class ListStream<T> {
         return Pair.of(firstElements, secondElements);
     }
 
+    //  mapToInt / mapToLong / mapToDouble: 映射为原始类型流，值存放在原始类型数组中，后续统计不装箱。
+
+    public IntListStream mapToInt(ToIntFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "mapper cannot be null");
+        final int capacity = initialCapacity();
+        return collect(() -> new IntListStream.Builder(capacity),
+                (builder, t) -> builder.add(mapper.applyAsInt(t)),
+                IntListStream.Builder::addAll).build();
+    }
+
+    public LongListStream mapToLong(ToLongFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "mapper cannot be null");
+        final int capacity = initialCapacity();
+        return collect(() -> new LongListStream.Builder(capacity),
+                (builder, t) -> builder.add(mapper.applyAsLong(t)),
+                LongListStream.Builder::addAll).build();
+    }
+
+    public DoubleListStream mapToDouble(ToDoubleFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "mapper cannot be null");
+        final int capacity = initialCapacity();
+        return collect(() -> new DoubleListStream.Builder(capacity),
+                (builder, t) -> builder.add(mapper.applyAsDouble(t)),
+                DoubleListStream.Builder::addAll).build();
+    }
+
+    // 收集结果时的初始容量：顺序执行且源头大小已知时直接预分配
+    private int initialCapacity() {
+        if (executor == null && knownSize != null) {
+            return knownSize.getAsInt();
+        }
+        return 16;
+    }
+
     // ====================================================================================
     // ====================================================================================
 
@@ -665,10 +1057,7 @@ public class ListStream<T> {
 
     public <S, E, R> R reduce(Supplier<R> supplier, Function<T, E> func, BiConsumer<R, E> consumer) {
         R r = supplier.get();
-        for (T t : source) {
-            E e = func.apply(t);
-            consumer.accept(r, e);
-        }
+        pipeline.forEach(t -> consumer.accept(r, func.apply(t)));
         return r;
     }
 
@@ -682,108 +1071,121 @@ public class ListStream<T> {
 
     public <R> R reduce(Supplier<R> func, BiConsumer<R, T> consumer) {
         R r = func.get();
-        for (T t : source) {
-            consumer.accept(r, t);
-        }
+        pipeline.forEach(t -> consumer.accept(r, t));
         return r;
     }
 
     public <E, R> List<R> reduceList(Function<T, E> func, BiConsumer<List<R>, E> consumer) {
         List<R> rs = new ArrayList<>();
-        for (T t : source) {
-            E e = func.apply(t);
-            consumer.accept(rs, e);
-        }
+        pipeline.forEach(t -> consumer.accept(rs, func.apply(t)));
         return rs;
     }
 
     public <R> List<R> reduceList(Function<T, R> func) {
         List<R> rs = new ArrayList<>();
-        for (T t : source) {
-            R e = func.apply(t);
-            rs.add(e);
-        }
+        pipeline.forEach(t -> rs.add(func.apply(t)));
         return rs;
     }
 
 
     public <E, R> Set<R> reduceSet(Function<T, E> func, BiConsumer<Set<R>, E> consumer) {
         Set<R> rs = new HashSet<>();
-        for (T t : source) {
-            E e = func.apply(t);
-            consumer.accept(rs, e);
-        }
+        pipeline.forEach(t -> consumer.accept(rs, func.apply(t)));
         return rs;
     }
 
     public <R> Set<R> reduceSet(Function<T, R> func) {
         Set<R> rs = new HashSet<>();
-        for (T t : source) {
-            R e = func.apply(t);
-            rs.add(e);
-        }
+        pipeline.forEach(t -> rs.add(func.apply(t)));
         return rs;
     }
 
     //  reduceIndexed { index, acc, value -> operation }: 类似reduce，但操作函数同时接收元素的索引。
 
 
+    // 函数与消费者两个重载参数个数相同，这里用块形式的 lambda 明确选择其中一个
     public <E, R> R reduceIndexed(Supplier<R> supplier, Function<T, E> func, BBiFunction<Integer, R, E, R> function) {
-        R r = supplier.get();
-        int index = 0;
-        for (T t : source) {
-            E e = func.apply(t);
-            r = function.apply(index++, r, e);
-        }
-        return r;
+        return reduceIndexedInt(supplier, func, (index, r, e) -> {
+            return function.apply(index, r, e);
+        });
     }
 
     public <S, E, R> R reduceIndexed(Supplier<R> supplier, Function<T, E> func, BBiConsumer<Integer, R, E> consumer) {
-        R r = supplier.get();
-        int index = 0;
-        for (T t : source) {
-            E e = func.apply(t);
-            consumer.accept(index++, r, e);
-        }
-        return r;
+        return reduceIndexedInt(supplier, func, (index, r, e) -> {
+            consumer.accept(index, r, e);
+        });
     }
 
     public <R> R reduceIndexed(Supplier<R> func, BBiFunction<Integer, R, T, R> function) {
-        R r = func.get();
-        int index = 0;
-        for (T t : source) {
-            r = function.apply(index++, r, t);
-        }
-        return r;
+        return reduceIndexedInt(func, (index, r, t) -> {
+            return function.apply(index, r, t);
+        });
     }
 
     public <R> R reduceIndexed(Supplier<R> func, BBiConsumer<Integer, R, T> consumer) {
-        R r = func.get();
-        int index = 0;
-        for (T t : source) {
-            consumer.accept(index++, r, t);
-        }
-        return r;
+        return reduceIndexedInt(func, (index, r, t) -> {
+            consumer.accept(index, r, t);
+        });
     }
 
     public <E, R> List<R> reduceIndexedList(Function<T, E> func, BBiConsumer<Integer, List<R>, E> consumer) {
-        List<R> rs = new ArrayList<>();
-        int index = 0;
-        for (T t : source) {
-            E e = func.apply(t);
-            consumer.accept(index++, rs, e);
-        }
-        return rs;
+        return reduceIndexedIntList(func, (index, rs, e) -> {
+            consumer.accept(index, rs, e);
+        });
     }
 
     public <E, R> Set<R> reduceIndexedSet(Function<T, E> func, BBiConsumer<Integer, Set<R>, E> consumer) {
-        Set<R> rs = new HashSet<>();
-        int index = 0;
+        return reduceIndexedIntSet(func, (index, rs, e) -> {
+            consumer.accept(index, rs, e);
+        });
+    }
+
+    //  reduceIndexedInt / reduceIndexedLong: 同 reduceIndexed，下标以基本类型传入，不装箱。
+    //  int 下标在元素个数超过 Integer.MAX_VALUE 时会溢出，此时使用 long 下标的版本
+
+    public <E, R> R reduceIndexedInt(Supplier<R> supplier, Function<T, E> func, IntObjObjFunction<R, E, R> function) {
+        return reduceIndexedLong(supplier, (index, r, t) -> {
+            return function.apply((int) index, r, func.apply(t));
+        });
+    }
+
+    public <E, R> R reduceIndexedInt(Supplier<R> supplier, Function<T, E> func, IntObjObjConsumer<R, E> consumer) {
+        return reduceIndexedLong(supplier, (index, r, t) -> {
+            consumer.accept((int) index, r, func.apply(t));
+        });
+    }
+
+    public <R> R reduceIndexedInt(Supplier<R> supplier, IntObjObjFunction<R, T, R> function) {
+        return reduceIndexedLong(supplier, (index, r, t) -> {
+            return function.apply((int) index, r, t);
+        });
+    }
+
+    public <R> R reduceIndexedInt(Supplier<R> supplier, IntObjObjConsumer<R, T> consumer) {
+        return reduceIndexedLong(supplier, (index, r, t) -> {
+            consumer.accept((int) index, r, t);
+        });
+    }
+
+    public <E, R> List<R> reduceIndexedIntList(Function<T, E> func, IntObjObjConsumer<List<R>, E> consumer) {
+        return reduceIndexedInt(ArrayList::new, func, consumer);
+    }
+
+    public <E, R> Set<R> reduceIndexedIntSet(Function<T, E> func, IntObjObjConsumer<Set<R>, E> consumer) {
+        return reduceIndexedInt(HashSet::new, func, consumer);
+    }
+
+    public <R> R reduceIndexedLong(Supplier<R> supplier, LongObjObjFunction<R, T, R> function) {
+        return foldIndexedLong(supplier.get(), function);
+    }
+
+    public <R> R reduceIndexedLong(Supplier<R> supplier, LongObjObjConsumer<R, T> consumer) {
+        R r = supplier.get();
+        long index = 0;
         for (T t : source) {
-            E e = func.apply(t);
-            consumer.accept(index++, rs, e);
+            consumer.accept(index++, r, t);
         }
-        return rs;
+        return r;
     }
 
     //  fold(initial) { acc, value -> operation }: 类似reduce，但可以提供一个初始值。
@@ -801,10 +1203,22 @@ public class ListStream<T> {
 
     public final <R> R foldIndexed(R initial, BBiFunction<Integer, R, T, R> operation) {
         Objects.requireNonNull(operation, "operation cannot be null");
+        return foldIndexedLong(initial, (index, acc, element) -> operation.apply((int) index, acc, element));
+    }
+
+    //  foldIndexedInt / foldIndexedLong: 同 foldIndexed，下标以基本类型传入，不装箱。
+
+    public final <R> R foldIndexedInt(R initial, IntObjObjFunction<R, T, R> operation) {
+        Objects.requireNonNull(operation, "operation cannot be null");
+        return foldIndexedLong(initial, (index, acc, element) -> operation.apply((int) index, acc, element));
+    }
+
+    public final <R> R foldIndexedLong(R initial, LongObjObjFunction<R, T, R> operation) {
+        Objects.requireNonNull(operation, "operation cannot be null");
 
         R accumulator = initial; // 初始化累加器
         Iterator<T> iterator = source.iterator();
-        int index = 0; // 初始化索引
+        long index = 0; // 初始化索引
 
         while (iterator.hasNext()) {
             T element = iterator.next();
@@ -817,48 +1231,54 @@ public class ListStream<T> {
 
 
     public double sumDouble(Function<T, Number> mapper) {
-        return sumBigDecimal(mapper).doubleValue();
+        return sumAccumulator(mapper).doubleValue();
     }
 
     public int sumInt(Function<T, Number> mapper) {
-        return sumBigDecimal(mapper).intValue();
+        return sumAccumulator(mapper).intValue();
     }
 
     public long sumLong(Function<T, Number> mapper) {
-        return sumBigDecimal(mapper).longValue();
+        return sumAccumulator(mapper).longValue();
     }
 
     public BigDecimal sumBigDecimal(Function<T, Number> mapper) {
-        BigDecimal sum = new BigDecimal("0.0");
-        for (T t : source) {
-            Number r = mapper.apply(t);
-            sum = sum.add(new BigDecimal(String.valueOf(r)));
-        }
-        return sum;
+        return sumAccumulator(mapper).toBigDecimal();
+    }
+
+    // 按类型分派累加，整数不经过 String/BigDecimal 转换
+    private NumberAccumulator sumAccumulator(Function<T, Number> mapper) {
+        return collect(NumberAccumulator::new,
+                (acc, t) -> acc.add(mapper.apply(t)),
+                NumberAccumulator::merge);
     }
 
     public Double sumDouble() {
-        return sumBigDecimal().doubleValue();
+        return sumAccumulator().doubleValue();
     }
 
     public Integer sumInt() {
-        return sumBigDecimal().intValue();
+        return sumAccumulator().intValue();
     }
 
     public Long sumLong() {
-        return sumBigDecimal().longValue();
+        return sumAccumulator().longValue();
     }
 
     public BigDecimal sumBigDecimal() {
-        BigDecimal sum = new BigDecimal("0.0");
-        for (T t : source) {
-            if (t instanceof Number) {
-                sum = sum.add(new BigDecimal(String.valueOf(t)));
-            } else {
-                throw new IllegalArgumentException("不是数字,不能计算");
-            }
-        }
-        return sum;
+        return sumAccumulator().toBigDecimal();
+    }
+
+    private NumberAccumulator sumAccumulator() {
+        return collect(NumberAccumulator::new,
+                (acc, t) -> {
+                    if (t instanceof Number number) {
+                        acc.add(number);
+                    } else {
+                        throw new IllegalArgumentException("不是数字,不能计算");
+                    }
+                },
+                NumberAccumulator::merge);
     }
 
     //  average(): 计算数字集合中所有元素的平均值。
@@ -875,27 +1295,20 @@ public class ListStream<T> {
     }
 
     public final BigDecimal averageBigDecimal(Function<T, Number> mapper) {
-        BigDecimal total = new BigDecimal("0.0");
-        BigDecimal count = BigDecimal.ZERO;
-
-        for (final T element : source) {
-            final Number number = mapper.apply(element);
-            if (number == null) {
-                continue;
-            } else if (element instanceof Number) {
-                total = total.add(new BigDecimal(String.valueOf(number)));
-                count = count.add(BigDecimal.ONE); // 计数
-            } else if (element != null) {
-                // 如果遇到非 Number 类型的元素，抛出异常
-                throw new IllegalStateException("Element is not a Number type when calculating average: " + element.getClass().getName() + " -> " + element);
-            }
-        }
-
-        if (count.equals(BigDecimal.ZERO)) {
-            return total; // 如果没有数字元素（空集合或只包含非数字元素），返回 NaN
-        } else {
-            return total.divide(count, 2, RoundingMode.HALF_UP); // 计算并返回平均值
-        }
+        return collect(NumberAccumulator::new,
+                (acc, element) -> {
+                    final Number number = mapper.apply(element);
+                    if (number == null) {
+                        return;
+                    }
+                    if (element instanceof Number) {
+                        acc.add(number);
+                    } else if (element != null) {
+                        // 如果遇到非 Number 类型的元素，抛出异常
+                        throw new IllegalStateException("Element is not a Number type when calculating average: " + element.getClass().getName() + " -> " + element);
+                    }
+                },
+                NumberAccumulator::merge).average();
     }
 
     //  average(): 计算数字集合中所有元素的平均值。
@@ -912,24 +1325,16 @@ public class ListStream<T> {
     }
 
     public final BigDecimal averageBigDecimal() {
-        BigDecimal total = new BigDecimal("0.0");
-        BigDecimal count = BigDecimal.ZERO;
-
-        for (final T element : source) {
-            if (element instanceof Number) {
-                total = total.add(new BigDecimal(String.valueOf(element)));
-                count = count.add(BigDecimal.ONE); // 计数
-            } else if (element != null) {
-                // 如果遇到非 Number 类型的元素，抛出异常
-                throw new IllegalStateException("Element is not a Number type when calculating average: " + element.getClass().getName() + " -> " + element);
-            }
-        }
-
-        if (count.equals(BigDecimal.ZERO)) {
-            return total; // 如果没有数字元素（空集合或只包含非数字元素），返回 NaN
-        } else {
-            return total.divide(count, 2, RoundingMode.HALF_UP); // 计算并返回平均值
-        }
+        return collect(NumberAccumulator::new,
+                (acc, element) -> {
+                    if (element instanceof Number number) {
+                        acc.add(number);
+                    } else if (element != null) {
+                        // 如果遇到非 Number 类型的元素，抛出异常
+                        throw new IllegalStateException("Element is not a Number type when calculating average: " + element.getClass().getName() + " -> " + element);
+                    }
+                },
+                NumberAccumulator::merge).average();
     }
     //  count(): 返回集合中的元素数量。
 
@@ -940,36 +1345,32 @@ public class ListStream<T> {
     }
 
     public long count() {
-        if (isEmpty()) {
-            return 0;
-        }
-        // 如果是Collection类型，直接返回size
-        if (source instanceof Collection) {
-            return ((Collection<?>) source).size();
+        // 元素个数已知（源头为集合，且之后只有 map/peek/sort/plus/windowed 等不改变个数或个数可推算的阶段）时直接返回
+        if (knownSize != null) {
+            return knownSize.getAsInt();
         }
         // 否则遍历计数
-        long count = 0;
-        for (T ignored : source) {
-            count++;
-        }
-        return count;
+        return collect(() -> new long[1],
+                (count, t) -> count[0]++,
+                (left, right) -> {
+                    left[0] += right[0];
+                    return left;
+                })[0];
     }
 
     //  count { predicate }: 返回满足给定条件的元素数量。
 
     @SafeVarargs
     public final long count(Predicate<T>... predicates) {
-        if (isEmpty()) {
-            return 0;
-        }
-        // 否则遍历计数
-        long count = 0;
-        for (T e : source) {
-            if (Arrays.stream(predicates).anyMatch(predicate -> predicate.test(e))) {
-                count++;
+        // 一次遍历计数，空流时不会调用任何条件
+        final Predicate<T> any = Predicates.or(predicates);
+        final long[] count = {0};
+        pipeline.forEach(e -> {
+            if (any.test(e)) {
+                count[0]++;
             }
-        }
-        return count;
+        });
+        return count[0];
     }
 
     //  maxOrNull(): 返回集合中的最大元素，如果为空则返回null。
@@ -1133,16 +1534,13 @@ public class ListStream<T> {
 
     public final <K, V> Map<K, V> associate(Function<T, Pair<K, V>> transform) {
         Objects.requireNonNull(transform, "transform function cannot be null");
-        Map<K, V> resultMap = new HashMap<>();
-        Iterator<T> iterator = source.iterator();
-
-        while (iterator.hasNext()) {
-            T element = iterator.next();
+        Map<K, V> resultMap = presizedMap();
+        pipeline.forEach(element -> {
             Pair<K, V> pair = transform.apply(element);
             if (pair != null) {
                 resultMap.put(pair.first, pair.second);
             }
-        }
+        });
         return resultMap;
     }
 
@@ -1150,14 +1548,9 @@ public class ListStream<T> {
 
     public final <K> Map<K, T> associateBy(Function<T, K> keySelector) {
         Objects.requireNonNull(keySelector, "keySelector cannot be null");
-        Map<K, T> resultMap = new HashMap<>();
-        Iterator<T> iterator = source.iterator();
-
-        while (iterator.hasNext()) {
-            T element = iterator.next();
-            K key = keySelector.apply(element);
-            resultMap.put(key, element); // 键是选择器结果，值是原始元素
-        }
+        Map<K, T> resultMap = presizedMap();
+        // 键是选择器结果，值是原始元素
+        pipeline.forEach(element -> resultMap.put(keySelector.apply(element), element));
         return resultMap;
     }
 
@@ -1165,14 +1558,9 @@ public class ListStream<T> {
 
     public final <V> Map<T, V> associateWith(Function<T, V> valueTransform) {
         Objects.requireNonNull(valueTransform, "valueTransform cannot be null");
-        Map<T, V> resultMap = new HashMap<>();
-        Iterator<T> iterator = source.iterator();
-
-        while (iterator.hasNext()) {
-            T element = iterator.next();
-            V value = valueTransform.apply(element);
-            resultMap.put(element, value); // 键是原始元素，值是转换函数结果
-        }
+        Map<T, V> resultMap = presizedMap();
+        // 键是原始元素，值是转换函数结果
+        pipeline.forEach(element -> resultMap.put(element, valueTransform.apply(element)));
         return resultMap;
     }
 
@@ -1196,50 +1584,175 @@ public class ListStream<T> {
             Function<T, V> valueMapper) {
         Objects.requireNonNull(keyMapper, "keyMapper cannot be null");
         Objects.requireNonNull(valueMapper, "valueMapper cannot be null");
+        // 枚举、Boolean 键由第一个键识别，按 ordinal 直接分桶
+        return new MapListStream<>(groupInto(() -> KeyBuckets.detecting(ArrayList::new), keyMapper, valueMapper).toMap());
+    }
 
-        Map<K, List<V>> result = new HashMap<>();
-        if (isEmpty()) {
-            return new MapListStream<>(result);
-        }
+    /**
+     * 按给定的取值域分组：键在域中时按域下标直接分桶，不计算哈希。
+     * 结果先按域的顺序包含域中的每个键（没有元素的键对应空列表），域以外的键按首次出现的顺序排在后面
+     */
+    @SafeVarargs
+    public final <K> MapListStream<K, T> groupBy(Function<T, K> keyMapper, K... domain) {
+        Objects.requireNonNull(keyMapper, "keyMapper cannot be null");
+        final KeyDomain keyDomain = KeyDomain.of(domain);
+        return new MapListStream<>(groupInto(() -> KeyBuckets.of(ArrayList::new, keyDomain), keyMapper, Function.identity()).toMap());
+    }
 
-        for (T element : source) {
-            if (element != null) {
-                K key = keyMapper.apply(element);
-                V value = valueMapper.apply(element);
-                result.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
-            }
-        }
-        return new MapListStream<>(result);
+    /**
+     * 同 groupBy，结果使用紧凑存储：所有分组的值放在一个连续数组中，按偏移划分，不为每组创建 ArrayList。
+     * 适合分组很多、每组元素较少的场景；toMap()/getValues() 返回只读视图
+     */
+    public <K> MapListStream<K, T> groupByCompact(Function<T, K> keyMapper) {
+        return groupByCompact(keyMapper, Function.identity());
+    }
+
+    public <K, V> MapListStream<K, V> groupByCompact(
+            Function<T, K> keyMapper,
+            Function<T, V> valueMapper) {
+        Objects.requireNonNull(keyMapper, "keyMapper cannot be null");
+        Objects.requireNonNull(valueMapper, "valueMapper cannot be null");
+        // 并行时每个分段各自创建，只在顺序执行时按元素个数预分配
+        final IntSupplier size = executor == null ? knownSize : null;
+        final CompactGroups.Builder<K, V> builder = collect(
+                () -> size == null ? new CompactGroups.Builder<>() : new CompactGroups.Builder<>(size.getAsInt()),
+                (b, element) -> {
+                    if (element != null) {
+                        b.add(keyMapper.apply(element), valueMapper.apply(element));
+                    }
+                },
+                CompactGroups.Builder::merge);
+        return new MapListStream<>(builder.build().asMap());
+    }
+
+    // 把元素的值追加到键对应的列表，并行时右侧分段追加到左侧对应分组末尾
+    private <K, V> KeyBuckets<K, List<V>> groupInto(
+            Supplier<KeyBuckets<K, List<V>>> supplier,
+            Function<T, K> keyMapper,
+            Function<T, V> valueMapper) {
+        return collect(supplier,
+                (buckets, element) -> {
+                    if (element != null) {
+                        K key = keyMapper.apply(element);
+                        V value = valueMapper.apply(element);
+                        buckets.bucket(key).add(value);
+                    }
+                },
+                (left, right) -> left.merge(right, (l, r) -> {
+                    l.addAll(r);
+                    return l;
+                }));
+    }
+
+    //  groupByInt / groupByLong: 键为 int/long 的分组，键不装箱，键的取值范围较窄时自动使用数组分桶。
+
+    /**
+     * 按 int 键分组，结果按键首次出现的顺序遍历，可以用 MapListStream.ofInt 转回 MapListStream
+     */
+    public IntObjectMap<List<T>> groupByInt(ToIntFunction<T> keyMapper) {
+        return groupByInt(keyMapper, Function.identity());
+    }
+
+    public <V> IntObjectMap<List<V>> groupByInt(ToIntFunction<T> keyMapper, Function<T, V> valueMapper) {
+        Objects.requireNonNull(keyMapper, "keyMapper cannot be null");
+        Objects.requireNonNull(valueMapper, "valueMapper cannot be null");
+        return collect(IntObjectMap::new,
+                (map, element) -> {
+                    if (element != null) {
+                        map.computeIfAbsent(keyMapper.applyAsInt(element), k -> new ArrayList<>()).add(valueMapper.apply(element));
+                    }
+                },
+                (left, right) -> {
+                    // 右侧分段在遇到顺序上靠后，追加到左侧对应分组末尾
+                    right.forEach((key, values) -> left.merge(key, values, (l, r) -> {
+                        l.addAll(r);
+                        return l;
+                    }));
+                    return left;
+                });
+    }
+
+    /**
+     * 按 long 键分组，结果按键首次出现的顺序遍历，可以用 MapListStream.ofLong 转回 MapListStream
+     */
+    public LongObjectMap<List<T>> groupByLong(ToLongFunction<T> keyMapper) {
+        return groupByLong(keyMapper, Function.identity());
+    }
+
+    public <V> LongObjectMap<List<V>> groupByLong(ToLongFunction<T> keyMapper, Function<T, V> valueMapper) {
+        Objects.requireNonNull(keyMapper, "keyMapper cannot be null");
+        Objects.requireNonNull(valueMapper, "valueMapper cannot be null");
+        return collect(LongObjectMap::new,
+                (map, element) -> {
+                    if (element != null) {
+                        map.computeIfAbsent(keyMapper.applyAsLong(element), k -> new ArrayList<>()).add(valueMapper.apply(element));
+                    }
+                },
+                (left, right) -> {
+                    right.forEach((key, values) -> left.merge(key, values, (l, r) -> {
+                        l.addAll(r);
+                        return l;
+                    }));
+                    return left;
+                });
+    }
+
+    /**
+     * 统计每个 int 键的元素个数，null 元素不计入
+     */
+    public IntIntMap countByInt(ToIntFunction<T> keyMapper) {
+        Objects.requireNonNull(keyMapper, "keyMapper cannot be null");
+        return collect(IntIntMap::new,
+                (map, element) -> {
+                    if (element != null) {
+                        map.addTo(keyMapper.applyAsInt(element), 1);
+                    }
+                },
+                (left, right) -> {
+                    right.forEach(left::addTo);
+                    return left;
+                });
+    }
+
+    //  groupingBy { keySelector }: 返回一个Grouping对象，用于更复杂的聚合操作，如eachCount()、fold()等。
+
+    public <S, A, V> MapStream<S, V> groupingBy(
+            Function<T, S> keyMapper,
+            Collector<T, A, V> collector
+    ) {
+        // 枚举、Boolean 键由第一个键识别，按 ordinal 直接分桶
+        return groupingBy(keyMapper, collector, () -> KeyBuckets.detecting(collector.supplier()));
+    }
+
+    /**
+     * 按给定的取值域分组并归约，域中没有元素的键也包含在结果中（归约空分组的结果），键的顺序同 groupBy(keyMapper, domain)
+     */
+    @SafeVarargs
+    public final <S, A, V> MapStream<S, V> groupingBy(
+            Function<T, S> keyMapper,
+            Collector<T, A, V> collector,
+            S... domain
+    ) {
+        final KeyDomain keyDomain = KeyDomain.of(domain);
+        return groupingBy(keyMapper, collector, () -> KeyBuckets.of(collector.supplier(), keyDomain));
     }
 
-    //  groupingBy { keySelector }: 返回一个Grouping对象，用于更复杂的聚合操作，如eachCount()、fold()等。
-
-    public <S, A, V> MapStream<S, V> groupingBy(
+    private <S, A, V> MapStream<S, V> groupingBy(
             Function<T, S> keyMapper,
-            Collector<T, A, V> collector
+            Collector<T, A, V> collector,
+            Supplier<KeyBuckets<S, A>> supplier
     ) {
         // 获取collector的组件
-        Supplier<A> supplier = collector.supplier();
         BiConsumer<A, T> accumulator = collector.accumulator();
-        Function<A, V> finisher = collector.finisher();
+        BinaryOperator<A> combiner = collector.combiner();
 
         // 同时进行分组和累加，避免两次遍历
-        Map<S, A> accumulatorMap = new HashMap<>();
-        for (T element : source) {
-            S key = keyMapper.apply(element);
-            // 获取或创建累加器
-            A acc = accumulatorMap.computeIfAbsent(key, k -> supplier.get());
-            // 直接累加元素
-            accumulator.accept(acc, element);
-        }
+        KeyBuckets<S, A> buckets = collect(supplier,
+                (b, element) -> accumulator.accept(b.bucket(keyMapper.apply(element)), element),
+                (left, right) -> left.merge(right, combiner));
 
         // 对每个分组应用finisher得到最终结果
-        Map<S, V> finalResult = new HashMap<>(accumulatorMap.size());
-        for (Map.Entry<S, A> entry : accumulatorMap.entrySet()) {
-            finalResult.put(entry.getKey(), finisher.apply(entry.getValue()));
-        }
-
-        return new MapStream<>(finalResult);
+        return new MapStream<>(buckets.toMap(collector.finisher()));
     }
 
 
@@ -1265,9 +1778,14 @@ public class ListStream<T> {
 
     @SafeVarargs
     public final boolean anyMatch(Predicate<T>... predicates) {
-        Iterable<T> filteredIterable = createFilteredIterable(elem ->
-                Arrays.stream(predicates).anyMatch(predicate -> predicate.test(elem)));
-        return of(filteredIterable).isNotEmpty();
+        // 直接遍历，遇到第一个满足的元素即返回
+        final Predicate<T> any = Predicates.or(predicates);
+        for (T elem : source) {
+            if (any.test(elem)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     //  all { predicate }: 检查集合中是否所有元素都满足给定条件。
@@ -1279,9 +1797,14 @@ public class ListStream<T> {
 
     @SafeVarargs
     public final boolean allMatch(Predicate<T>... predicates) {
-        Iterable<T> filteredIterable = createFilteredIterable(elem ->
-                Arrays.stream(predicates).allMatch(predicate -> predicate.test(elem)));
-        return of(filteredIterable).isNotEmpty();
+        // 直接遍历，遇到第一个同时满足所有条件的元素即返回
+        final Predicate<T> all = Predicates.and(predicates);
+        for (T elem : source) {
+            if (all.test(elem)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     //  none(): 检查集合是否不包含任何元素。
@@ -1300,9 +1823,7 @@ public class ListStream<T> {
 
     @SafeVarargs
     public final boolean noneMatch(Predicate<T>... predicates) {
-        Iterable<T> filteredIterable = createFilteredIterable(elem ->
-                Arrays.stream(predicates).anyMatch(predicate -> predicate.test(elem)));
-        return of(filteredIterable).isEmpty();
+        return !anyMatch(predicates);
     }
 
     //  contains(element): 检查集合是否包含指定元素。
@@ -1326,13 +1847,14 @@ public class ListStream<T> {
             return true; // 如果要检查的集合是空的，则认为当前集合包含所有其元素
         }
 
-        for (T elementToFind : elements) {
-            // 对 elements 中的每个元素，检查它是否在当前的 ListStream 中
-            if (!this.contains(elementToFind)) { // 内部会调用上面实现的 contains(element)
-                return false; // 只要有一个元素不存在，就返回 false
+        // 只遍历一次：把要查找的元素放进集合，遇到一个就移除一个，全部找到时提前返回
+        final Set<T> remaining = new HashSet<>(elements);
+        for (T current : source) {
+            if (remaining.remove(current) && remaining.isEmpty()) {
+                return true;
             }
         }
-        return true; // 所有元素都存在，返回 true
+        return false; // 遍历完仍有元素没有找到
     }
 
     //  isEmpty(): 检查集合是否为空。
@@ -1342,19 +1864,15 @@ public class ListStream<T> {
             return true;
         }
 
-        // 如果是Collection类型，直接使用isEmpty()方法
-        if (source instanceof Collection) {
-            return ((Collection<?>) source).isEmpty();
+        // 元素个数已知时直接判断
+        if (knownSize != null) {
+            return knownSize.getAsInt() == 0;
         }
 
         // 如果是普通Iterable，检查是否有第一个元素
         return !source.iterator().hasNext();
     }
 
-    private boolean isNotEmpty() {
-        return !isEmpty();
-    }
-
     //  single(): 返回集合中唯一的元素，如果集合为空或包含多个元素则抛出异常。
     public final T single() {
         Iterator<T> iterator = source.iterator();
@@ -1410,8 +1928,9 @@ public class ListStream<T> {
     @SafeVarargs
     public final T first(Predicate<T>... predicates) {
         Objects.requireNonNull(predicates);
+        final Predicate<T> all = Predicates.and(predicates);
         for (final T t : source) {
-            if (Arrays.stream(predicates).allMatch(predicate -> predicate.test(t))) {
+            if (all.test(t)) {
                 return t;
             }
         }
@@ -1444,12 +1963,7 @@ public class ListStream<T> {
     //  last(): 返回集合中的最后一个元素，如果为空则抛出异常。
 
     public T last() {
-        Iterator<T> iterator = source.iterator();
-
-        T next = null;
-        while (iterator.hasNext()) {
-            next = iterator.next();
-        }
+        T next = lastOrNull();
 
         if (next == null) {
             throw new IllegalCallerException("无法找到参数");
@@ -1462,13 +1976,7 @@ public class ListStream<T> {
 
     @SafeVarargs
     public final T last(Predicate<T>... predicates) {
-        Objects.requireNonNull(predicates);
-        T next = null;
-        for (final T temp : source) {
-            if (Arrays.stream(predicates).allMatch(predicate -> predicate.test(temp))) {
-                next = temp;
-            }
-        }
+        T next = lastOrNull(predicates);
 
         if (next == null) {
             throw new IllegalCallerException("无法找到参数");
@@ -1480,6 +1988,11 @@ public class ListStream<T> {
     //  lastOrNull(): 返回集合中的最后一个元素，如果为空则返回null。
 
     public T lastOrNull() {
+        // 可以从末尾遍历时直接取最后一个
+        Iterator<T> descending = descendingIterator(source);
+        if (descending != null) {
+            return descending.hasNext() ? descending.next() : null;
+        }
         Iterator<T> iterator = source.iterator();
 
         T next = null;
@@ -1495,9 +2008,21 @@ public class ListStream<T> {
     @SafeVarargs
     public final T lastOrNull(Predicate<T>... predicates) {
         Objects.requireNonNull(predicates);
+        final Predicate<T> all = Predicates.and(predicates);
+        // 可以从末尾遍历时逆向查找，遇到第一个满足的即返回
+        Iterator<T> descending = descendingIterator(source);
+        if (descending != null) {
+            while (descending.hasNext()) {
+                T temp = descending.next();
+                if (all.test(temp)) {
+                    return temp;
+                }
+            }
+            return null;
+        }
         T next = null;
         for (final T temp : source) {
-            if (Arrays.stream(predicates).allMatch(predicate -> predicate.test(temp))) {
+            if (all.test(temp)) {
                 next = temp;
             }
         }
@@ -1530,18 +2055,15 @@ public class ListStream<T> {
     // ================================ 排序 (Ordering)  ==================================
     // ====================================================================================
     //  sorted(): 返回一个新列表，按元素的自然顺序升序排序。
+    //  排序是延迟执行的（见 SortedList）：元素不是 Comparable 时的 ClassCastException、比较器或键提取函数抛出的异常
+    //  不在 sorted()/sort(...) 调用时抛出，而是在 toList()、forEach 等终结操作或首次访问元素时抛出，sort 的各个重载相同
     public final ListStream<T> sorted() {
-        // 1. 将所有元素收集到一个临时列表中
-        List<T> tempList = toList();
-
-        // 2. 对列表进行自然顺序升序排序
-        // 这里会要求 T 是 Comparable 类型，否则编译会报错。
-        // 如果你的 T 肯定都是 Comparable 类型，可以这样写。
-        // 如果不确定，或者想更通用，请看下面的 "补充说明"。
-        Collections.sort((List<Comparable>) tempList); // 强制转换为List<Comparable>，以便调用sort方法
-
-        // 3. 返回一个新的ListStream，包含排序后的元素
-        return ListStream.of(tempList);
+        // 已经按自然顺序排好序时直接返回
+        if (hasCharacteristics(Spliterator.SORTED)) {
+            return this;
+        }
+        // 比较器为 null 时按自然顺序排序，要求 T 是 Comparable 类型，否则在终结操作时抛出 ClassCastException
+        return sortBy(null, null);
     }
 
     //  sortedDescending(): 返回一个新列表，按元素的自然顺序降序排序。
@@ -1559,11 +2081,11 @@ public class ListStream<T> {
 
     @SuppressWarnings("unused")
     public ListStream<T> sort(Comparator<T> comparator) {
-        // 转换为List以进行排序
-        List<T> sortedList = toList();
         // 执行排序
-        sortedList.sort(comparator);
-        return of(sortedList);
+        if (comparator instanceof KeyComparator<T, ?> keyComparator) {
+            return sortBy(comparator, List.of(keyComparator));
+        }
+        return sortBy(comparator, null);
     }
 
     public <U extends Comparable<? super U>> ListStream<T> sort(
@@ -1588,22 +2110,13 @@ public class ListStream<T> {
         Objects.requireNonNull(order, "order cannot be null");
         Objects.requireNonNull(nullPosition, "nullPosition cannot be null");
 
-        if (isEmpty()) {
-            return this;
-        }
-
         SortStream<T> sortStream = new SortStream<>();
 
-        // 转换为List以进行排序
-        List<T> sortedList = toList();
-
         // 创建比较器
         Comparator<T> comparator = sortStream.createComparator(keyExtractor, order, nullPosition);
 
-        // 执行排序
-        sortedList.sort(comparator);
-
-        return of(sortedList);
+        // 执行排序：每个元素只提取一次键
+        return sortBy(comparator, List.of((KeyComparator<T, ?>) comparator));
     }
 
     /**
@@ -1614,28 +2127,55 @@ public class ListStream<T> {
     @SafeVarargs
     public final <U extends Comparable<? super U>> ListStream<T> sort(Function<SortStream<T>, Comparator<T>>... streamOperation) {
 
-        if (isEmpty()) {
-            return this;
-        }
-
-        // 转换为List以进行排序
-        List<T> sortedList = toList();
-
         Comparator<T> comparator = null;
+        // 全部由 createComparator 创建时，先提取所有键再排序
+        List<KeyComparator<T, ?>> keyComparators = new ArrayList<>(streamOperation.length);
         for (Function<SortStream<T>, Comparator<T>> comparatorFunction : streamOperation) {
-            if (comparator == null) {
-                comparator = comparatorFunction.apply(new SortStream<>());
+            Comparator<T> next = comparatorFunction.apply(new SortStream<>());
+            if (keyComparators != null && next instanceof KeyComparator<T, ?> keyComparator) {
+                keyComparators.add(keyComparator);
             } else {
-                comparator = comparator.thenComparing(comparatorFunction.apply(new SortStream<>()));
+                keyComparators = null;
             }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
         }
 
         // 执行排序
-        sortedList.sort(comparator);
+        return sortBy(comparator, keyComparators);
+    }
+
+
+    /**
+     * 排序的统一实现：返回延迟排序的列表，首次访问时复制到数组再排序，不修改源集合。
+     * 元素个数达到 parallelSortThreshold 或处于 parallel() 模式时使用 Arrays.parallelSort；
+     * 排序前接 take(n) 时改为用堆选出前 n 个，见 {@link SortedList}。
+     * 排序中的异常（ClassCastException、比较器抛出的异常）在首次访问元素时抛出，而不是在这里
+     *
+     * @param comparator     比较器，为 null 时按自然顺序
+     * @param keyComparators 不为 null 时先提取键再排序
+     */
+    private ListStream<T> sortBy(Comparator<? super T> comparator, List<KeyComparator<T, ?>> keyComparators) {
+        // 排序不改变元素个数与唯一性，只有按自然顺序排序时才是 SORTED
+        int sortedCharacteristics = characteristics & (Spliterator.DISTINCT | Spliterator.NONNULL);
+        if (comparator == null) {
+            sortedCharacteristics |= Spliterator.SORTED;
+        }
+        return derive(new SortedList<>(this, comparator, keyComparators), sortedCharacteristics, knownSize);
+    }
 
-        return of(sortedList);
+    /**
+     * 设置自动切换为并行排序的元素个数阈值，Integer.MAX_VALUE 表示只在 parallel() 模式下并行排序
+     */
+    public static void setParallelSortThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        parallelSortThreshold = threshold;
     }
 
+    public static int getParallelSortThreshold() {
+        return parallelSortThreshold;
+    }
 
     /**
      * 简化版排序方法 - 升序，空值在最后
@@ -1645,6 +2185,51 @@ public class ListStream<T> {
         return sort(keyExtractor, Sort.Asc, Sort.NullLast);
     }
 
+    /**
+     * 按键降序取前 n 个元素，空值在最后，结果与 sortDesc(keyExtractor).take(n) 一致
+     */
+    public <U extends Comparable<? super U>> ListStream<T> topK(
+            int n, Function<? super T, ? extends U> keyExtractor) {
+        return topK(n, keyExtractor, Sort.NullLast);
+    }
+
+    /**
+     * 按键降序取前 n 个元素，使用大小为 n 的堆，不对全部元素排序
+     *
+     * @param n            元素个数
+     * @param keyExtractor 键提取函数
+     * @param nullPosition 空值位置（前/后），与 SortStream.createComparator 规则一致
+     * @return 结果与 sort(keyExtractor, Sort.Desc, nullPosition).take(n) 一致，相同键保持原有顺序
+     */
+    public <U extends Comparable<? super U>> ListStream<T> topK(
+            int n, Function<? super T, ? extends U> keyExtractor, Sort nullPosition) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be non-negative");
+        }
+        return sort(keyExtractor, Sort.Desc, nullPosition).take(n);
+    }
+
+    /**
+     * 按键升序取前 n 个元素，空值在最后，结果与 sortAsc(keyExtractor).take(n) 一致
+     */
+    public <U extends Comparable<? super U>> ListStream<T> bottomK(
+            int n, Function<? super T, ? extends U> keyExtractor) {
+        return bottomK(n, keyExtractor, Sort.NullLast);
+    }
+
+    /**
+     * 按键升序取前 n 个元素，使用大小为 n 的堆，不对全部元素排序
+     *
+     * @return 结果与 sort(keyExtractor, Sort.Asc, nullPosition).take(n) 一致，相同键保持原有顺序
+     */
+    public <U extends Comparable<? super U>> ListStream<T> bottomK(
+            int n, Function<? super T, ? extends U> keyExtractor, Sort nullPosition) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be non-negative");
+        }
+        return sort(keyExtractor, Sort.Asc, nullPosition).take(n);
+    }
+
     //  shuffled(): 返回一个随机排列的新列表。
 
     public final ListStream<T> shuffled() {
@@ -1655,16 +2240,51 @@ public class ListStream<T> {
         Collections.shuffle(tempList);
 
         // 3. 返回一个新的ListStream，包含洗牌后的元素
-        return ListStream.of(tempList);
+        return derive(tempList);
     }
 
     //  reversed(): 返回一个元素顺序颠倒的新列表。
 
     public ListStream<T> reversed() {
-        // 反转列表
-        List<T> list = toList();
-        Collections.reverse(list);
-        return of(list);
+        // 逆序后不再是升序，个数与唯一性不变
+        final int reversedCharacteristics = characteristics & (Spliterator.DISTINCT | Spliterator.NONNULL);
+        // RandomAccess 列表：O(1) 的逆序视图，不复制也不修改源列表
+        if (source instanceof List<T> list && source instanceof RandomAccess) {
+            return derive(ReversedList.of(list), reversedCharacteristics, knownSize);
+        }
+        // 其他可以从末尾遍历的源头（LinkedList、Deque、NavigableSet）：直接逆向迭代
+        if (descendingIterator(source) != null) {
+            return derive(() -> descendingIterator(source), reversedCharacteristics, knownSize);
+        }
+        // 否则每次遍历时先收集到新列表再逆向读取
+        return derive(() -> descendingIterator(toList()), reversedCharacteristics, knownSize);
+    }
+
+    /**
+     * 源头可以从末尾开始遍历时返回逆向的迭代器，否则返回 null
+     */
+    private static <E> Iterator<E> descendingIterator(Iterable<E> iterable) {
+        if (iterable instanceof List<E> list) {
+            final ListIterator<E> iterator = list.listIterator(list.size());
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasPrevious();
+                }
+
+                @Override
+                public E next() {
+                    return iterator.previous();
+                }
+            };
+        }
+        if (iterable instanceof Deque<E> deque) {
+            return deque.descendingIterator();
+        }
+        if (iterable instanceof NavigableSet<E> set) {
+            return set.descendingIterator();
+        }
+        return null;
     }
 
     // ====================================================================================
@@ -1680,8 +2300,8 @@ public class ListStream<T> {
         if (source instanceof Set<T>) {
             return (Set<T>) source;
         }
-        Set<T> result = new HashSet<>();
-        source.forEach(result::add);
+        Set<T> result = knownSize == null ? new HashSet<>() : new HashSet<>((int) (knownSize.getAsInt() / .75f) + 1);
+        pipeline.forEach(result::add);
         return result;
     }
 
@@ -1689,12 +2309,25 @@ public class ListStream<T> {
 
     public List<T> toList() {
         // 如果是Collection类型，直接返回size
+        if (source instanceof SortedList<T> sortedList) {
+            // 延迟排序在这里执行，返回排好序的列表
+            return sortedList.toSortedList();
+        }
+        if (source instanceof ListRange<T> || source instanceof ReversedList<T>) {
+            // 区间视图、逆序视图是只读的，复制一份
+            return new ArrayList<>((List<T>) source);
+        }
         if (source instanceof List<T>) {
             return (List<T>) source;
         }
-        List<T> result = new ArrayList<>();
-        source.forEach(result::add);
-        return result;
+        if (source instanceof CachedIterable<T> cached) {
+            return cached.toList();
+        }
+        final int capacity = initialCapacity();
+        return collect(() -> new ArrayList<>(capacity), List::add, (left, right) -> {
+            left.addAll(right);
+            return left;
+        });
     }
 
     //  toMutableList(): 将集合转换为一个可变的MutableList。
@@ -1708,7 +2341,7 @@ public class ListStream<T> {
 
     public String joinToString(CharSequence symbol) {
         StringJoiner sb = new StringJoiner(symbol);
-        for (T t : source) {
+        pipeline.forEach(t -> {
             if (t instanceof CharSequence) {
                 sb.add((CharSequence) t);
             } else {
@@ -1716,7 +2349,7 @@ public class ListStream<T> {
                     sb.add(t.toString());
                 }
             }
-        }
+        });
         return sb.toString();
     }
 
@@ -1820,7 +2453,7 @@ public class ListStream<T> {
     //  plus(element) / plus(elements): 返回一个包含原集合元素和新元素的集合。
 
     public final ListStream<T> plus(T element) {
-        return ListStream.of(() -> new Iterator<>() {
+        return derive(() -> new Iterator<>() {
             final Iterator<T> sourceIterator = source.iterator(); // 原始集合的迭代器
             boolean elementAdded = false; // 标记新元素是否已经返回
             T nextElement;
@@ -1869,13 +2502,13 @@ public class ListStream<T> {
                 hasNextResult = false;
                 hasNextComputed = true;
             }
-        });
+        }, 0, sizeMapped(size -> size + 1));
     }
 
     @SafeVarargs
     public final ListStream<T> plus(Iterable<T>... others) {
         Objects.requireNonNull(others, "list cannot be null");
-        return ListStream.of(() -> new Iterator<>() {
+        return derive(() -> new Iterator<>() {
             final int endIndex = others.length - 1;
             final Iterator<T> iterator = source.iterator();
             int index = 0;
@@ -1932,14 +2565,14 @@ public class ListStream<T> {
                 hasNextResult = false;
                 hasNextComputed = true;
             }
-        });
+        }, 0, sizePlus(others));
     }
 
 
     //  minus(element) / minus(elements): 返回一个移除指定元素的集合。
 
     public final ListStream<T> minus(T element) {
-        return ListStream.of(() -> new Iterator<>() {
+        return derive(() -> new Iterator<>() {
             final Iterator<T> iterator = source.iterator();
             T nextElement;
             boolean hasNextComputed = false;
@@ -1984,7 +2617,7 @@ public class ListStream<T> {
     @SafeVarargs
     public final ListStream<T> minus(Iterable<T>... elementsToRemove) {
         // 将所有要移除的元素收集到一个Set中，以便高效查找
-        Set<T> removalSet = new HashSet<>();
+        OpenHashSet removalSet = new OpenHashSet();
 
         if (elementsToRemove != null) {
             for (Iterable<T> iterable : elementsToRemove) {
@@ -1994,7 +2627,7 @@ public class ListStream<T> {
             }
         }
 
-        return ListStream.of(() -> new Iterator<>() {
+        return derive(() -> new Iterator<>() {
             final Iterator<T> iterator = source.iterator();
             T nextElement;
             boolean hasNextComputed = false;
@@ -2052,30 +2685,55 @@ public class ListStream<T> {
     }
 
     public void split(int size, Consumer<List<T>> consumer) {
-        List<List<T>> parts = new ArrayList<>();
+        // 每个块装满后立即交给 consumer，不在内存中保留全部分块
         int i = 0;
         List<T> temp = null;
         for (T t : source) {
-            if (temp == null || i % size == 0) {
+            if (temp == null) {
                 temp = new ArrayList<>(size);
-                parts.add(temp);
             }
             temp.add(t);
-            ++i;
+            if (++i % size == 0) {
+                consumer.accept(temp);
+                temp = null;
+            }
+        }
+        if (temp != null) {
+            consumer.accept(temp);
         }
+    }
+
+    //  chunkedParallel(size, parallelism, consumer): 分块后在线程池中并行执行 consumer，适合分批写库。
+    //  调用线程负责拉取元素组装分块，在途的块最多 parallelism 个，达到上限时等待，内存中最多保留 parallelism + 1 个块。
+    //  使用 parallel(executor) 指定的线程池，未指定时使用 ForkJoinPool.commonPool()；阻塞 IO 建议传入专用线程池。
+    //  ordered 为 true 时只有最早提交的块完成后才提交新块，已完成的块始终是连续的前缀；
+    //  failFast 为 true 时第一个块失败后不再提交新块。所有在途的块结束后抛出第一个异常，其余异常作为 suppressed 附加
 
-        for (List<T> part : parts) {
-            consumer.accept(part);
+    public void chunkedParallel(int size, int parallelism, Consumer<List<T>> consumer) {
+        chunkedParallel(size, parallelism, false, true, consumer);
+    }
+
+    public void chunkedParallel(int size, int parallelism, boolean ordered, boolean failFast, Consumer<List<T>> consumer) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than 0: " + size);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be greater than 0: " + parallelism);
         }
+        Objects.requireNonNull(consumer, "consumer cannot be null");
+        ParallelChunks.run(source, size, parallelism, ordered, failFast,
+                executor != null ? executor : ForkJoinPool.commonPool(), consumer);
     }
 
     public List<List<T>> splitToList(int size) {
-        List<List<T>> parts = new ArrayList<>();
+        // 元素个数已知时预分配分组数，最后一组按剩余个数分配
+        final int total = size > 0 && knownSize != null ? knownSize.getAsInt() : -1;
+        List<List<T>> parts = total >= 0 ? new ArrayList<>((total + size - 1) / size) : new ArrayList<>();
         int i = 0;
         List<T> temp = null;
         for (T t : source) {
             if (temp == null || i % size == 0) {
-                temp = new ArrayList<>(size);
+                temp = new ArrayList<>(total >= 0 ? Math.max(0, Math.min(size, total - i)) : size);
                 parts.add(temp);
             }
             temp.add(t);
@@ -2095,7 +2753,7 @@ public class ListStream<T> {
             throw new IllegalArgumentException("Step must be greater than 0: " + step);
         }
 
-        return ListStream.of(() -> new Iterator<>() {
+        return derive(() -> new Iterator<>() {
             final Iterator<T> sourceIterator = source.iterator();
             // 使用 Deque 作为滑动窗口的内部存储，以便高效地添加和移除元素
             final Deque<T> window = new LinkedList<>();
@@ -2173,7 +2831,115 @@ public class ListStream<T> {
                 hasNextResult = false;
                 hasNextComputed = true;
             }
-        });
+        }, 0, sizeMapped(n -> windowCount(n, size, step, partialWindows)));
+    }
+
+    // 与上面的迭代器一致：step 大于 size 时按 size 滑动，不完整的窗口最多一个
+    private static int windowCount(int n, int size, int step, boolean partialWindows) {
+        final int slide = Math.min(step, size);
+        if (n < size) {
+            return partialWindows && n > 0 ? 1 : 0;
+        }
+        final int full = (n - size) / slide + 1;
+        final int rest = size - slide + (n - size) - (full - 1) * slide;
+        return partialWindows && rest > 0 ? full + 1 : full;
+    }
+
+    // 所有集合的元素个数都已知时返回总数
+    private IntSupplier sizePlus(Iterable<T>[] others) {
+        if (knownSize == null) {
+            return null;
+        }
+        for (Iterable<T> other : others) {
+            if (!(other instanceof Collection)) {
+                return null;
+            }
+        }
+        final IntSupplier size = knownSize;
+        return () -> {
+            long total = size.getAsInt();
+            for (Iterable<T> other : others) {
+                total += ((Collection<?>) other).size();
+            }
+            return (int) Math.min(total, Integer.MAX_VALUE);
+        };
+    }
+
+    //  windowedView(size, step, partialWindows): 与 windowed 的窗口相同，但每个窗口是源列表上的只读视图，不复制元素。
+    //  源头为 RandomAccess 列表时直接在源列表上切分，视图随源列表变化；否则每次遍历先收集一次再切分。
+    //  chunkedView(size): 不复制元素的分块，等价于 windowedView(size, size, true)
+
+    public final ListStream<List<T>> windowedView(int size, int step, boolean partialWindows) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Window size must be greater than 0: " + size);
+        }
+        if (step <= 0) {
+            throw new IllegalArgumentException("Step must be greater than 0: " + step);
+        }
+        // 与 windowed 一致：step 大于 size 时按 size 滑动
+        final int slide = Math.min(step, size);
+        return derive(() -> new Iterator<>() {
+            final List<T> list = randomAccessList();
+            final int n = list.size();
+            final int count = windowCount(n, size, step, partialWindows);
+            int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < count;
+            }
+
+            @Override
+            public List<T> next() {
+                if (index >= count) {
+                    throw new NoSuchElementException();
+                }
+                final int from = index++ * slide;
+                return ListRange.of(list, from, Math.min(n, from + size));
+            }
+        }, 0, sizeMapped(n -> windowCount(n, size, step, partialWindows)));
+    }
+
+    public final ListStream<List<T>> chunkedView(int size) {
+        return windowedView(size, size, true);
+    }
+
+    // 可按下标访问的列表：源头本身是 RandomAccess 列表时直接使用，否则收集一次
+    private List<T> randomAccessList() {
+        if (source instanceof List<T> list && source instanceof RandomAccess) {
+            return list;
+        }
+        final List<T> list = toList();
+        return list instanceof RandomAccess ? list : new ArrayList<>(list);
+    }
+
+    //  windowed(size, step, partialWindows, consumer): 与 windowed 的窗口相同，但只有一个基于环形缓冲区的只读视图，
+    //  每个窗口在 consumer 中复用这一个视图，滑动时不复制元素。视图只在回调期间有效，需要保留时自行复制。
+    //  源头为 RandomAccess 列表时直接传入源列表上的视图
+
+    public final void windowed(int size, int step, boolean partialWindows, Consumer<List<T>> consumer) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Window size must be greater than 0: " + size);
+        }
+        if (step <= 0) {
+            throw new IllegalArgumentException("Step must be greater than 0: " + step);
+        }
+        Objects.requireNonNull(consumer, "consumer cannot be null");
+        if (source instanceof List<T> && source instanceof RandomAccess) {
+            windowedView(size, step, partialWindows).forEach(consumer);
+            return;
+        }
+        final RingWindow<T> window = new RingWindow<>(size);
+        for (T t : source) {
+            window.addLast(t);
+            if (window.size() == size) {
+                consumer.accept(window);
+                window.removeFirst(Math.min(step, size));
+            }
+        }
+        if (partialWindows && window.size() > 0) {
+            consumer.accept(window);
+        }
     }
 
     // 提供带默认 step = 1 的重载方法
@@ -2192,13 +2958,14 @@ public class ListStream<T> {
         Tuple2<List<T>, List<T>> parts = new Tuple2<>();
         parts.t1 = new ArrayList<>();
         parts.t2 = new ArrayList<>();
-        for (T t : source) {
-            if (Arrays.stream(predicates).allMatch(predicate -> predicate.test(t))) {
+        final Predicate<T> all = Predicates.and(predicates);
+        pipeline.forEach(t -> {
+            if (all.test(t)) {
                 parts.t1.add(t);
             } else {
                 parts.t2.add(t);
             }
-        }
+        });
 
         return parts;
     }
@@ -2207,34 +2974,62 @@ public class ListStream<T> {
         List<List<T>> parts = new ArrayList<>();
         parts.add(new ArrayList<>());
         parts.add(new ArrayList<>());
-        for (T t : source) {
-            if (Arrays.stream(predicates).allMatch(predicate -> predicate.test(t))) {
+        final Predicate<T> all = Predicates.and(predicates);
+        pipeline.forEach(t -> {
+            if (all.test(t)) {
                 parts.get(0).add(t);
             } else {
                 parts.get(1).add(t);
             }
-        }
+        });
 
         return parts;
     }
 
     @SafeVarargs
     public final List<List<T>> partitionEveryOne(Predicate<T>... predicates) {
-        final int length = predicates.length;
-        List<List<T>> parts = new ArrayList<>(length);
-        for (int i = 0; i < length; i++) {
-            parts.add(new ArrayList<>());
-        }
-        for (T t : source) {
-            for (int i = 0; i < predicates.length; i++) {
-                final Predicate<T> predicate = predicates[i];
-                if (predicate.test(t)) {
-                    parts.get(i).add(t);
+        // 元素可以同时进入多个分组，每个条件都要判断；分组放在数组中按下标追加，不经过 List.get
+        final Predicate<T>[] tests = predicates.clone();
+        final List<T>[] buckets = newBuckets(tests.length);
+        pipeline.forEach(t -> {
+            for (int i = 0; i < tests.length; i++) {
+                if (tests[i].test(t)) {
+                    buckets[i].add(t);
                 }
             }
-        }
+        });
 
-        return parts;
+        return new ArrayList<>(Arrays.asList(buckets));
+    }
+
+    /**
+     * 按键把每个元素放入唯一的分组，一次遍历完成；结果与 domain 一一对应，元素的键必须在 domain 中，
+     * 否则抛出 IllegalArgumentException。枚举、Boolean 键按 ordinal 直接定位分组，不计算哈希
+     */
+    @SafeVarargs
+    public final <K> List<List<T>> partitionBy(Function<T, K> keyMapper, K... domain) {
+        Objects.requireNonNull(keyMapper, "keyMapper cannot be null");
+        final KeyDomain keyDomain = KeyDomain.of(domain);
+        final List<T>[] buckets = newBuckets(keyDomain.size());
+        pipeline.forEach(t -> {
+            final K key = keyMapper.apply(t);
+            final int slot = keyDomain.indexOf(key);
+            if (slot < 0) {
+                throw new IllegalArgumentException("key not in domain: " + key);
+            }
+            buckets[slot].add(t);
+        });
+
+        return new ArrayList<>(Arrays.asList(buckets));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T>[] newBuckets(int count) {
+        final List<T>[] buckets = new List[count];
+        for (int i = 0; i < count; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        return buckets;
     }
 
     // ====================================================================================
@@ -2268,23 +3063,63 @@ public class ListStream<T> {
         Objects.requireNonNull(valueMapper, "valueMapper cannot be null");
         Objects.requireNonNull(mergeFunction, "mergeFunction cannot be null");
 
-        if (isEmpty()) {
-            return new HashMap<>();
-        }
+        // 并行时每个分段各自创建 Map，只在顺序执行时预分配
+        Supplier<Map<K, V>> supplier = executor == null ? this::presizedMap : OpenHashMap::new;
+        return collect(supplier,
+                (map, element) -> {
+                    if (element != null) {
+                        K key = keyMapper.apply(element);
+                        if (key != null) {
+                            V value = valueMapper.apply(element);
+                            map.merge(key, value, mergeFunction);
+                        }
+                    }
+                },
+                (left, right) -> {
+                    right.forEach((key, value) -> left.merge(key, value, mergeFunction));
+                    return left;
+                });
+    }
 
-        Map<K, V> result = new HashMap<>();
-        for (T element : source) {
-            if (element != null) {
-                K key = keyMapper.apply(element);
-                if (key != null) {
-                    V value = valueMapper.apply(element);
-                    result.merge(key, value, mergeFunction);
-                }
-            }
-        }
-        return result;
+
+    /**
+     * 将元素转换为 int 键的 Map，值为元素本身，如果有重复的key，保留最后一个值
+     */
+    public IntObjectMap<T> toIntMap(ToIntFunction<T> keyMapper) {
+        return toIntMap(keyMapper, Function.identity());
+    }
+
+    /**
+     * 将元素转换为 int 键的 Map，使用valueMapper生成value，如果有重复的key，保留最后一个值
+     */
+    public <V> IntObjectMap<V> toIntMap(ToIntFunction<T> keyMapper, Function<T, V> valueMapper) {
+        return toIntMap(keyMapper, valueMapper, (v1, v2) -> v2);
     }
 
+    /**
+     * 将元素转换为 int 键的 Map，如果有重复的key，使用mergeFunction合并值
+     */
+    public <V> IntObjectMap<V> toIntMap(
+            ToIntFunction<T> keyMapper,
+            Function<T, V> valueMapper,
+            BinaryOperator<V> mergeFunction) {
+        Objects.requireNonNull(keyMapper, "keyMapper cannot be null");
+        Objects.requireNonNull(valueMapper, "valueMapper cannot be null");
+        Objects.requireNonNull(mergeFunction, "mergeFunction cannot be null");
+
+        // 并行时每个分段各自创建 Map，只在顺序执行时预分配
+        final IntSupplier size = executor == null ? knownSize : null;
+        return collect(() -> size == null ? new IntObjectMap<>() : new IntObjectMap<>(size.getAsInt()),
+                (map, element) -> {
+                    if (element != null) {
+                        map.merge(keyMapper.applyAsInt(element), valueMapper.apply(element), mergeFunction);
+                    }
+                },
+                (left, right) -> {
+                    right.forEach((key, value) -> left.merge(key, value, mergeFunction));
+                    return left;
+                });
+    }
 
     public ListStream<T> add(T t) {
         final List<T> list = toList();
@@ -2309,7 +3144,7 @@ public class ListStream<T> {
     public ListStream<T> concat(List<T> ts) {
         final List<T> list = toList();
         list.addAll(ts);
-        return of(list);
+        return derive(list);
     }
 
     @SafeVarargs
@@ -2350,13 +3185,25 @@ public class ListStream<T> {
             throw new IllegalArgumentException("subEnd must not be less than subBegin");
         }
 
-        return of(() -> new Iterator<T>() {
+        // RandomAccess 列表直接按下标截取
+        if (source instanceof List<T> list && source instanceof RandomAccess) {
+            ListRange<T> range = ListRange.of(list, subBegin, subEnd);
+            return derive(range, characteristics & ORDER_FLAGS, range::size);
+        }
+
+        return derive(() -> new Iterator<T>() {
             private final Iterator<T> iterator = source.iterator();
             private int currentIndex = 0;
 
             @Override
             public boolean hasNext() {
-                return currentIndex < subEnd && iterator.hasNext();
+                // 跳过 subBegin 之前的元素
+                while (currentIndex < subBegin && iterator.hasNext()) {
+                    iterator.next();
+                    currentIndex++;
+                }
+                // 取满后不再从上游拉取
+                return currentIndex >= subBegin && currentIndex < subEnd && iterator.hasNext();
             }
 
             @Override
@@ -2364,14 +3211,10 @@ public class ListStream<T> {
                 if (!hasNext()) {
                     throw new NoSuchElementException();
                 }
-                T next = iterator.next();
                 currentIndex++;
-                if (currentIndex <= subBegin) {
-                    return this.next(); // 跳过 subBegin 之前的元素
-                }
-                return next;
+                return iterator.next();
             }
-        });
+        }, characteristics & ORDER_FLAGS, sizeMapped(size -> Math.max(0, Math.min(size, subEnd) - subBegin)));
     }
 
 
@@ -2397,27 +3240,29 @@ public class ListStream<T> {
 
     @SafeVarargs
     public final ListStream<T> filterNotBlank(Function<T, ?>... functions) {
-        return of(createFilteredIterable(elem -> isNotBlankElement(elem, functions)));
+        return filtered(notBlankElement(functions));
     }
 
     @SafeVarargs
     public final ListStream<T> filterBlank(Function<T, ?>... functions) {
-        return of(createFilteredIterable(elem -> isBlankElement(elem, functions)));
+        return filtered(blankElement(functions));
     }
 
-    private boolean isBlankElement(T elem, Function<T, ?>[] functions) {
+    // 没有指定函数时判断元素本身，否则判断每个函数的返回值
+    private static <T> Predicate<T> blankElement(Function<T, ?>[] functions) {
         if (functions == null || functions.length == 0) {
-            if (elem == null) {
-                return true;
-            }
-            if (elem instanceof CharSequence str) {
-                return str.isEmpty() || "".contentEquals(str);
-            }
-            return false;
+            return elem -> {
+                if (elem == null) {
+                    return true;
+                }
+                if (elem instanceof CharSequence str) {
+                    return str.isEmpty() || "".contentEquals(str);
+                }
+                return false;
+            };
         }
 
-        return Arrays.stream(functions).allMatch(fun -> {
-            Object value = fun.apply(elem);
+        return Predicates.allValues(functions, value -> {
             if (value == null) {
                 return true;
             }
@@ -2429,19 +3274,20 @@ public class ListStream<T> {
     }
 
 
-    private boolean isNotBlankElement(T elem, Function<T, ?>[] functions) {
+    private static <T> Predicate<T> notBlankElement(Function<T, ?>[] functions) {
         if (functions == null || functions.length == 0) {
-            if (elem == null) {
-                return false;
-            }
-            if (elem instanceof CharSequence str) {
-                return !str.isEmpty() && !"".contentEquals(str);
-            }
-            return true;
+            return elem -> {
+                if (elem == null) {
+                    return false;
+                }
+                if (elem instanceof CharSequence str) {
+                    return !str.isEmpty() && !"".contentEquals(str);
+                }
+                return true;
+            };
         }
 
-        return Arrays.stream(functions).allMatch(fun -> {
-            Object value = fun.apply(elem);
+        return Predicates.allValues(functions, value -> {
             if (value == null) {
                 return false;
             }
@@ -2452,10 +3298,10 @@ public class ListStream<T> {
         });
     }
 
-    private Iterable<T> createFilteredIterable(BiPredicate<Integer, T> filterCondition) {
+    private Iterable<T> createFilteredIterable(LongObjPredicate<T> filterCondition) {
         return () -> new Iterator<>() {
             final Iterator<T> iterator = source.iterator();
-            int index = 0;
+            long index = 0;
             T nextElement;
             boolean hasNextComputed = false;
             boolean hasNextResult = false;
@@ -2480,7 +3326,7 @@ public class ListStream<T> {
                 return nextElement;
             }
 
-            private void computeNext(BiPredicate<Integer, T> condition) {
+            private void computeNext(LongObjPredicate<T> condition) {
                 while (iterator.hasNext()) {
                     T elem = iterator.next();
                     if (condition.test(index, elem)) {
@@ -2557,12 +3403,8 @@ public class ListStream<T> {
         Objects.requireNonNull(keyMapper, "keyMapper cannot be null");
         Objects.requireNonNull(valueMapper, "valueMapper cannot be null");
 
-        if (isEmpty()) {
-            return new LinkedHashMap<>();
-        }
-
         Map<K, V> result = new LinkedHashMap<>();
-        for (T element : source) {
+        pipeline.forEach(element -> {
             if (element != null) {
                 K key = keyMapper.apply(element);
                 if (key != null) {
@@ -2570,13 +3412,13 @@ public class ListStream<T> {
                     result.put(key, value);
                 }
             }
-        }
+        });
         return result;
     }
 
 
     public final ListStream<T> peek(Consumer<T> consumer) {
-        return of(() -> new Iterator<>() {
+        return derive(() -> new Iterator<>() {
             final Iterator<T> iterator = source.iterator();
 
             public boolean hasNext() {
@@ -2588,7 +3430,11 @@ public class ListStream<T> {
                 consumer.accept(item);
                 return item;
             }
-        });
+        },
+                sink -> elem -> {
+                    consumer.accept(elem);
+                    sink.accept(elem);
+                }, characteristics, knownSize);
     }
 
     public ListStream<T> peekStream(Consumer<ListStream<T>> streamOperation) {
@@ -2599,7 +3445,13 @@ public class ListStream<T> {
 
     public void forEach(Consumer<? super T> action) {
         Objects.requireNonNull(action);
-        source.forEach(action);
+        pipeline.forEach(action::accept);
+    }
+
+    //  iterator(): 拉模式逐个获取元素，每个阶段各自调用一次 hasNext/next。
+
+    public Iterator<T> iterator() {
+        return source.iterator();
     }
 
 
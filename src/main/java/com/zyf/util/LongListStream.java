@@ -0,0 +1,150 @@
+package com.zyf.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// 内部类，基于 long[] 存储的原始类型流，统计类操作不装箱、不分配
+public final class LongListStream {
+    private final long[] values;
+    private final int size;
+
+    LongListStream(long[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    public static LongListStream of(long... values) {
+        return new LongListStream(values.clone(), values.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // 与 LongStream.sum() 一致，溢出时回绕
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    // 空集合返回 0.0，与 ListStream.averageDouble() 保持一致
+    public double average() {
+        return size == 0 ? 0.0 : (double) sum() / size;
+    }
+
+    public long min() {
+        if (size == 0) {
+            throw new NoSuchElementException("Collection is empty.");
+        }
+        long min = values[0];
+        for (int i = 1; i < size; i++) {
+            if (values[i] < min) {
+                min = values[i];
+            }
+        }
+        return min;
+    }
+
+    public long minOrElse(long defaultValue) {
+        return size == 0 ? defaultValue : min();
+    }
+
+    public long max() {
+        if (size == 0) {
+            throw new NoSuchElementException("Collection is empty.");
+        }
+        long max = values[0];
+        for (int i = 1; i < size; i++) {
+            if (values[i] > max) {
+                max = values[i];
+            }
+        }
+        return max;
+    }
+
+    public long maxOrElse(long defaultValue) {
+        return size == 0 ? defaultValue : max();
+    }
+
+    /**
+     * 按升序边界统计直方图，返回长度为 boundaries.length + 1 的计数数组：
+     * 第 0 个桶为 (-∞, b[0])，第 i 个桶为 [b[i-1], b[i])，最后一个桶为 [b[n-1], +∞)
+     *
+     * @param boundaries 严格升序的桶边界
+     * @return 每个桶中的元素数量
+     */
+    public long[] histogram(long... boundaries) {
+        for (int i = 1; i < boundaries.length; i++) {
+            if (boundaries[i - 1] >= boundaries[i]) {
+                throw new IllegalArgumentException("boundaries must be strictly ascending");
+            }
+        }
+        final long[] counts = new long[boundaries.length + 1];
+        for (int i = 0; i < size; i++) {
+            final int index = Arrays.binarySearch(boundaries, values[i]);
+            counts[index >= 0 ? index + 1 : -index - 1]++;
+        }
+        return counts;
+    }
+
+    public LongListStream sorted() {
+        final long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        return new LongListStream(sorted, size);
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    public List<Long> toList() {
+        final List<Long> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(values[i]);
+        }
+        return list;
+    }
+
+    public ListStream<Long> boxed() {
+        return ListStream.of(toList());
+    }
+
+    // 可增长的 long 缓冲区，用于从 ListStream 收集
+    static final class Builder {
+        private long[] values;
+        private int size;
+
+        Builder(int capacity) {
+            this.values = new long[Math.max(capacity, 8)];
+        }
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1));
+            }
+            values[size++] = value;
+        }
+
+        Builder addAll(Builder other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, size + other.size);
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        LongListStream build() {
+            return new LongListStream(values, size);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.zyf.util;
+
+/**
+ * long 键与值的遍历操作，键不装箱
+ */
+@FunctionalInterface
+public interface LongObjConsumer<V> {
+
+    /**
+     * Performs this operation on the given arguments.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    void accept(long key, V value);
+}
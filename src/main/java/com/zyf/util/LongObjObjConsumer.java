@@ -0,0 +1,17 @@
+package com.zyf.util;
+
+/**
+ * 带 long 下标的累加操作，用于元素个数可能超过 Integer.MAX_VALUE 的源头
+ */
+@FunctionalInterface
+public interface LongObjObjConsumer<A, T> {
+
+    /**
+     * Performs this operation on the given arguments.
+     *
+     * @param index the element index
+     * @param a     the accumulator
+     * @param t     the element
+     */
+    void accept(long index, A a, T t);
+}
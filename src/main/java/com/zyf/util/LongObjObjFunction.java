@@ -0,0 +1,18 @@
+package com.zyf.util;
+
+/**
+ * 带 long 下标的累加函数，用于元素个数可能超过 Integer.MAX_VALUE 的源头
+ */
+@FunctionalInterface
+public interface LongObjObjFunction<A, T, R> {
+
+    /**
+     * Applies this function to the given arguments.
+     *
+     * @param index the element index
+     * @param a     the accumulator
+     * @param t     the element
+     * @return the function result
+     */
+    R apply(long index, A a, T t);
+}
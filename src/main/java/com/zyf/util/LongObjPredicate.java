@@ -0,0 +1,17 @@
+package com.zyf.util;
+
+/**
+ * 带 long 下标的条件，用于元素个数可能超过 Integer.MAX_VALUE 的源头
+ */
+@FunctionalInterface
+public interface LongObjPredicate<T> {
+
+    /**
+     * Evaluates this predicate on the given arguments.
+     *
+     * @param index the element index
+     * @param t     the element
+     * @return {@code true} if the arguments match the predicate
+     */
+    boolean test(long index, T t);
+}
@@ -4,6 +4,9 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 // 内部类，封装流操作
@@ -14,6 +17,20 @@ public final class MapListStream<K, V> {
         this.map = map;
     }
 
+    /**
+     * groupByInt 结果的适配，键装箱，保持遍历顺序
+     */
+    public static <V> MapListStream<Integer, V> ofInt(IntObjectMap<List<V>> map) {
+        return new MapListStream<>(map.toMap());
+    }
+
+    /**
+     * groupByLong 结果的适配，键装箱，保持遍历顺序
+     */
+    public static <V> MapListStream<Long, V> ofLong(LongObjectMap<List<V>> map) {
+        return new MapListStream<>(map.toMap());
+    }
+
     public Map<K, List<V>> toMap() {
         return map;
     }
@@ -66,4 +83,31 @@ public final class MapListStream<K, V> {
         }
         return new MapStream<>(newMap);
     }
+
+    /**
+     * 同 valueStream，各分组的 func 在 ForkJoinPool.commonPool() 中并行执行，结果按原键顺序
+     */
+    public <R> MapStream<K, R> valueStreamParallel(Function<ListStream<V>, R> func) {
+        return valueStreamParallel(func, ForkJoinPool.commonPool(), true);
+    }
+
+    /**
+     * 同 valueStream，各分组的 func 在指定线程池中并行执行，结果按原键顺序
+     */
+    public <R> MapStream<K, R> valueStreamParallel(Function<ListStream<V>, R> func, Executor executor) {
+        return valueStreamParallel(func, executor, true);
+    }
+
+    /**
+     * 各分组的 func 在指定线程池中并行执行，调用线程也参与执行；组的大小不均匀时按大组优先动态分配，先完成的线程继续领取剩余分组。
+     * func 会被多个线程同时调用，不能依赖共享的可变状态。第一个失败的分组之后不再开始新的分组，
+     * 正在执行的分组结束后抛出第一个异常，其余异常作为 suppressed 附加
+     *
+     * @param keepOrder 为 true 时结果按原键顺序；为 false 时按组从大到小的顺序（大小相同时按原顺序）
+     */
+    public <R> MapStream<K, R> valueStreamParallel(Function<ListStream<V>, R> func, Executor executor, boolean keepOrder) {
+        Objects.requireNonNull(func, "func cannot be null");
+        Objects.requireNonNull(executor, "executor cannot be null");
+        return new MapStream<>(ParallelGroups.apply(map, func, executor, keepOrder));
+    }
 }
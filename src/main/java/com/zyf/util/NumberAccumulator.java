@@ -0,0 +1,111 @@
+package com.zyf.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+// 内部类，按数字类型分派的求和累加器：
+// 整数类型累加到 long（溢出后进位到 BigInteger），BigDecimal/Double 直接按十进制累加，
+// 其余类型沿用 new BigDecimal(String.valueOf(n)) 的转换，保证结果与逐个转换后相加完全一致（包括 scale）
+final class NumberAccumulator {
+
+    private long longSum;
+    // long 溢出后进位的部分，null 表示未溢出
+    private BigInteger carry;
+    // 非整数类型之和，null 表示没有
+    private BigDecimal decimalSum;
+    private long count;
+
+    void add(Number number) {
+        count++;
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+            addLong(number.longValue());
+        } else if (number instanceof BigDecimal decimal) {
+            addDecimal(decimal);
+        } else if (number instanceof Double d) {
+            // BigDecimal.valueOf(double) 与 new BigDecimal(Double.toString(d)) 等价
+            addDecimal(BigDecimal.valueOf(d));
+        } else if (number instanceof BigInteger bigInteger) {
+            carry = carry == null ? bigInteger : carry.add(bigInteger);
+        } else {
+            // Float、原子类等其它类型以及 null，保持原有转换方式（null 会抛出 NumberFormatException）
+            addDecimal(new BigDecimal(String.valueOf(number)));
+        }
+    }
+
+    private void addLong(long value) {
+        final long result = longSum + value;
+        // 符号位溢出检测，同 Math.addExact
+        if (((longSum ^ result) & (value ^ result)) < 0) {
+            final BigInteger overflow = BigInteger.valueOf(longSum).add(BigInteger.valueOf(value));
+            carry = carry == null ? overflow : carry.add(overflow);
+            longSum = 0;
+        } else {
+            longSum = result;
+        }
+    }
+
+    private void addDecimal(BigDecimal value) {
+        decimalSum = decimalSum == null ? value : decimalSum.add(value);
+    }
+
+    NumberAccumulator merge(NumberAccumulator other) {
+        addLong(other.longSum);
+        if (other.carry != null) {
+            carry = carry == null ? other.carry : carry.add(other.carry);
+        }
+        if (other.decimalSum != null) {
+            addDecimal(other.decimalSum);
+        }
+        count += other.count;
+        return this;
+    }
+
+    long count() {
+        return count;
+    }
+
+    private BigInteger integralSum() {
+        return carry == null ? BigInteger.valueOf(longSum) : carry.add(BigInteger.valueOf(longSum));
+    }
+
+    /**
+     * 与从 new BigDecimal("0.0") 开始逐个相加的结果一致
+     */
+    BigDecimal toBigDecimal() {
+        BigDecimal result = BigDecimal.valueOf(0, 1);
+        if (decimalSum != null) {
+            result = result.add(decimalSum);
+        }
+        return result.add(carry == null ? BigDecimal.valueOf(longSum) : new BigDecimal(integralSum()));
+    }
+
+    /**
+     * 平均值，保留两位小数，没有元素时返回 0.0
+     */
+    BigDecimal average() {
+        final BigDecimal total = toBigDecimal();
+        if (count == 0) {
+            return total;
+        }
+        return total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    long longValue() {
+        if (decimalSum == null) {
+            return carry == null ? longSum : integralSum().longValue();
+        }
+        return toBigDecimal().longValue();
+    }
+
+    int intValue() {
+        return decimalSum == null ? (int) longValue() : toBigDecimal().intValue();
+    }
+
+    double doubleValue() {
+        if (decimalSum == null && carry == null) {
+            return longSum;
+        }
+        return toBigDecimal().doubleValue();
+    }
+}
@@ -0,0 +1,476 @@
+package com.zyf.util;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * groupBy/toMap/associate 等操作的结果 Map：开放寻址（线性探测）的哈希表，不为每个键创建 Node 对象。
+ * 键、值、哈希值按插入顺序存放在三个平行数组中，index 数组只保存条目下标，遍历顺序为插入顺序。
+ * 删除时条目数组留下空洞（记录在 removed 位图中，不放占位对象），下次扩容时压缩；index 使用后移删除，不留墓碑。
+ * 允许 null 键和 null 值，语义与 HashMap 一致，非线程安全。
+ * 与 HashMap 一样可序列化（按插入顺序写出键值对）和 clone（浅拷贝）；构造方法不公开，只作为结果类型出现
+ */
+public final class OpenHashMap<K, V> extends AbstractMap<K, V> implements Serializable, Cloneable {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient Object[] keys;
+    private transient Object[] values;
+    private transient int[] hashes;
+    // 已使用的条目位置（含空洞）
+    private transient int used;
+    // 实际的键值对个数
+    private transient int size;
+    // 条目数组中被删除的位置，每位对应一个条目；没有删除时为 null
+    private transient long[] removed;
+
+    // 条目下标 + 1，0 表示空槽；长度为 2 的幂，装载因子不超过 1/2
+    private transient int[] index;
+    private transient int mask;
+
+    private transient int modCount;
+
+    OpenHashMap() {
+        this(8);
+    }
+
+    OpenHashMap(int expectedSize) {
+        init(expectedSize);
+    }
+
+    private void init(int expectedSize) {
+        final int capacity = Math.max(expectedSize, 4);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        index = new int[tableSizeFor(capacity)];
+        mask = index.length - 1;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        // 至少为期望个数的 2 倍
+        final int n = Math.max(expectedSize, 4) * 2 - 1;
+        return n >= 1 << 30 ? 1 << 30 : Integer.highestOneBit(n) << 1;
+    }
+
+    private static int hash(Object key) {
+        return Hashes.hash(key);
+    }
+
+    // 返回键所在的条目下标，不存在时返回 -1
+    private int find(Object key, int hash) {
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            final int entry = index[slot] - 1;
+            if (entry < 0) {
+                return -1;
+            }
+            if (hashes[entry] == hash && Objects.equals(keys[entry], key)) {
+                return entry;
+            }
+        }
+    }
+
+    // 追加一个新条目，调用前已确认键不存在
+    private int insert(K key, V value, int hash) {
+        if (used == keys.length) {
+            grow();
+        }
+        final int entry = used++;
+        keys[entry] = key;
+        values[entry] = value;
+        hashes[entry] = hash;
+        int slot = hash & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = entry + 1;
+        size++;
+        modCount++;
+        return entry;
+    }
+
+    // 条目数组已满：空洞较多时原地压缩，否则扩容 2 倍，然后重建 index
+    private void grow() {
+        if (size < used - (used >> 2)) {
+            compact(keys.length);
+        } else {
+            compact(used << 1);
+        }
+    }
+
+    private void compact(int capacity) {
+        final Object[] newKeys = new Object[capacity];
+        final Object[] newValues = new Object[capacity];
+        final int[] newHashes = new int[capacity];
+        int n = 0;
+        for (int i = 0; i < used; i++) {
+            if (!isRemoved(i)) {
+                newKeys[n] = keys[i];
+                newValues[n] = values[i];
+                newHashes[n] = hashes[i];
+                n++;
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+        hashes = newHashes;
+        used = n;
+        removed = null;
+        if (index.length < tableSizeFor(capacity)) {
+            index = new int[tableSizeFor(capacity)];
+            mask = index.length - 1;
+        } else {
+            Arrays.fill(index, 0);
+        }
+        for (int entry = 0; entry < n; entry++) {
+            int slot = hashes[entry] & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = entry + 1;
+        }
+        modCount++;
+    }
+
+    private void removeEntry(int entry) {
+        // 后移删除：把探测链上后面的槽位前移，保证查找不会提前遇到空槽
+        int slot = hashes[entry] & mask;
+        while (index[slot] != entry + 1) {
+            slot = (slot + 1) & mask;
+        }
+        int hole = slot;
+        for (int next = (hole + 1) & mask; index[next] != 0; next = (next + 1) & mask) {
+            final int home = hashes[index[next] - 1] & mask;
+            // home 不在 (hole, next] 区间内时可以前移到 hole
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                index[hole] = index[next];
+                hole = next;
+            }
+        }
+        index[hole] = 0;
+        if (removed == null) {
+            removed = new long[(keys.length + 63) >>> 6];
+        }
+        removed[entry >>> 6] |= 1L << entry;
+        keys[entry] = null;
+        values[entry] = null;
+        size--;
+        modCount++;
+    }
+
+    private boolean isRemoved(int entry) {
+        return removed != null && (removed[entry >>> 6] & (1L << entry)) != 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int entry) {
+        return (V) values[entry];
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(int entry) {
+        return (K) keys[entry];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key, hash(key)) >= 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        final int entry = find(key, hash(key));
+        return entry < 0 ? null : valueAt(entry);
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        final int entry = find(key, hash(key));
+        return entry < 0 ? defaultValue : valueAt(entry);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        final int hash = hash(key);
+        final int entry = find(key, hash);
+        if (entry >= 0) {
+            final V old = valueAt(entry);
+            values[entry] = value;
+            return old;
+        }
+        insert(key, value, hash);
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        final int entry = find(key, hash(key));
+        if (entry < 0) {
+            return null;
+        }
+        final V old = valueAt(entry);
+        removeEntry(entry);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        if (used > 0) {
+            Arrays.fill(keys, 0, used, null);
+            Arrays.fill(values, 0, used, null);
+            Arrays.fill(index, 0);
+            used = 0;
+            size = 0;
+            removed = null;
+            modCount++;
+        }
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        final int hash = hash(key);
+        final int entry = find(key, hash);
+        if (entry >= 0 && values[entry] != null) {
+            return valueAt(entry);
+        }
+        final int expected = modCount;
+        final V value = mappingFunction.apply(key);
+        if (modCount != expected) {
+            throw new ConcurrentModificationException();
+        }
+        if (value != null) {
+            if (entry >= 0) {
+                values[entry] = value;
+            } else {
+                insert(key, value, hash);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(remappingFunction);
+        final int hash = hash(key);
+        final int entry = find(key, hash);
+        if (entry < 0) {
+            insert(key, value, hash);
+            return value;
+        }
+        final V old = valueAt(entry);
+        if (old == null) {
+            values[entry] = value;
+            return value;
+        }
+        final int expected = modCount;
+        final V merged = remappingFunction.apply(old, value);
+        if (modCount != expected) {
+            throw new ConcurrentModificationException();
+        }
+        if (merged == null) {
+            removeEntry(entry);
+        } else {
+            values[entry] = merged;
+        }
+        return merged;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        final int expected = modCount;
+        for (int i = 0; i < used; i++) {
+            if (!isRemoved(i)) {
+                action.accept(keyAt(i), valueAt(i));
+            }
+        }
+        if (modCount != expected) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public OpenHashMap<K, V> clone() {
+        final OpenHashMap<K, V> copy;
+        try {
+            copy = (OpenHashMap<K, V>) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+        copy.keys = keys.clone();
+        copy.values = values.clone();
+        copy.hashes = hashes.clone();
+        copy.removed = removed == null ? null : removed.clone();
+        copy.index = index.clone();
+        copy.modCount = 0;
+        return copy;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        final int expected = modCount;
+        for (int i = 0; i < used; i++) {
+            if (!isRemoved(i)) {
+                out.writeObject(keys[i]);
+                out.writeObject(values[i]);
+            }
+        }
+        if (modCount != expected) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final int count = in.readInt();
+        if (count < 0) {
+            throw new InvalidObjectException("Illegal size: " + count);
+        }
+        init(count);
+        for (int i = 0; i < count; i++) {
+            put((K) in.readObject(), (V) in.readObject());
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry<?, ?> e)) {
+                    return false;
+                }
+                final int entry = find(e.getKey(), hash(e.getKey()));
+                return entry >= 0 && Objects.equals(values[entry], e.getValue());
+            }
+
+            @Override
+            public void clear() {
+                OpenHashMap.this.clear();
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        int next = advance(0);
+        int last = -1;
+        int expected = modCount;
+
+        private int advance(int from) {
+            while (from < used && isRemoved(from)) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < used;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= used) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return new EntryView(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+            // 删除只留下空洞，不移动其他条目
+            removeEntry(last);
+            last = -1;
+            expected = modCount;
+        }
+    }
+
+    // 条目视图，setValue 直接写回值数组
+    private final class EntryView implements Entry<K, V> {
+        private final int entry;
+
+        EntryView(int entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public K getKey() {
+            return keyAt(entry);
+        }
+
+        @Override
+        public V getValue() {
+            return valueAt(entry);
+        }
+
+        @Override
+        public V setValue(V value) {
+            final V old = valueAt(entry);
+            values[entry] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e
+                    && Objects.equals(getKey(), e.getKey())
+                    && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
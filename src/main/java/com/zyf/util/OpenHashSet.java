@@ -0,0 +1,89 @@
+package com.zyf.util;
+
+// 内部类，distinct/minus 使用的去重集合：开放寻址（线性探测）的哈希表，元素与哈希值存放在两个平行数组中，
+// 不为每个元素创建 Node 对象。只支持 add/contains，不对外暴露，允许 null 元素，非线程安全
+final class OpenHashSet {
+
+    // 表示 null 元素，数组中的 null 表示空槽
+    private static final Object NULL = new Object();
+
+    private Object[] elements;
+    private int[] hashes;
+    private int mask;
+    private int size;
+    // 超过该个数时扩容，装载因子 3/4
+    private int threshold;
+
+    OpenHashSet() {
+        this(8);
+    }
+
+    OpenHashSet(int expectedSize) {
+        int capacity = 8;
+        while (capacity < 1 << 30 && capacity - (capacity >> 2) < expectedSize) {
+            capacity <<= 1;
+        }
+        elements = new Object[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        threshold = capacity - (capacity >> 2);
+    }
+
+    /**
+     * 元素不存在时加入并返回 true
+     */
+    boolean add(Object element) {
+        final Object e = element == null ? NULL : element;
+        final int hash = Hashes.hash(e);
+        int slot = hash & mask;
+        for (Object current; (current = elements[slot]) != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && (current == e || current.equals(e))) {
+                return false;
+            }
+        }
+        elements[slot] = e;
+        hashes[slot] = hash;
+        if (++size > threshold) {
+            rehash();
+        }
+        return true;
+    }
+
+    boolean contains(Object element) {
+        final Object e = element == null ? NULL : element;
+        final int hash = Hashes.hash(e);
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            final Object current = elements[slot];
+            if (current == null) {
+                return false;
+            }
+            if (hashes[slot] == hash && (current == e || current.equals(e))) {
+                return true;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash() {
+        final Object[] oldElements = elements;
+        final int[] oldHashes = hashes;
+        final int capacity = oldElements.length << 1;
+        elements = new Object[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        threshold = capacity - (capacity >> 2);
+        for (int i = 0; i < oldElements.length; i++) {
+            if (oldElements[i] != null) {
+                int slot = oldHashes[i] & mask;
+                while (elements[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                elements[slot] = oldElements[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.zyf.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+// 内部类，chunkedParallel 的实现：调用线程从源头拉取元素组装分块，装满一块就提交给线程池执行 consumer，
+// 在途的块最多 parallelism 个，达到上限时调用线程等待，不会把整个数据集一次性装进内存
+final class ParallelChunks {
+
+    private ParallelChunks() {
+    }
+
+    /**
+     * @param ordered  为 true 时在途窗口按提交顺序滑动：只有最早提交的块完成后才提交新块，
+     *                 任意时刻已完成的块都是连续的前缀加上最多 parallelism 个在途块，失败后可以从第一个失败的块重新开始；
+     *                 为 false 时任意一个块完成就提交新块
+     * @param failFast 为 true 时第一个块失败后不再提交新块；为 false 时继续处理剩余的块。
+     *                 两种方式都会等待在途的块结束后再抛出第一个异常，其余异常作为 suppressed 附加
+     */
+    static <T> void run(Iterable<T> source, int size, int parallelism, boolean ordered, boolean failFast,
+                        Executor executor, Consumer<List<T>> consumer) {
+        final Deque<CompletableFuture<Void>> inFlight = new ArrayDeque<>(parallelism);
+        final ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        try {
+            List<T> chunk = null;
+            for (T t : source) {
+                if (failFast && !failures.isEmpty()) {
+                    break;
+                }
+                if (chunk == null) {
+                    chunk = new ArrayList<>(size);
+                }
+                chunk.add(t);
+                if (chunk.size() == size) {
+                    submit(chunk, parallelism, ordered, executor, consumer, inFlight, failures);
+                    chunk = null;
+                }
+            }
+            if (chunk != null && !(failFast && !failures.isEmpty())) {
+                submit(chunk, parallelism, ordered, executor, consumer, inFlight, failures);
+            }
+        } finally {
+            // 等待所有在途的块，源头抛出异常时也不会留下仍在执行的块
+            for (CompletableFuture<Void> future : inFlight) {
+                await(future);
+            }
+        }
+        rethrow(failures);
+    }
+
+    private static <T> void submit(List<T> chunk, int parallelism, boolean ordered, Executor executor,
+                                   Consumer<List<T>> consumer, Deque<CompletableFuture<Void>> inFlight,
+                                   ConcurrentLinkedQueue<Throwable> failures) {
+        while (inFlight.size() >= parallelism) {
+            if (ordered) {
+                await(inFlight.pollFirst());
+            } else {
+                await(CompletableFuture.anyOf(inFlight.toArray(new CompletableFuture[0])));
+                inFlight.removeIf(CompletableFuture::isDone);
+            }
+        }
+        final CompletableFuture<Void> future;
+        try {
+            future = CompletableFuture.runAsync(() -> consumer.accept(chunk), executor);
+        } catch (RuntimeException e) {
+            // 线程池拒绝执行
+            failures.add(e);
+            return;
+        }
+        inFlight.addLast(future.whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                failures.add(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+            }
+        }));
+    }
+
+    // 等待完成，异常已经在 whenComplete 中记录
+    private static void await(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    // 抛出第一个异常，其余异常作为 suppressed 附加；没有异常时直接返回
+    static void rethrow(ConcurrentLinkedQueue<Throwable> failures) {
+        final Throwable first = failures.poll();
+        if (first == null) {
+            return;
+        }
+        for (Throwable other : failures) {
+            if (other != first) {
+                first.addSuppressed(other);
+            }
+        }
+        if (first instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (first instanceof Error error) {
+            throw error;
+        }
+        throw new CompletionException(first);
+    }
+}
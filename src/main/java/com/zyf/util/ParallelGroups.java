@@ -0,0 +1,116 @@
+package com.zyf.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// 内部类，valueStreamParallel 的实现：先按组的大小从大到小排好调度顺序，调用线程和线程池中的若干线程
+// 从同一个游标上逐个领取分组执行，先完成的线程继续领取，组的大小不均匀时不会出现某个线程分到一整段大组而其他线程空闲的情况；大组先开始，剩下的小组用来填平各线程的结束时间。
+// 调用线程自己也执行分组，线程池繁忙或拒绝执行时由调用线程完成全部分组，不会因为等待线程池而死锁
+final class ParallelGroups {
+
+    private ParallelGroups() {
+    }
+
+    /**
+     * @param keepOrder 为 true 时结果按原 Map 的键顺序；为 false 时按调度顺序，即组从大到小（相同大小按原顺序）
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V, R> Map<K, R> apply(Map<K, List<V>> map, Function<ListStream<V>, R> func,
+                                     Executor executor, boolean keepOrder) {
+        final int n = map.size();
+        final Object[] keys = new Object[n];
+        final List<V>[] groups = new List[n];
+        int i = 0;
+        for (Map.Entry<K, List<V>> entry : map.entrySet()) {
+            keys[i] = entry.getKey();
+            groups[i++] = entry.getValue();
+        }
+
+        final int[] schedule = schedule(groups);
+        final Object[] results = new Object[n];
+        final AtomicInteger cursor = new AtomicInteger();
+        final ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        final Runnable work = () -> {
+            int next;
+            while (failures.isEmpty() && (next = cursor.getAndIncrement()) < n) {
+                final int group = schedule[next];
+                try {
+                    results[group] = func.apply(new ListStream<>(groups[group]));
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }
+        };
+
+        final int helpers = Math.min(helpers(executor), n - 1);
+        final AtomicBoolean[] started = new AtomicBoolean[Math.max(helpers, 0)];
+        final CompletableFuture<?>[] futures = new CompletableFuture[started.length];
+        int submitted = 0;
+        for (; submitted < helpers; submitted++) {
+            final AtomicBoolean claim = new AtomicBoolean();
+            started[submitted] = claim;
+            try {
+                futures[submitted] = CompletableFuture.runAsync(() -> {
+                    if (claim.compareAndSet(false, true)) {
+                        work.run();
+                    }
+                }, executor);
+            } catch (RuntimeException e) {
+                // 线程池拒绝执行，剩下的分组由已启动的线程和调用线程完成
+                break;
+            }
+        }
+        work.run();
+        for (int w = 0; w < submitted; w++) {
+            // 还没开始的线程不再需要，只等待正在执行分组的线程
+            if (!started[w].compareAndSet(false, true)) {
+                futures[w].join();
+            }
+        }
+        ParallelChunks.rethrow(failures);
+
+        final Map<K, R> result = new OpenHashMap<>(n);
+        for (int k = 0; k < n; k++) {
+            final int group = keepOrder ? k : schedule[k];
+            result.put((K) keys[group], (R) results[group]);
+        }
+        return result;
+    }
+
+    // 提交到线程池的线程数：ForkJoinPool 取其并行度，ThreadPoolExecutor 取核心线程数（不少于 CPU 数，不超过最大线程数），
+    // 其他线程池取 CPU 数
+    private static int helpers(Executor executor) {
+        final int cpus = Runtime.getRuntime().availableProcessors();
+        if (executor instanceof ForkJoinPool pool) {
+            return pool.getParallelism();
+        }
+        if (executor instanceof ThreadPoolExecutor pool) {
+            return Math.min(pool.getMaximumPoolSize(), Math.max(pool.getCorePoolSize(), cpus));
+        }
+        return cpus;
+    }
+
+    // 组下标按组的大小从大到小排列，大小相同时保持原顺序
+    private static int[] schedule(List<?>[] groups) {
+        final long[] packed = new long[groups.length];
+        for (int i = 0; i < groups.length; i++) {
+            final int size = groups[i] == null ? 0 : groups[i].size();
+            packed[i] = ((long) (Integer.MAX_VALUE - size) << 32) | i;
+        }
+        Arrays.sort(packed);
+        final int[] schedule = new int[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            schedule[i] = (int) packed[i];
+        }
+        return schedule;
+    }
+}
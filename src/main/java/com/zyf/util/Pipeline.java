@@ -0,0 +1,155 @@
+package com.zyf.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// 内部类，记录管道的源头以及融合后的无状态阶段(filter/map/flatMap...)，用于推模式执行和并行拆分
+final class Pipeline<S, T> {
+
+    // 并行拆分时每段的最小元素数，太小的分段调度开销大于收益
+    static final int MIN_LEAF_SIZE = 512;
+
+    final Iterable<S> root;
+    private final Function<Consumer<T>, Consumer<S>> wrapper;
+
+    private Pipeline(Iterable<S> root, Function<Consumer<T>, Consumer<S>> wrapper) {
+        this.root = root;
+        this.wrapper = wrapper;
+    }
+
+    static <T> Pipeline<T, T> of(Iterable<T> root) {
+        return new Pipeline<>(root, sink -> sink);
+    }
+
+    /**
+     * 追加一个无状态阶段，stage 把下游 sink 包装成接收上游元素的 sink
+     */
+    <R> Pipeline<S, R> then(Function<Consumer<R>, Consumer<T>> stage) {
+        return new Pipeline<>(root, sink -> wrapper.apply(stage.apply(sink)));
+    }
+
+    /**
+     * 顺序推模式执行：遍历源头，每个元素依次穿过所有融合阶段后交给 action
+     */
+    void forEach(Consumer<T> action) {
+        forEach(root, wrapper.apply(action));
+    }
+
+    /**
+     * 源头是否可按下标拆分
+     */
+    boolean splittable() {
+        return root instanceof List && root instanceof RandomAccess && ((List<S>) root).size() >= MIN_LEAF_SIZE << 1;
+    }
+
+    /**
+     * 可变归约：executor 为 null 或源头不可拆分时顺序执行，否则按下标区间拆分并行执行，
+     * 各区间的部分结果按区间顺序用 combiner 合并，保证与顺序执行的遇到顺序一致
+     */
+    <A> A collect(Executor executor, Supplier<A> supplier, BiConsumer<A, T> accumulator, BinaryOperator<A> combiner) {
+        if (executor == null || !splittable()) {
+            final A container = supplier.get();
+            forEach(t -> accumulator.accept(container, t));
+            return container;
+        }
+        final List<S> list = (List<S>) root;
+        final int size = list.size();
+        if (executor instanceof ForkJoinPool pool) {
+            final int leafSize = Math.max(MIN_LEAF_SIZE, size / (pool.getParallelism() << 2));
+            return pool.invoke(new CollectTask<>(this, list, 0, size, leafSize, supplier, accumulator, combiner));
+        }
+
+        // 普通 Executor：按固定分段提交，再按顺序合并
+        final int chunks = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() << 2, size / MIN_LEAF_SIZE));
+        final int chunkSize = (size + chunks - 1) / chunks;
+        final List<CompletableFuture<A>> futures = new ArrayList<>(chunks);
+        for (int from = 0; from < size; from += chunkSize) {
+            final int begin = from;
+            final int end = Math.min(size, from + chunkSize);
+            futures.add(CompletableFuture.supplyAsync(() -> collectRange(list, begin, end, supplier, accumulator), executor));
+        }
+        try {
+            A result = futures.get(0).join();
+            for (int i = 1; i < futures.size(); i++) {
+                result = combiner.apply(result, futures.get(i).join());
+            }
+            return result;
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private <A> A collectRange(List<S> list, int begin, int end, Supplier<A> supplier, BiConsumer<A, T> accumulator) {
+        final A container = supplier.get();
+        final Consumer<S> sink = wrapper.apply(t -> accumulator.accept(container, t));
+        for (int i = begin; i < end; i++) {
+            sink.accept(list.get(i));
+        }
+        return container;
+    }
+
+    static <E> void forEach(Iterable<E> iterable, Consumer<E> sink) {
+        if (iterable instanceof List<E> list && iterable instanceof RandomAccess) {
+            for (int i = 0, n = list.size(); i < n; i++) {
+                sink.accept(list.get(i));
+            }
+        } else {
+            iterable.forEach(sink);
+        }
+    }
+
+    // 二分拆分的归约任务，左右结果按顺序合并
+    private static final class CollectTask<S, T, A> extends RecursiveTask<A> {
+        private final Pipeline<S, T> pipeline;
+        private final List<S> list;
+        private final int begin;
+        private final int end;
+        private final int leafSize;
+        private final Supplier<A> supplier;
+        private final BiConsumer<A, T> accumulator;
+        private final BinaryOperator<A> combiner;
+
+        CollectTask(Pipeline<S, T> pipeline, List<S> list, int begin, int end, int leafSize,
+                    Supplier<A> supplier, BiConsumer<A, T> accumulator, BinaryOperator<A> combiner) {
+            this.pipeline = pipeline;
+            this.list = list;
+            this.begin = begin;
+            this.end = end;
+            this.leafSize = leafSize;
+            this.supplier = supplier;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (end - begin <= leafSize) {
+                return pipeline.collectRange(list, begin, end, supplier, accumulator);
+            }
+            final int mid = (begin + end) >>> 1;
+            final CollectTask<S, T, A> left = new CollectTask<>(pipeline, list, begin, mid, leafSize, supplier, accumulator, combiner);
+            final CollectTask<S, T, A> right = new CollectTask<>(pipeline, list, mid, end, leafSize, supplier, accumulator, combiner);
+            right.fork();
+            final A leftResult = left.compute();
+            return combiner.apply(leftResult, right.join());
+        }
+    }
+}
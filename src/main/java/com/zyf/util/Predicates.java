@@ -0,0 +1,141 @@
+package com.zyf.util;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// 内部类，把可变参数的条件数组在构造阶段编译成一个 Predicate：1/2/3 个条件展开为直接调用，更多时用数组循环。
+// 替代逐元素的 Arrays.stream(predicates).allMatch(...)，每个元素不再创建 Stream 管道，判断时不分配对象
+final class Predicates {
+
+    private Predicates() {
+    }
+
+    /**
+     * 同时满足所有条件，没有条件时恒为 true
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Predicate<T> and(Predicate<? super T>[] predicates) {
+        switch (predicates.length) {
+            case 0:
+                return t -> true;
+            case 1:
+                return (Predicate<T>) predicates[0];
+            case 2: {
+                final Predicate<? super T> p0 = predicates[0];
+                final Predicate<? super T> p1 = predicates[1];
+                return t -> p0.test(t) && p1.test(t);
+            }
+            case 3: {
+                final Predicate<? super T> p0 = predicates[0];
+                final Predicate<? super T> p1 = predicates[1];
+                final Predicate<? super T> p2 = predicates[2];
+                return t -> p0.test(t) && p1.test(t) && p2.test(t);
+            }
+            default: {
+                final Predicate<? super T>[] all = predicates.clone();
+                return t -> {
+                    for (Predicate<? super T> predicate : all) {
+                        if (!predicate.test(t)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+        }
+    }
+
+    /**
+     * 满足任意一个条件，没有条件时恒为 false
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Predicate<T> or(Predicate<? super T>[] predicates) {
+        switch (predicates.length) {
+            case 0:
+                return t -> false;
+            case 1:
+                return (Predicate<T>) predicates[0];
+            case 2: {
+                final Predicate<? super T> p0 = predicates[0];
+                final Predicate<? super T> p1 = predicates[1];
+                return t -> p0.test(t) || p1.test(t);
+            }
+            case 3: {
+                final Predicate<? super T> p0 = predicates[0];
+                final Predicate<? super T> p1 = predicates[1];
+                final Predicate<? super T> p2 = predicates[2];
+                return t -> p0.test(t) || p1.test(t) || p2.test(t);
+            }
+            default: {
+                final Predicate<? super T>[] all = predicates.clone();
+                return t -> {
+                    for (Predicate<? super T> predicate : all) {
+                        if (predicate.test(t)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                };
+            }
+        }
+    }
+
+    /**
+     * 所有条件都不满足，没有条件时恒为 true
+     */
+    static <T> Predicate<T> none(Predicate<? super T>[] predicates) {
+        if (predicates.length == 0) {
+            return t -> true;
+        }
+        final Predicate<T> any = or(predicates);
+        return t -> !any.test(t);
+    }
+
+    /**
+     * 每个函数的返回值都满足 valueTest，没有函数时恒为 true
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Predicate<T> allValues(Function<T, ?>[] functions, Predicate<Object> valueTest) {
+        final Predicate<T>[] predicates = new Predicate[functions.length];
+        for (int i = 0; i < functions.length; i++) {
+            final Function<T, ?> function = functions[i];
+            predicates[i] = t -> valueTest.test(function.apply(t));
+        }
+        return and(predicates);
+    }
+
+    /**
+     * 带下标的条件同时满足，没有条件时恒为 true
+     */
+    @SuppressWarnings("unchecked")
+    static <T> LongObjPredicate<T> andIndexed(LongObjPredicate<? super T>[] predicates) {
+        switch (predicates.length) {
+            case 0:
+                return (index, t) -> true;
+            case 1:
+                return (LongObjPredicate<T>) predicates[0];
+            case 2: {
+                final LongObjPredicate<? super T> p0 = predicates[0];
+                final LongObjPredicate<? super T> p1 = predicates[1];
+                return (index, t) -> p0.test(index, t) && p1.test(index, t);
+            }
+            case 3: {
+                final LongObjPredicate<? super T> p0 = predicates[0];
+                final LongObjPredicate<? super T> p1 = predicates[1];
+                final LongObjPredicate<? super T> p2 = predicates[2];
+                return (index, t) -> p0.test(index, t) && p1.test(index, t) && p2.test(index, t);
+            }
+            default: {
+                final LongObjPredicate<? super T>[] all = predicates.clone();
+                return (index, t) -> {
+                    for (LongObjPredicate<? super T> predicate : all) {
+                        if (!predicate.test(index, t)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+        }
+    }
+}
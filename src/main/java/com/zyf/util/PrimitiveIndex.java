@@ -0,0 +1,149 @@
+package com.zyf.util;
+
+import java.util.Arrays;
+
+// 内部类，IntObjectMap/LongObjectMap/IntIntMap 共用的键索引：把 long 键映射为按插入顺序编号的条目下标，键不装箱。
+// 键的取值范围较窄（不超过 max(DENSE_MIN, 4 * 键个数)）时使用直接寻址的数组，下标即 键 - base；
+// 范围变宽后自动切换为开放寻址（线性探测）的哈希表，扩容时若范围重新变窄再切回数组。只增不删，非线程安全
+final class PrimitiveIndex {
+
+    // 数组模式允许的最小范围，键较少时也能使用数组
+    private static final int DENSE_MIN = 256;
+
+    // 按插入顺序排列的键
+    private long[] keys;
+    private int size;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    // 条目下标 + 1，0 表示空槽。数组模式下长度为覆盖的范围，哈希模式下长度为 2 的幂，装载因子不超过 1/2
+    private int[] slots = new int[0];
+    private boolean dense = true;
+    // 数组模式：slots[0] 对应的键
+    private long base;
+    // 哈希模式
+    private int mask;
+
+    PrimitiveIndex(int expectedSize) {
+        keys = new long[Math.max(expectedSize, 4)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    long keyAt(int entry) {
+        return keys[entry];
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    boolean isDense() {
+        return dense;
+    }
+
+    /**
+     * 返回键的条目下标，不存在时返回 -1
+     */
+    int indexOf(long key) {
+        if (dense) {
+            final long offset = key - base;
+            // 减法溢出时 offset 的符号与实际相反，再用 key 与 base 的大小关系排除
+            if (offset < 0 || offset >= slots.length || key < base) {
+                return -1;
+            }
+            return slots[(int) offset] - 1;
+        }
+        for (int slot = Hashes.mix(key) & mask; ; slot = (slot + 1) & mask) {
+            final int entry = slots[slot] - 1;
+            if (entry < 0 || keys[entry] == key) {
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * 返回键的条目下标，不存在时追加为新条目；返回值等于追加前的 size() 时表示新加入
+     */
+    int getOrAdd(long key) {
+        if (dense) {
+            final long offset = key - base;
+            if (offset >= 0 && offset < slots.length && key >= base) {
+                final int entry = slots[(int) offset] - 1;
+                if (entry >= 0) {
+                    return entry;
+                }
+                final int added = append(key);
+                slots[(int) offset] = added + 1;
+                return added;
+            }
+            // 超出当前数组：扩大数组或切换为哈希表后重新定位
+            final int added = append(key);
+            reindex();
+            return added;
+        }
+        int slot = Hashes.mix(key) & mask;
+        for (int entry; (entry = slots[slot] - 1) >= 0; slot = (slot + 1) & mask) {
+            if (keys[entry] == key) {
+                return entry;
+            }
+        }
+        final int added = append(key);
+        if ((size << 1) > slots.length) {
+            reindex();
+        } else {
+            slots[slot] = added + 1;
+        }
+        return added;
+    }
+
+    private int append(long key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+        }
+        keys[size] = key;
+        if (key < min) {
+            min = key;
+        }
+        if (key > max) {
+            max = key;
+        }
+        return size++;
+    }
+
+    // 根据当前的键范围选择模式并重建 slots，新加入的键也在其中
+    private void reindex() {
+        final long range = max - min + 1;
+        // range <= 0 表示溢出，范围超过 long 能表示的值
+        final long allowed = Math.max(DENSE_MIN, 4L * size);
+        if (range > 0 && range <= allowed) {
+            // 预留空间，按当前增长方向扩大，减少数组模式下反复扩容
+            final long length = Math.min(allowed, Math.max(range, (long) slots.length << 1));
+            final boolean growingDown = dense && slots.length > 0 && min < base;
+            base = growingDown ? max - (length - 1) : min;
+            if (base > min) {
+                // 向下扩展时溢出
+                base = min;
+            }
+            slots = new int[(int) length];
+            dense = true;
+            for (int entry = 0; entry < size; entry++) {
+                slots[(int) (keys[entry] - base)] = entry + 1;
+            }
+            return;
+        }
+        final int length = Integer.highestOneBit(Math.max(size, 4) * 4 - 1);
+        slots = new int[length];
+        mask = length - 1;
+        dense = false;
+        for (int entry = 0; entry < size; entry++) {
+            int slot = Hashes.mix(keys[entry]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = entry + 1;
+        }
+    }
+}
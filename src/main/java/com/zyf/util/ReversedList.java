@@ -0,0 +1,40 @@
+package com.zyf.util;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+// 内部类，RandomAccess 列表的逆序只读视图：reversed() 不复制、也不修改源列表，O(1) 创建。
+// 长度在每次访问时按源列表的当前长度计算，保持流的延迟求值语义
+final class ReversedList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<T> list;
+
+    private ReversedList(List<T> list) {
+        this.list = list;
+    }
+
+    /**
+     * 逆序视图，对逆序视图再次逆序时直接返回源列表
+     */
+    static <T> List<T> of(List<T> list) {
+        if (list instanceof ReversedList<T> reversed) {
+            return reversed.list;
+        }
+        return new ReversedList<>(list);
+    }
+
+    @Override
+    public T get(int index) {
+        final int size = list.size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return list.get(size - 1 - index);
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+}
@@ -0,0 +1,44 @@
+package com.zyf.util;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+// 内部类，固定容量的环形缓冲区，对外是只读的列表视图：滑动窗口在尾部追加、在头部移除，不移动也不复制元素
+final class RingWindow<E> extends AbstractList<E> implements RandomAccess {
+
+    private final Object[] elements;
+    private int head;
+    private int size;
+
+    RingWindow(int capacity) {
+        this.elements = new Object[capacity];
+    }
+
+    void addLast(E element) {
+        elements[(head + size) % elements.length] = element;
+        size++;
+    }
+
+    void removeFirst(int n) {
+        for (int i = 0; i < n; i++) {
+            // 释放引用
+            elements[(head + i) % elements.length] = null;
+        }
+        head = (head + n) % elements.length;
+        size -= n;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (E) elements[(head + index) % elements.length];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
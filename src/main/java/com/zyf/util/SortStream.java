@@ -25,27 +25,8 @@ public final class SortStream<T> {
             throw new IllegalArgumentException("nullPosition must be either NullFirst or NullLast");
         }
 
-        // 基础比较器
-
-        return (o1, o2) -> {
-            U key1 = keyExtractor.apply(o1);
-            U key2 = keyExtractor.apply(o2);
-
-            // 处理空值情况
-            if (key1 == null && key2 == null) {
-                return 0;
-            }
-            if (key1 == null) {
-                return nullPosition == Sort.NullFirst ? -1 : 1;
-            }
-            if (key2 == null) {
-                return nullPosition == Sort.NullFirst ? 1 : -1;
-            }
-
-            // 正常比较
-            int comparison = key1.compareTo(key2);
-            return order == Sort.Asc ? comparison : -comparison;
-        };
+        // 携带键提取函数的比较器，ListStream 排序时会先提取键再排序
+        return new KeyComparator<>(keyExtractor, order, nullPosition);
     }
 
     /**
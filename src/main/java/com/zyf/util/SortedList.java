@@ -0,0 +1,188 @@
+package com.zyf.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+// 内部类，延迟排序的列表：ListStream 的排序方法返回它，首次访问元素时才排序。
+// 在此之前调用 take(n) 会记录下 limit，排序时改用大小为 n 的堆只选出前 n 个元素（O(n log k) 时间，O(k) 内存）
+// 排序中的异常（元素不是 Comparable、比较器抛出异常）因此也推迟到首次访问元素时抛出；排序失败不缓存结果，再次访问会重新排序并再次抛出
+final class SortedList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final ListStream<T> upstream;
+    // 为 null 时按自然顺序
+    private final Comparator<? super T> comparator;
+    // 不为 null 时先提取键再排序
+    private final List<KeyComparator<T, ?>> keyComparators;
+    private final int limit;
+
+    private volatile List<T> sorted;
+
+    SortedList(ListStream<T> upstream, Comparator<? super T> comparator, List<KeyComparator<T, ?>> keyComparators) {
+        this(upstream, comparator, keyComparators, Integer.MAX_VALUE);
+    }
+
+    private SortedList(ListStream<T> upstream, Comparator<? super T> comparator,
+                       List<KeyComparator<T, ?>> keyComparators, int limit) {
+        this.upstream = upstream;
+        this.comparator = comparator;
+        this.keyComparators = keyComparators;
+        this.limit = limit;
+    }
+
+    /**
+     * 未排序时返回只保留前 n 个元素的新列表，已排序时返回 null 由调用方按普通 limit 处理
+     */
+    SortedList<T> limit(int n) {
+        if (sorted != null) {
+            return null;
+        }
+        return new SortedList<>(upstream, comparator, keyComparators, Math.min(limit, n));
+    }
+
+    // 执行排序并返回结果列表
+    List<T> toSortedList() {
+        return sorted();
+    }
+
+    private List<T> sorted() {
+        List<T> result = sorted;
+        if (result == null) {
+            synchronized (this) {
+                result = sorted;
+                if (result == null) {
+                    result = limit == Integer.MAX_VALUE ? sortAll() : selectFirst(limit);
+                    sorted = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 先复制到数组再排序，不修改源集合。
+     * 元素个数达到 parallelSortThreshold 或处于 parallel() 模式时使用 Arrays.parallelSort，结果与顺序排序完全一致（都是稳定排序）
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> sortAll() {
+        Object[] array = upstream.toList().toArray();
+        boolean parallel = upstream.isParallel() || array.length >= ListStream.getParallelSortThreshold();
+        if (keyComparators != null) {
+            array = KeyComparator.sort(array, keyComparators, parallel);
+        } else if (parallel) {
+            Arrays.parallelSort((T[]) array, comparator);
+        } else {
+            Arrays.sort((T[]) array, comparator);
+        }
+        return new ArrayList<>(Arrays.asList((T[]) array));
+    }
+
+    // 堆中的元素：键只提取一次，index 用于相同键时保持原有顺序
+    private record Entry<T>(Object key, long index, T element) {
+    }
+
+    /**
+     * 用大小为 n 的堆选出排序后的前 n 个元素，相同键按原顺序，与完整排序后取前 n 个的结果一致
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> selectFirst(int n) {
+        if (n == 0) {
+            return new ArrayList<>();
+        }
+        final Function<T, Object> keyOf;
+        final Comparator<Object> keyOrder;
+        if (keyComparators == null) {
+            keyOf = element -> element;
+            keyOrder = comparator == null ? (Comparator<Object>) (Comparator<?>) Comparator.naturalOrder() : (Comparator<Object>) comparator;
+        } else if (keyComparators.size() == 1) {
+            final KeyComparator<T, Comparable<Object>> keyComparator = (KeyComparator<T, Comparable<Object>>) keyComparators.get(0);
+            keyOf = keyComparator::key;
+            keyOrder = (k1, k2) -> keyComparator.compareKeys((Comparable<Object>) k1, (Comparable<Object>) k2);
+        } else {
+            final KeyComparator<T, Comparable<Object>>[] all = keyComparators.toArray(new KeyComparator[0]);
+            keyOf = element -> {
+                final Object[] keys = new Object[all.length];
+                for (int i = 0; i < all.length; i++) {
+                    keys[i] = all[i].key(element);
+                }
+                return keys;
+            };
+            keyOrder = (k1, k2) -> {
+                for (int i = 0; i < all.length; i++) {
+                    final int c = all[i].compareKeys((Comparable<Object>) ((Object[]) k1)[i], (Comparable<Object>) ((Object[]) k2)[i]);
+                    if (c != 0) {
+                        return c;
+                    }
+                }
+                return 0;
+            };
+        }
+
+        final Comparator<Entry<T>> order = (e1, e2) -> {
+            final int c = keyOrder.compare(e1.key(), e2.key());
+            return c != 0 ? c : Long.compare(e1.index(), e2.index());
+        };
+        // 堆顶是当前保留的元素中排在最后的一个
+        final PriorityQueue<Entry<T>> heap = new PriorityQueue<>(Math.min(n, 1024), order.reversed());
+        final long[] index = {0};
+        upstream.forEach(element -> {
+            final Object key = keyOf.apply(element);
+            final long i = index[0]++;
+            if (heap.size() < n) {
+                heap.add(new Entry<>(key, i, element));
+            } else if (keyOrder.compare(key, heap.peek().key()) < 0) {
+                // 新元素下标更大，键相同时排在堆顶之后，只有键更小才替换
+                heap.poll();
+                heap.add(new Entry<>(key, i, element));
+            }
+        });
+
+        final List<Entry<T>> entries = new ArrayList<>(heap);
+        entries.sort(order);
+        final List<T> result = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            result.add(entry.element());
+        }
+        return result;
+    }
+
+    @Override
+    public T get(int index) {
+        return sorted().get(index);
+    }
+
+    @Override
+    public int size() {
+        return sorted().size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return sorted().iterator();
+    }
+
+    // 支持修改，与排序后返回的 ArrayList 行为一致
+
+    @Override
+    public T set(int index, T element) {
+        return sorted().set(index, element);
+    }
+
+    @Override
+    public void add(int index, T element) {
+        sorted().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public T remove(int index) {
+        modCount++;
+        return sorted().remove(index);
+    }
+}
@@ -1,9 +1,9 @@
 package com.zyf.util;
 
-import java.io.*;
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -138,23 +138,126 @@ public class X {
         return new Diff2<T, R>().setAddList(addList).setDelList(delList).setUpdateMap(map);
     }
 
-    public static <T> T clone(T obj) {
-        if (!(obj instanceof Serializable)) {
-            throw new RuntimeException("对象没有实现 Serializable 接口");
+    /**
+     * 按键计算两个列表之间的差别，通过哈希索引一次完成匹配，时间复杂度 O(n+m)。
+     * 结果与 {@link #getDiff(List, List, BiFunction)} 在比较逻辑为 “键相等” 时完全一致
+     *
+     * @param <T>          待处理列表中元素的类型
+     * @param <K>          用于匹配的键的类型，需要正确实现 equals/hashCode
+     * @param oldList      旧的列表数据，不能为 null
+     * @param newList      新的列表数据，不能为 null
+     * @param keyExtractor 从元素中提取匹配键的函数，新旧列表共用
+     * @return 包含 新增元素列表，删除元素列表，已存在元素与新值的映射
+     */
+    public static <T, K> Diff<T> getDiff(List<T> oldList,
+                                         List<T> newList,
+                                         Function<T, K> keyExtractor) {
+        return getDiff(oldList, newList, keyExtractor, keyExtractor);
+    }
+
+    /**
+     * 按键计算两个列表之间的差别，新旧列表分别使用各自的键提取函数，时间复杂度 O(n+m)
+     *
+     * @param <T>             待处理列表中元素的类型
+     * @param <K>             用于匹配的键的类型，需要正确实现 equals/hashCode
+     * @param oldList         旧的列表数据，不能为 null
+     * @param newList         新的列表数据，不能为 null
+     * @param oldKeyExtractor 从旧列表元素中提取匹配键的函数
+     * @param newKeyExtractor 从新列表元素中提取匹配键的函数
+     * @return 包含 新增元素列表，删除元素列表，已存在元素与新值的映射
+     */
+    public static <T, K> Diff<T> getDiff(List<T> oldList,
+                                         List<T> newList,
+                                         Function<T, K> oldKeyExtractor,
+                                         Function<T, K> newKeyExtractor) {
+        final Diff2<T, T> diff = getDiff2(oldList, newList, oldKeyExtractor, newKeyExtractor);
+        return new Diff<T>().setAddList(diff.getAddList()).setDelList(diff.getDelList()).setUpdateMap(diff.getUpdateMap());
+    }
+
+    /**
+     * 按键计算两个不同类型列表之间的差别，通过哈希索引一次完成匹配，时间复杂度 O(n+m)。
+     * 结果与 {@link #getDiff2(List, List, BiFunction)} 在比较逻辑为 “键相等” 时完全一致：
+     * 已存在元素对应新列表中第一个键相同的元素
+     *
+     * @param <T>             旧列表中元素的类型
+     * @param <R>             新列表中元素的类型
+     * @param <K>             用于匹配的键的类型，需要正确实现 equals/hashCode
+     * @param oldList         旧的列表数据，不能为 null
+     * @param newList         新的列表数据，不能为 null
+     * @param oldKeyExtractor 从旧列表元素中提取匹配键的函数
+     * @param newKeyExtractor 从新列表元素中提取匹配键的函数
+     * @return 包含 新增元素列表，删除元素列表，已存在元素与新值的映射
+     */
+    public static <T, R, K> Diff2<T, R> getDiff2(List<T> oldList,
+                                                 List<R> newList,
+                                                 Function<T, K> oldKeyExtractor,
+                                                 Function<R, K> newKeyExtractor) {
+        Objects.requireNonNull(oldKeyExtractor, "oldKeyExtractor cannot be null");
+        Objects.requireNonNull(newKeyExtractor, "newKeyExtractor cannot be null");
+
+        // 为新列表建立索引，相同键只保留第一个元素
+        final int newSize = newList.size();
+        final Object[] newKeys = new Object[newSize];
+        final Map<K, R> newIndex = new HashMap<>(Math.max(16, (int) (newSize / 0.75f) + 1));
+        int i = 0;
+        for (R r : newList) {
+            final K key = newKeyExtractor.apply(r);
+            newKeys[i++] = key;
+            if (!newIndex.containsKey(key)) {
+                newIndex.put(key, r);
+            }
         }
-        try {
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            ObjectOutputStream oos = new ObjectOutputStream(bos);
-            oos.writeObject(obj);
-            oos.close();
-            ByteArrayInputStream bis = new ByteArrayInputStream(bos.toByteArray());
-            ObjectInputStream ois = new ObjectInputStream(bis);
-            Object newObj = ois.readObject();
-            ois.close();
-            return (T) newObj;
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+
+        // 遍历旧列表，命中索引即为已存在，否则为删除
+        final Set<Object> oldKeys = new HashSet<>(Math.max(16, (int) (oldList.size() / 0.75f) + 1));
+        final Map<T, R> map = new LinkedHashMap<>();
+        final List<T> delList = new ArrayList<>();
+        for (T t : oldList) {
+            final K key = oldKeyExtractor.apply(t);
+            oldKeys.add(key);
+            if (newIndex.containsKey(key)) {
+                map.put(t, newIndex.get(key));
+            } else {
+                delList.add(t);
+            }
+        }
+
+        // 新列表中键不在旧列表里的即为新增
+        final List<R> addList = new ArrayList<>();
+        i = 0;
+        for (R r : newList) {
+            if (!oldKeys.contains(newKeys[i++])) {
+                addList.add(r);
+            }
+        }
+
+        return new Diff2<T, R>().setAddList(addList).setDelList(delList).setUpdateMap(map);
+    }
+
+    /**
+     * 深拷贝，不要求实现 Serializable：按类缓存复制计划，保留对象图中的共享引用与循环引用，
+     * String、包装类型、java.time、枚举等不可变对象直接共享
+     */
+    public static <T> T clone(T obj) {
+        return DeepCopier.copy(obj);
+    }
+
+    /**
+     * 逐个元素深拷贝，元素之间互不共享副本
+     */
+    public static <T> List<T> cloneList(List<T> list) {
+        return cloneList(list, false);
+    }
+
+    /**
+     * 逐个元素深拷贝，parallel 为 true 时并行复制，结果顺序与原集合一致
+     */
+    public static <T> List<T> cloneList(List<T> list, boolean parallel) {
+        if (list == null) {
+            return new ArrayList<>();
         }
+        final ListStream<T> stream = list(list);
+        return (parallel ? stream.parallel() : stream).map(DeepCopier::copy).toList();
     }
 
     // 静态方法，返回一个流的包装类
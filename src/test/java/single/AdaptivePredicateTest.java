@@ -0,0 +1,131 @@
+package single;
+
+import com.zyf.util.AdaptivePredicate;
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AdaptivePredicateTest {
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    // 人为变慢的条件
+    private static Predicate<Integer> slow(Predicate<Integer> predicate, AtomicInteger calls) {
+        return i -> {
+            calls.incrementAndGet();
+            long sum = 0;
+            for (int k = 0; k < 2_000; k++) {
+                sum += k ^ i;
+            }
+            return sum != -1 && predicate.test(i);
+        };
+    }
+
+    /**
+     * 测试目的：验证自适应与的结果与顺序执行一致，并把便宜且选择性高的条件排到前面。
+     * 测试要求：慢且几乎都通过的条件在前，便宜且几乎都不通过的条件在后。
+     * 测试功能：采样后调整执行顺序。
+     * 测试范围：大集合。
+     * 测试结果：结果一致，选定顺序把慢条件排到最后，慢条件的调用次数大幅减少。
+     */
+    @Test
+    @Order(1)
+    void testAndReorders() {
+        List<Integer> list = range(20_000);
+        AtomicInteger slowCalls = new AtomicInteger();
+        AdaptivePredicate<Integer> adaptive = AdaptivePredicate.and(256,
+                slow(i -> i >= 0, slowCalls), i -> i % 10 != 1, i -> i % 100 == 0);
+        List<Integer> result = X.list(list).filter(adaptive).toList();
+
+        assertEquals(X.list(list).filters(i -> i % 10 != 1, i -> i % 100 == 0).toList(), result);
+        assertTrue(adaptive.isAdapted());
+        // 两个便宜条件的耗时都接近计时精度，相对顺序取决于计时噪声，只断言慢条件被排到最后
+        assertEquals(0, adaptive.order()[2]);
+        assertEquals(1.0, adaptive.selectivities()[0]);
+        assertEquals(0.01, adaptive.selectivities()[2], 0.01);
+        assertTrue(slowCalls.get() < 256 + 20_000 / 50, "slow calls: " + slowCalls.get());
+        assertTrue(adaptive.toString().contains("order=["));
+    }
+
+    /**
+     * 测试目的：验证自适应或的结果与顺序执行一致。
+     * 测试要求：filterOrsAdaptive与filterOrs对比，采样数大于元素个数。
+     * 测试功能：或语义不变。
+     * 测试范围：各种数据量。
+     * 测试结果：结果一致，采样未完成时按声明顺序。
+     */
+    @Test
+    @Order(2)
+    void testOrSemantics() {
+        for (int size : new int[]{0, 10, 5_000}) {
+            List<Integer> list = range(size);
+            assertEquals(X.list(list).filterOrs(i -> i % 7 == 0, i -> i % 11 == 0, i -> i > 4_990).toList(),
+                    X.list(list).filterOrsAdaptive(i -> i % 7 == 0, i -> i % 11 == 0, i -> i > 4_990).toList());
+            assertEquals(X.list(list).filters(i -> i % 2 == 0, i -> i % 5 == 0).toList(),
+                    X.list(list).filtersAdaptive(i -> i % 2 == 0, i -> i % 5 == 0).toList());
+        }
+
+        AdaptivePredicate<Integer> or = AdaptivePredicate.or(100, i -> i > 5, i -> i < 0);
+        X.list(range(10)).filter(or).toList();
+        assertFalse(or.isAdapted());
+        assertArrayEquals(new int[]{0, 1}, or.order());
+        assertEquals(0.4, or.selectivities()[0], 1e-9);
+
+        assertTrue(AdaptivePredicate.<Integer>and().test(1));
+        assertFalse(AdaptivePredicate.<Integer>or().test(1));
+        assertThrows(IllegalArgumentException.class, () -> AdaptivePredicate.and(0, i -> true));
+    }
+
+    /**
+     * 测试目的：验证前面的保护条件不会被越过。
+     * 测试要求：非空判断在前、依赖非空的条件在后；采样后非空判断被排到后面，之后出现null元素。
+     * 测试功能：短路采样与抛出异常时退回声明顺序。
+     * 测试范围：采样阶段与采样之后。
+     * 测试结果：结果与filters相同，不抛出NullPointerException，执行顺序退回声明顺序。
+     */
+    @Test
+    @Order(3)
+    void testNullGuard() {
+        List<String> withNull = Arrays.asList("abc", null, "de");
+        assertEquals(List.of("abc"), X.list(withNull).filters(Objects::nonNull, s -> s.length() > 2).toList());
+        assertEquals(List.of("abc"), X.list(withNull).filtersAdaptive(Objects::nonNull, s -> s.length() > 2).toList());
+        assertEquals(Arrays.asList("abc", null), X.list(withNull).filterOrsAdaptive(Objects::isNull, s -> s.length() > 2).toList());
+
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i % 10 == 0 ? "long" : "s");
+        }
+        list.add(null);
+        list.add("tail");
+        AdaptivePredicate<String> guarded = AdaptivePredicate.and(16, Objects::nonNull, s -> s.length() > 2);
+        X.list(list.subList(0, 16)).filter(guarded).toList();
+        // 非空判断在采样中总是通过，被排到后面
+        assertArrayEquals(new int[]{1, 0}, guarded.order());
+
+        List<String> result = X.list(list).filter(guarded).toList();
+        assertEquals(X.list(list).filters(Objects::nonNull, s -> s.length() > 2).toList(), result);
+        assertArrayEquals(new int[]{0, 1}, guarded.order());
+    }
+}
@@ -0,0 +1,142 @@
+package single;
+
+import com.zyf.util.ListStream;
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BidirectionalTest {
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    // 统计 get 调用次数的 RandomAccess 列表
+    static class CountingList extends AbstractList<Integer> implements RandomAccess {
+        final List<Integer> delegate;
+        final AtomicInteger gets = new AtomicInteger();
+
+        CountingList(List<Integer> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Integer get(int index) {
+            gets.incrementAndGet();
+            return delegate.get(index);
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+    }
+
+    /**
+     * 测试目的：验证last系列在列表上从末尾逆向查找。
+     * 测试要求：统计源列表的get次数，包含条件与不包含条件。
+     * 测试功能：逆向扫描。
+     * 测试范围：RandomAccess列表、LinkedList、ArrayDeque、TreeSet。
+     * 测试结果：只访问末尾附近的元素，结果与正向扫描一致。
+     */
+    @Test
+    @Order(1)
+    void testLastScansBackward() {
+        CountingList list = new CountingList(range(100_000));
+        assertEquals(99_999, X.list(list).last());
+        assertEquals(99_999, X.list(list).lastOrNull());
+        assertEquals(99_990, X.list(list).last(i -> i % 10 == 0));
+        assertEquals(99_990, X.list(list).lastOrNull(i -> i % 10 == 0, i -> i > 5));
+        assertEquals(22, list.gets.get());
+        assertNull(X.list(list).lastOrNull(i -> i < 0));
+        assertThrows(IllegalCallerException.class, () -> X.list(list).last(i -> i < 0));
+
+        assertEquals(9, X.list(new LinkedList<>(range(10))).last());
+        assertEquals(8, ListStream.of(new ArrayDeque<>(range(10))).last(i -> i % 2 == 0));
+        assertEquals(9, ListStream.of(new TreeSet<>(range(10))).lastOrNull());
+        assertEquals(18, X.list(range(10)).map(i -> i * 2).last());
+        assertNull(X.list(new ArrayList<Integer>()).lastOrNull());
+        assertThrows(IllegalCallerException.class, () -> X.list(Arrays.asList(1, null)).last());
+    }
+
+    /**
+     * 测试目的：验证reversed()是O(1)视图且不修改源列表。
+     * 测试要求：对调用方的列表逆序后检查源列表，以及多种源头。
+     * 测试功能：逆序视图。
+     * 测试范围：ArrayList、LinkedList、ArrayDeque、非集合源头。
+     * 测试结果：源列表不变，结果正确，toList结果可修改。
+     */
+    @Test
+    @Order(2)
+    void testReversedView() {
+        List<Integer> list = range(5);
+        List<Integer> reversed = X.list(list).reversed().toList();
+        assertEquals(Arrays.asList(4, 3, 2, 1, 0), reversed);
+        assertEquals(range(5), list);
+        reversed.add(-1);
+        assertEquals(5, list.size());
+
+        CountingList counting = new CountingList(range(100_000));
+        assertEquals(Arrays.asList(99_999, 99_998), X.list(counting).reversed().take(2).toList());
+        assertEquals(2, counting.gets.get());
+
+        assertEquals(Arrays.asList(4, 3, 2, 1, 0), X.list(new LinkedList<>(range(5))).reversed().toList());
+        assertEquals(Arrays.asList(4, 3, 2, 1, 0), ListStream.of(new ArrayDeque<>(range(5))).reversed().toList());
+        assertEquals(Arrays.asList(8, 6, 4, 2, 0), X.list(range(5)).map(i -> i * 2).reversed().toList());
+        assertEquals(5, X.list(range(5)).filter(i -> true).reversed().count());
+    }
+
+    /**
+     * 测试目的：验证takeLast/dropLast在各种源头上的结果。
+     * 测试要求：n为0、小于长度、等于长度、大于长度、负数。
+     * 测试功能：取末尾元素与移除末尾元素。
+     * 测试范围：RandomAccess列表、LinkedList、元素个数已知与未知的流。
+     * 测试结果：与按下标截取的结果一致。
+     */
+    @Test
+    @Order(3)
+    void testTakeLastAndDropLast() {
+        for (int size = 0; size <= 6; size++) {
+            List<Integer> list = range(size);
+            for (int n = -1; n <= 8; n++) {
+                List<Integer> expectedLast = n < 0 ? list : list.subList(Math.max(0, size - n), size);
+                List<Integer> expectedDrop = n < 0 ? list : list.subList(0, Math.max(0, size - n));
+                List<ListStream<Integer>> streams = Arrays.asList(
+                        X.list(list), X.list(new LinkedList<>(list)), X.list(list).map(i -> i), X.list(list).filter(i -> true));
+                for (ListStream<Integer> stream : streams) {
+                    assertEquals(expectedLast, stream.takeLast(n).toList(), "size=" + size + " n=" + n);
+                    assertEquals(expectedDrop, stream.dropLast(n).toList(), "size=" + size + " n=" + n);
+                    assertEquals(expectedLast.size(), stream.takeLast(n).count());
+                    assertEquals(expectedDrop.size(), stream.dropLast(n).count());
+                }
+            }
+        }
+
+        CountingList counting = new CountingList(range(100_000));
+        assertEquals(Arrays.asList(99_998, 99_999), X.list(counting).takeLast(2).toList());
+        assertEquals(2, counting.gets.get());
+        assertEquals(Collections.singletonList(0), X.list(range(3)).reversed().takeLast(1).toList());
+    }
+}
@@ -0,0 +1,145 @@
+package single;
+
+import com.zyf.util.ListStream;
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CacheTest {
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    /**
+     * 测试目的：验证cache()之后多次终端操作只执行一次上游。
+     * 测试要求：filter+map后缓存，依次count/toList/groupBy/sum。
+     * 测试功能：缓存。
+     * 测试范围：普通集合。
+     * 测试结果：结果正确，上游函数对每个元素只调用一次。
+     */
+    @Test
+    @Order(1)
+    void testEvaluatedOnce() {
+        List<Integer> list = range(1_000);
+        AtomicInteger calls = new AtomicInteger();
+        ListStream<Integer> stream = X.list(list).filter(i -> {
+            calls.incrementAndGet();
+            return i % 2 == 0;
+        }).map(i -> i * 3).cache();
+        assertEquals(0, calls.get());
+        assertEquals(500, stream.count());
+        assertEquals(500, stream.toList().size());
+        assertEquals(2, stream.groupBy(i -> i % 4 == 0).toMap().size());
+        assertEquals(0, stream.first());
+        assertEquals(1_000, calls.get());
+
+        List<Integer> copy = stream.toList();
+        copy.clear();
+        assertEquals(500, stream.toList().size());
+        assertSame(stream, stream.memoize());
+    }
+
+    /**
+     * 测试目的：验证只遍历了一部分时前缀被复用。
+     * 测试要求：先take(n)，再完整遍历。
+     * 测试功能：增量缓存。
+     * 测试范围：普通集合。
+     * 测试结果：前缀不会被重复计算。
+     */
+    @Test
+    @Order(2)
+    void testPrefixReused() {
+        AtomicInteger calls = new AtomicInteger();
+        ListStream<Integer> stream = X.list(range(100)).map(i -> {
+            calls.incrementAndGet();
+            return i;
+        }).cache();
+        assertEquals(Arrays.asList(0, 1, 2), stream.take(3).toList());
+        assertEquals(3, calls.get());
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), stream.take(5).toList());
+        assertEquals(5, calls.get());
+        assertEquals(range(100), stream.toList());
+        assertEquals(100, calls.get());
+    }
+
+    /**
+     * 测试目的：验证有状态阶段可以被多次遍历。
+     * 测试要求：distinct()/distinct(key)之后多次终端操作，不缓存。
+     * 测试功能：每次遍历独立的状态。
+     * 测试范围：含重复元素的集合。
+     * 测试结果：每次遍历结果一致。
+     */
+    @Test
+    @Order(3)
+    void testDistinctReiterable() {
+        ListStream<Integer> distinct = X.list(Arrays.asList(1, 2, 2, 3, 1)).filter(i -> true).distinct();
+        assertEquals(Arrays.asList(1, 2, 3), distinct.toList());
+        assertEquals(Arrays.asList(1, 2, 3), distinct.toList());
+        assertEquals(3, distinct.count());
+
+        AtomicInteger keys = new AtomicInteger();
+        ListStream<Integer> distinctBy = X.list(Arrays.asList(1, 2, 3, 4, 5)).distinct(i -> {
+            keys.incrementAndGet();
+            return i % 2;
+        });
+        assertEquals(Arrays.asList(1, 2), distinctBy.toList());
+        assertEquals(Arrays.asList(1, 2), distinctBy.toList());
+        assertEquals(10, keys.get());
+    }
+
+    /**
+     * 测试目的：验证多线程同时遍历同一个缓存流。
+     * 测试要求：多个线程同时对未缓存的流执行toList。
+     * 测试功能：线程安全。
+     * 测试范围：大集合。
+     * 测试结果：每个线程得到完整结果，上游每个元素只计算一次。
+     */
+    @Test
+    @Order(4)
+    void testConcurrentTraversal() throws Exception {
+        List<Integer> list = range(100_000);
+        AtomicInteger calls = new AtomicInteger();
+        ListStream<Integer> stream = X.list(list).map(i -> {
+            calls.incrementAndGet();
+            return i;
+        }).cache();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> {
+                    List<Integer> result = new ArrayList<>();
+                    for (Integer value : stream.filter(v -> true).toList()) {
+                        result.add(value);
+                    }
+                    return result;
+                }));
+            }
+            for (Future<List<Integer>> future : futures) {
+                assertEquals(list, future.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(list.size(), calls.get());
+    }
+}
@@ -0,0 +1,129 @@
+package single;
+
+import com.zyf.util.ListStream;
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CharacteristicsTest {
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    /**
+     * 测试目的：验证个数不变的阶段之后count()不再遍历。
+     * 测试要求：map/peek/sort/plus/mapIndexed之后计数。
+     * 测试功能：SIZED特征传递。
+     * 测试范围：普通集合。
+     * 测试结果：返回正确个数，map函数没有被调用。
+     */
+    @Test
+    @Order(1)
+    void testCountWithoutTraversal() {
+        List<Integer> list = range(1_000);
+        AtomicInteger calls = new AtomicInteger();
+        ListStream<Integer> stream = X.list(list)
+                .map(i -> {
+                    calls.incrementAndGet();
+                    return i * 2;
+                })
+                .peek(i -> calls.incrementAndGet())
+                .sortDesc(i -> i)
+                .plus(-1)
+                .plus(Arrays.asList(1, 2, 3));
+        assertEquals(1_004, stream.count());
+        assertEquals(1_004, stream.exactSizeIfKnown());
+        assertFalse(stream.isEmpty());
+        assertEquals(0, calls.get());
+        assertEquals(1_000, X.list(list).mapIndexed((idx, v) -> idx + v).count());
+
+        assertEquals(-1, X.list(list).filter(i -> i > 10).exactSizeIfKnown());
+        assertEquals(989, X.list(list).filter(i -> i > 10).count());
+    }
+
+    /**
+     * 测试目的：验证skip/take/sub/windowed/zip的个数推算。
+     * 测试要求：非RandomAccess集合与各种窗口参数。
+     * 测试功能：个数推算。
+     * 测试范围：LinkedList。
+     * 测试结果：推算的个数与实际遍历的个数一致。
+     */
+    @Test
+    @Order(2)
+    void testDerivedSizes() {
+        for (int n = 0; n <= 12; n++) {
+            List<Integer> list = new LinkedList<>(range(n));
+            assertEquals(X.list(list).filter(i -> true).skip(3).count(), X.list(list).skip(3).exactSizeIfKnown());
+            assertEquals(X.list(list).filter(i -> true).take(4).count(), X.list(list).take(4).exactSizeIfKnown());
+            assertEquals(X.list(list).filter(i -> true).sub(2, 7).count(), X.list(list).sub(2, 7).exactSizeIfKnown());
+            for (int size = 1; size <= 5; size++) {
+                for (int step = 1; step <= 6; step++) {
+                    for (boolean partial : new boolean[]{true, false}) {
+                        ListStream<List<Integer>> windows = X.list(list).windowed(size, step, partial);
+                        assertEquals(windows.toList().size(), windows.count(),
+                                "n=" + n + " size=" + size + " step=" + step + " partial=" + partial);
+                    }
+                }
+            }
+        }
+        assertEquals(3, X.list(range(5)).zip(range(3)).toList().size());
+    }
+
+    /**
+     * 测试目的：验证已排序、已去重的流上sorted()/distinct()为空操作。
+     * 测试要求：sorted()/distinct()之后再次调用，TreeSet/HashSet源头。
+     * 测试功能：SORTED/DISTINCT特征。
+     * 测试范围：普通集合与Set。
+     * 测试结果：返回同一个流，结果不变。
+     */
+    @Test
+    @Order(3)
+    void testSortedAndDistinctNoOp() {
+        ListStream<Integer> sorted = X.list(Arrays.asList(3, 1, 2, 3)).sorted();
+        assertTrue(sorted.hasCharacteristics(Spliterator.SORTED | Spliterator.SIZED));
+        assertSame(sorted, sorted.sorted());
+        ListStream<Integer> filtered = sorted.filter(i -> i > 1);
+        assertTrue(filtered.hasCharacteristics(Spliterator.SORTED));
+        assertSame(filtered, filtered.sorted());
+        assertEquals(Arrays.asList(2, 3, 3), filtered.toList());
+
+        ListStream<Integer> distinct = sorted.distinct();
+        assertTrue(distinct.hasCharacteristics(Spliterator.SORTED | Spliterator.DISTINCT));
+        assertSame(distinct, distinct.distinct());
+        assertEquals(Arrays.asList(1, 2, 3), distinct.toList());
+        assertFalse(distinct.map(i -> i % 2).hasCharacteristics(Spliterator.DISTINCT));
+
+        ListStream<Integer> treeSet = ListStream.of(new TreeSet<>(Arrays.asList(5, 4, 6)));
+        assertSame(treeSet, treeSet.sorted());
+        assertSame(treeSet, treeSet.distinct());
+        ListStream<Integer> hashSet = ListStream.of(new HashSet<>(Arrays.asList(5, 4, 6)));
+        assertSame(hashSet, hashSet.distinct());
+        assertEquals(Arrays.asList(4, 5, 6), hashSet.sorted().toList());
+
+        ListStream<Integer> nonNull = X.list(Arrays.asList(1, null, 2)).filterNotNull();
+        assertTrue(nonNull.hasCharacteristics(Spliterator.NONNULL));
+        assertSame(nonNull, nonNull.filterNotNull());
+    }
+}
@@ -0,0 +1,185 @@
+package single;
+
+import com.zyf.util.ListStream;
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ChunkedParallelTest {
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 测试目的：验证split/chunked装满一块就立即回调。
+     * 测试要求：统计回调时源头已经拉取的元素个数。
+     * 测试功能：流式分块。
+     * 测试范围：非集合源头。
+     * 测试结果：第k块回调时只拉取了k*size个元素，结果与chunkedToList一致。
+     */
+    @Test
+    @Order(1)
+    void testStreamingDelivery() {
+        AtomicInteger pulls = new AtomicInteger();
+        Iterable<Integer> source = () -> new Iterator<>() {
+            int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < 10;
+            }
+
+            @Override
+            public Integer next() {
+                pulls.incrementAndGet();
+                return next++;
+            }
+        };
+        List<Integer> pullsAtDelivery = new ArrayList<>();
+        List<List<Integer>> chunks = new ArrayList<>();
+        ListStream.of(source).chunked(3, chunk -> {
+            pullsAtDelivery.add(pulls.get());
+            chunks.add(chunk);
+        });
+        assertEquals(List.of(3, 6, 9, 10), pullsAtDelivery);
+        assertEquals(X.list(range(10)).chunkedToList(3), chunks);
+        assertThrows(IllegalArgumentException.class, () -> X.list(range(3)).split(-1, chunk -> {
+        }));
+    }
+
+    /**
+     * 测试目的：验证chunkedParallel处理所有块且在途块数不超过上限。
+     * 测试要求：consumer中睡眠并统计同时执行的个数。
+     * 测试功能：有界并行。
+     * 测试范围：专用线程池与默认线程池。
+     * 测试结果：每个元素恰好处理一次，最大并发数不超过parallelism。
+     */
+    @Test
+    @Order(2)
+    void testBoundedInFlight() {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            AtomicInteger active = new AtomicInteger();
+            AtomicInteger maxActive = new AtomicInteger();
+            Set<Integer> seen = ConcurrentHashMap.newKeySet();
+            X.list(range(1_000)).parallel(pool).chunkedParallel(50, 3, chunk -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                sleep(5);
+                seen.addAll(chunk);
+                active.decrementAndGet();
+            });
+            assertEquals(1_000, seen.size());
+            assertTrue(maxActive.get() <= 3, "max active: " + maxActive.get());
+
+            AtomicInteger total = new AtomicInteger();
+            X.list(range(999)).chunkedParallel(100, 4, chunk -> total.addAndGet(chunk.size()));
+            assertEquals(999, total.get());
+        } finally {
+            pool.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> X.list(range(3)).chunkedParallel(0, 1, chunk -> {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> X.list(range(3)).chunkedParallel(1, 0, chunk -> {
+        }));
+    }
+
+    /**
+     * 测试目的：验证ordered模式下已完成的块始终是连续前缀。
+     * 测试要求：块的耗时随机，记录每个块开始时已完成的块。
+     * 测试功能：按提交顺序滑动的在途窗口。
+     * 测试范围：专用线程池。
+     * 测试结果：第k块开始时，第k-parallelism块及之前的块都已完成。
+     */
+    @Test
+    @Order(3)
+    void testOrderedWindow() {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            int parallelism = 3;
+            Set<Integer> completed = ConcurrentHashMap.newKeySet();
+            List<String> violations = Collections.synchronizedList(new ArrayList<>());
+            X.list(range(200)).parallel(pool).chunkedParallel(10, parallelism, true, true, chunk -> {
+                int index = chunk.get(0) / 10;
+                for (int earlier = 0; earlier <= index - parallelism; earlier++) {
+                    if (!completed.contains(earlier)) {
+                        violations.add(index + " started before " + earlier + " completed");
+                    }
+                }
+                sleep((index * 7) % 5);
+                completed.add(index);
+            });
+            assertEquals(20, completed.size());
+            assertEquals(List.of(), violations);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 测试目的：验证失败处理。
+     * 测试要求：部分块抛出异常，分别使用fail-fast与继续执行。
+     * 测试功能：fail-fast与异常汇总。
+     * 测试范围：专用线程池。
+     * 测试结果：fail-fast时停止提交新块，否则处理全部块；抛出第一个异常，其余异常作为suppressed。
+     */
+    @Test
+    @Order(4)
+    void testFailures() {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            AtomicInteger processed = new AtomicInteger();
+            IllegalStateException failFast = assertThrows(IllegalStateException.class, () ->
+                    X.list(range(1_000)).parallel(pool).chunkedParallel(10, 2, true, true, chunk -> {
+                        if (chunk.get(0) == 50) {
+                            throw new IllegalStateException("chunk 5");
+                        }
+                        processed.incrementAndGet();
+                    }));
+            assertEquals("chunk 5", failFast.getMessage());
+            assertTrue(processed.get() < 99, "processed: " + processed.get());
+
+            processed.set(0);
+            IllegalStateException all = assertThrows(IllegalStateException.class, () ->
+                    X.list(range(1_000)).parallel(pool).chunkedParallel(10, 2, false, false, chunk -> {
+                        if (chunk.get(0) % 300 == 0) {
+                            throw new IllegalStateException("chunk " + chunk.get(0) / 10);
+                        }
+                        processed.incrementAndGet();
+                    }));
+            assertEquals(96, processed.get());
+            assertEquals(3, all.getSuppressed().length);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package single;
+
+import com.zyf.util.X;
+import full.test.entity.User;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CloneTest {
+
+    // 没有实现 Serializable，也没有无参构造
+    static class Node {
+        final String name;
+        Node next;
+        final List<Node> children = new ArrayList<>();
+        int[] weights;
+        Date createTime;
+        LocalDate day;
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+
+    record Point(int x, int y, List<String> tags) {
+    }
+
+    // 继承有状态的 JDK 类型
+    static class MyDate extends Date {
+        List<String> tags = new ArrayList<>();
+
+        MyDate(long time) {
+            super(time);
+        }
+    }
+
+    /**
+     * 测试目的：验证普通对象的深拷贝。
+     * 测试要求：对象未实现Serializable且没有无参构造。
+     * 测试功能：逐字段复制。
+     * 测试范围：普通对象、数组、可变JDK类型。
+     * 测试结果：可变部分为新对象，不可变部分共享引用。
+     */
+    @Test
+    @Order(1)
+    void testCloneObject() {
+        Node node = new Node("a");
+        node.weights = new int[]{1, 2, 3};
+        node.createTime = new Date(0);
+        node.day = LocalDate.of(2024, 1, 1);
+        node.children.add(new Node("b"));
+
+        Node copy = X.clone(node);
+        assertNotSame(node, copy);
+        assertSame(node.name, copy.name);
+        assertSame(node.day, copy.day);
+        assertNotSame(node.weights, copy.weights);
+        assertArrayEquals(node.weights, copy.weights);
+        assertNotSame(node.createTime, copy.createTime);
+        assertEquals(node.createTime, copy.createTime);
+        assertNotSame(node.children, copy.children);
+        assertNotSame(node.children.get(0), copy.children.get(0));
+        assertEquals("b", copy.children.get(0).name);
+        assertNull(X.clone(null));
+    }
+
+    /**
+     * 测试目的：验证循环引用与共享引用。
+     * 测试要求：对象图中存在环以及多处引用同一对象。
+     * 测试功能：IdentityHashMap去重。
+     * 测试范围：循环对象图。
+     * 测试结果：副本保持相同的引用结构。
+     */
+    @Test
+    @Order(2)
+    void testCloneCycle() {
+        Node a = new Node("a");
+        Node b = new Node("b");
+        a.next = b;
+        b.next = a;
+        a.children.add(b);
+        a.children.add(a);
+
+        Node copy = X.clone(a);
+        assertSame(copy, copy.next.next);
+        assertSame(copy.next, copy.children.get(0));
+        assertSame(copy, copy.children.get(1));
+        assertNotSame(a.next, copy.next);
+    }
+
+    /**
+     * 测试目的：验证record与集合的深拷贝。
+     * 测试要求：record、List.of、Arrays.asList、TreeSet、HashMap。
+     * 测试功能：record通过规范构造器复制，集合通过API复制。
+     * 测试范围：record与常用集合。
+     * 测试结果：内容相等，可变集合为新对象，集合特性保持一致。
+     */
+    @Test
+    @Order(3)
+    void testCloneRecordAndCollections() {
+        Point point = new Point(1, 2, new ArrayList<>(Arrays.asList("x", "y")));
+        Point pointCopy = X.clone(point);
+        assertEquals(point, pointCopy);
+        assertNotSame(point.tags(), pointCopy.tags());
+
+        List<User> immutable = List.of(new User("Alice", 20, 168));
+        List<User> immutableCopy = X.clone(immutable);
+        assertEquals(immutable, immutableCopy);
+        assertNotSame(immutable.get(0), immutableCopy.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> immutableCopy.add(null));
+
+        List<String> fixed = X.clone(Arrays.asList("a", "b"));
+        assertThrows(UnsupportedOperationException.class, () -> fixed.add("c"));
+
+        TreeSet<String> sorted = new TreeSet<>((s1, s2) -> s2.compareTo(s1));
+        sorted.addAll(Arrays.asList("a", "c", "b"));
+        TreeSet<String> sortedCopy = X.clone(sorted);
+        assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>(sortedCopy));
+
+        Map<String, List<Integer>> map = new HashMap<>();
+        map.put("k", new ArrayList<>(Arrays.asList(1, 2)));
+        Map<String, List<Integer>> mapCopy = X.clone(map);
+        assertEquals(map, mapCopy);
+        assertNotSame(map.get("k"), mapCopy.get("k"));
+    }
+
+    /**
+     * 测试目的：验证cloneList逐个元素复制。
+     * 测试要求：顺序与并行两种方式。
+     * 测试功能：cloneList。
+     * 测试范围：大集合。
+     * 测试结果：元素为新对象且顺序不变，null返回空集合。
+     */
+    @Test
+    @Order(4)
+    void testCloneList() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            users.add(new User("u" + i, i, 170));
+        }
+        List<User> sequential = X.cloneList(users);
+        List<User> parallel = X.cloneList(users, true);
+        assertEquals(users, sequential);
+        assertEquals(users, parallel);
+        assertNotSame(users.get(10), sequential.get(10));
+        assertNotSame(users.get(4_000), parallel.get(4_000));
+        assertEquals(0, X.cloneList(null).size());
+    }
+
+    /**
+     * 测试目的：验证继承有状态JDK类型的对象不会只复制一部分字段。
+     * 测试要求：自定义类继承Date并声明自己的字段。
+     * 测试功能：clone复制JDK父类的状态，再深拷贝自定义字段。
+     * 测试范围：JDK类型的子类。
+     * 测试结果：父类状态与自定义字段都被复制，自定义的可变字段为新对象。
+     */
+    @Test
+    @Order(5)
+    void testCloneJdkSubclass() {
+        MyDate date = new MyDate(123456789L);
+        date.tags.add("a");
+        MyDate copy = X.clone(date);
+        assertNotSame(date, copy);
+        assertEquals(123456789L, copy.getTime());
+        assertEquals(List.of("a"), copy.tags);
+        assertNotSame(date.tags, copy.tags);
+
+        Map<String, MyDate> nested = new HashMap<>();
+        nested.put("d", date);
+        assertEquals(123456789L, X.clone(nested).get("d").getTime());
+    }
+
+    /**
+     * 测试目的：验证Collections包装类与访问顺序的LinkedHashMap复制后特性不变。
+     * 测试要求：synchronizedList/Map、checkedList/Map、accessOrder为true的LinkedHashMap。
+     * 测试功能：包装类重新包装或整体序列化，LinkedHashMap保留访问顺序。
+     * 测试范围：JDK集合包装。
+     * 测试结果：副本仍然是同步/类型检查的包装，访问顺序的LinkedHashMap在get后调整顺序。
+     */
+    @Test
+    @Order(6)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void testCloneWrappers() {
+        List<List<Integer>> synchronizedList = Collections.synchronizedList(new ArrayList<>());
+        synchronizedList.add(new ArrayList<>(List.of(1)));
+        List<List<Integer>> synchronizedCopy = X.clone(synchronizedList);
+        assertEquals(synchronizedList, synchronizedCopy);
+        assertNotSame(synchronizedList.get(0), synchronizedCopy.get(0));
+        assertTrue(synchronizedCopy.getClass().getName().contains("Synchronized"));
+        Map<String, Integer> synchronizedMap = X.clone(Collections.synchronizedMap(new HashMap<>(Map.of("a", 1))));
+        assertEquals(Map.of("a", 1), synchronizedMap);
+        assertTrue(synchronizedMap.getClass().getName().contains("Synchronized"));
+
+        List<String> checkedList = X.clone(Collections.checkedList(new ArrayList<>(List.of("a")), String.class));
+        assertEquals(List.of("a"), checkedList);
+        assertThrows(ClassCastException.class, () -> ((List) checkedList).add(1));
+        Map<String, Integer> checkedMap = X.clone(Collections.checkedMap(new HashMap<>(Map.of("a", 1)), String.class, Integer.class));
+        assertThrows(ClassCastException.class, () -> ((Map) checkedMap).put("b", "x"));
+
+        LinkedHashMap<String, Integer> lru = new LinkedHashMap<>(16, 0.75f, true);
+        lru.put("a", 1);
+        lru.put("b", 2);
+        lru.put("c", 3);
+        lru.get("a");
+        LinkedHashMap<String, Integer> lruCopy = X.clone(lru);
+        assertEquals(Arrays.asList("b", "c", "a"), new ArrayList<>(lruCopy.keySet()));
+        lruCopy.get("b");
+        assertEquals(Arrays.asList("c", "a", "b"), new ArrayList<>(lruCopy.keySet()));
+    }
+
+    /**
+     * 测试目的：验证含null的不可变列表可以复制。
+     * 测试要求：Stream.toList()的结果含null元素。
+     * 测试功能：ImmutableCollections的复制。
+     * 测试范围：不可变列表。
+     * 测试结果：副本内容相同，仍然不可修改。
+     */
+    @Test
+    @Order(7)
+    void testCloneStreamToListWithNull() {
+        List<String> list = Stream.of("a", null, "b").toList();
+        List<String> copy = X.clone(list);
+        assertEquals(Arrays.asList("a", null, "b"), copy);
+        assertThrows(UnsupportedOperationException.class, () -> copy.add("c"));
+    }
+
+    /**
+     * 测试目的：验证Set.of的副本与源集合的类型和null行为一致。
+     * 测试要求：Set.of复制后比较运行时类型，调用contains(null)。
+     * 测试功能：ImmutableCollections的复制。
+     * 测试范围：不可变集合。
+     * 测试结果：副本与源集合相等、类型相同，contains(null)同样抛出NullPointerException。
+     */
+    @Test
+    @Order(8)
+    void testCloneImmutableSet() {
+        Set<String> set = Set.of("a", "b", "c");
+        Set<String> copy = X.clone(set);
+        assertEquals(set, copy);
+        assertSame(set.getClass(), copy.getClass());
+        assertThrows(NullPointerException.class, () -> set.contains(null));
+        assertThrows(NullPointerException.class, () -> copy.contains(null));
+        assertThrows(UnsupportedOperationException.class, () -> copy.add("d"));
+    }
+}
@@ -0,0 +1,88 @@
+package single;
+
+import com.zyf.util.MapListStream;
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CompactGroupTest {
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    /**
+     * 测试目的：验证groupByCompact与groupBy的结果一致。
+     * 测试要求：大量小分组，含null元素与null键。
+     * 测试功能：紧凑分组存储。
+     * 测试范围：顺序与并行。
+     * 测试结果：分组内容、组内顺序与键的顺序都一致。
+     */
+    @Test
+    @Order(1)
+    void testSameAsGroupBy() {
+        List<Integer> list = new ArrayList<>(range(500_000));
+        list.add(null);
+        Map<Integer, List<Integer>> expected = X.list(list).groupBy(i -> i * 7 % 100_000).toMap();
+        Map<Integer, List<Integer>> compact = X.list(list).groupByCompact(i -> i * 7 % 100_000).toMap();
+        assertEquals(expected, compact);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(compact.keySet()));
+        assertEquals(100_000, compact.size());
+
+        Map<String, List<String>> withNullKey = X.list(range(10)).groupByCompact(i -> i % 3 == 0 ? null : "k" + i % 2, String::valueOf).toMap();
+        assertEquals(Arrays.asList("0", "3", "6", "9"), withNullKey.get(null));
+        assertEquals(Arrays.asList(null, "k1", "k0"), new ArrayList<>(withNullKey.keySet()));
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            assertEquals(expected, X.list(list).parallel(pool).groupByCompact(i -> i * 7 % 100_000).toMap());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 测试目的：验证紧凑分组的只读视图与MapListStream的操作。
+     * 测试要求：getValues、toMap、valueStream，尝试修改。
+     * 测试功能：只读区间视图。
+     * 测试范围：普通集合。
+     * 测试结果：读取结果正确，修改分组或Map时抛出UnsupportedOperationException。
+     */
+    @Test
+    @Order(2)
+    void testReadOnlySlices() {
+        MapListStream<Integer, Integer> groups = X.list(range(20)).groupByCompact(i -> i % 4);
+        assertEquals(Arrays.asList(1, 5, 9, 13, 17), groups.getValues(1));
+        assertEquals(List.of(), groups.getValues(9));
+        assertNull(groups.toMap().get(9));
+        assertTrue(groups.toMap().containsKey(3));
+
+        assertThrows(UnsupportedOperationException.class, () -> groups.getValues(1).add(0));
+        assertThrows(UnsupportedOperationException.class, () -> groups.getValues(1).set(0, 0));
+        assertThrows(UnsupportedOperationException.class, () -> groups.toMap().put(5, new ArrayList<>()));
+        assertThrows(UnsupportedOperationException.class, () -> groups.toMap().remove(1));
+
+        Map<Integer, Long> sums = groups.valueStream(values -> values.sumLong()).toMap();
+        assertEquals(Map.of(0, 40L, 1, 45L, 2, 50L, 3, 55L), sums);
+        assertEquals(Arrays.asList(2, 6), X.list(groups.getValues(2)).take(2).toList());
+    }
+}
@@ -0,0 +1,83 @@
+package single;
+
+import com.zyf.util.ListStream;
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FusionTest {
+
+    private static <T> List<T> pull(ListStream<T> stream) {
+        List<T> result = new ArrayList<>();
+        Iterator<T> iterator = stream.iterator();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    private static ListStream<String> pipeline(List<Object> list, List<Object> peeked) {
+        return X.list(list)
+                .filterNotNull()
+                .peek(peeked::add)
+                .filterIsInstance(Integer.class)
+                .filter(i -> i % 2 == 1)
+                .mapNotNull(i -> i == 5 ? null : i * 10)
+                .flatMap(i -> Arrays.asList(i, i + 1))
+                .map(String::valueOf);
+    }
+
+    /**
+     * 测试目的：验证终端操作融合执行与逐层拉取的结果一致。
+     * 测试要求：包含filter/peek/filterIsInstance/mapNotNull/flatMap/map的管道。
+     * 测试功能：推模式融合执行。
+     * 测试范围：混合类型集合。
+     * 测试结果：toList/forEach/count/joinToString与iterator结果一致，peek调用顺序一致。
+     */
+    @Test
+    @Order(1)
+    void testFusedEqualsPull() {
+        List<Object> list = Arrays.asList(1, "a", 3, null, 4, 5, 7.0, 9);
+        List<Object> pullPeeked = new ArrayList<>();
+        List<String> expected = pull(pipeline(list, pullPeeked));
+        assertEquals(Arrays.asList("10", "11", "30", "31", "90", "91"), expected);
+
+        List<Object> fusedPeeked = new ArrayList<>();
+        assertEquals(expected, pipeline(list, fusedPeeked).toList());
+        assertEquals(pullPeeked, fusedPeeked);
+
+        List<String> forEach = new ArrayList<>();
+        pipeline(list, new ArrayList<>()).forEach(forEach::add);
+        assertEquals(expected, forEach);
+        assertEquals(expected.size(), pipeline(list, new ArrayList<>()).count());
+        assertEquals(String.join(",", expected), pipeline(list, new ArrayList<>()).joinToString(","));
+        assertEquals(new LinkedHashSet<>(expected), pipeline(list, new ArrayList<>()).toSet());
+    }
+
+    /**
+     * 测试目的：验证有状态阶段之后的无状态阶段融合执行。
+     * 测试要求：distinct/take之后接map/filter。
+     * 测试功能：以有状态阶段结果为新的源头。
+     * 测试范围：普通集合。
+     * 测试结果：结果与逐层拉取一致。
+     */
+    @Test
+    @Order(2)
+    void testFusedAfterStatefulStage() {
+        List<Integer> list = Arrays.asList(3, 1, 3, 2, 1, 5, 4);
+        assertEquals(pull(X.list(list).distinct().take(4).map(i -> i * 2).filter(i -> i > 2)),
+                X.list(list).distinct().take(4).map(i -> i * 2).filter(i -> i > 2).toList());
+        assertEquals(Arrays.asList(6, 4, 10), X.list(list).distinct().take(4).map(i -> i * 2).filter(i -> i > 2).toList());
+    }
+}
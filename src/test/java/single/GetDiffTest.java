@@ -0,0 +1,136 @@
+package single;
+
+import com.zyf.util.Diff;
+import com.zyf.util.Diff2;
+import com.zyf.util.X;
+import full.test.entity.User;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class GetDiffTest {
+
+    /**
+     * 测试目的：验证getDiff(Function)对普通集合的差异计算。
+     * 测试要求：新旧列表部分重叠。
+     * 测试功能：按键计算新增、删除、已存在。
+     * 测试范围：对象集合。
+     * 测试结果：与BiFunction版本结果一致。
+     */
+    @Test
+    @Order(1)
+    void testGetDiffByKeyNormal() {
+        List<User> oldList = Arrays.asList(new User("Alice", 20, 168), new User("Bob", 17, 178), new User("Charlie", 19, 155));
+        List<User> newList = Arrays.asList(new User("Bob", 18, 178), new User("David", 21, 158), new User("Alice", 21, 168));
+
+        Diff<User> expected = X.getDiff(oldList, newList, (a, b) -> Objects.equals(a.getName(), b.getName()));
+        Diff<User> actual = X.getDiff(oldList, newList, User::getName);
+
+        assertEquals(expected.getAddList(), actual.getAddList());
+        assertEquals(expected.getDelList(), actual.getDelList());
+        assertEquals(new ArrayList<>(expected.getUpdateMap().entrySet()), new ArrayList<>(actual.getUpdateMap().entrySet()));
+        assertEquals(Collections.singletonList("David"), X.list(actual.getAddList()).map(User::getName).toList());
+        assertEquals(Collections.singletonList("Charlie"), X.list(actual.getDelList()).map(User::getName).toList());
+        assertEquals(Arrays.asList("Alice", "Bob"), X.list(actual.getExistsList()).map(User::getName).toList());
+    }
+
+    /**
+     * 测试目的：验证getDiff(Function)对重复键的处理。
+     * 测试要求：新列表中存在重复键。
+     * 测试功能：已存在元素对应第一个键相同的新元素。
+     * 测试范围：含重复键集合。
+     * 测试结果：与BiFunction版本结果一致。
+     */
+    @Test
+    @Order(2)
+    void testGetDiffByKeyDuplicate() {
+        List<Integer> oldList = Arrays.asList(1, 2, 2, 3);
+        List<Integer> newList = Arrays.asList(12, 22, 14, 35);
+
+        Diff<Integer> expected = X.getDiff(oldList, newList, (a, b) -> a % 10 == b % 10);
+        Diff<Integer> actual = X.getDiff(oldList, newList, i -> i % 10);
+
+        assertEquals(expected.getAddList(), actual.getAddList());
+        assertEquals(expected.getDelList(), actual.getDelList());
+        assertEquals(expected.getUpdateMap(), actual.getUpdateMap());
+        assertEquals(12, actual.getUpdateMap().get(2));
+    }
+
+    /**
+     * 测试目的：验证getDiff(Function)对空集合的处理。
+     * 测试要求：新旧列表其一为空。
+     * 测试功能：空集合差异。
+     * 测试范围：空集合。
+     * 测试结果：全部为新增或全部为删除。
+     */
+    @Test
+    @Order(3)
+    void testGetDiffByKeyEmpty() {
+        List<Integer> list = Arrays.asList(1, 2, 3);
+        Diff<Integer> addAll = X.getDiff(Collections.emptyList(), list, i -> i);
+        assertEquals(list, addAll.getAddList());
+        assertTrue(addAll.getDelList().isEmpty());
+        assertTrue(addAll.getUpdateMap().isEmpty());
+
+        Diff<Integer> delAll = X.getDiff(list, Collections.emptyList(), i -> i);
+        assertTrue(delAll.getAddList().isEmpty());
+        assertEquals(list, delAll.getDelList());
+        assertTrue(delAll.getUpdateMap().isEmpty());
+    }
+
+    /**
+     * 测试目的：验证getDiff2(Function, Function)对不同类型列表的差异计算。
+     * 测试要求：新旧列表元素类型不同。
+     * 测试功能：两侧分别提取键。
+     * 测试范围：不同类型集合。
+     * 测试结果：与BiFunction版本结果一致。
+     */
+    @Test
+    @Order(4)
+    void testGetDiff2ByKey() {
+        List<User> oldList = Arrays.asList(new User("Alice", 20, 168), new User("Bob", 17, 178), new User(null, 1, 1));
+        List<String> newList = Arrays.asList("Bob", "Eve", null, "Bob");
+
+        Diff2<User, String> expected = X.getDiff2(oldList, newList, (u, s) -> Objects.equals(u.getName(), s));
+        Diff2<User, String> actual = X.getDiff2(oldList, newList, User::getName, s -> s);
+
+        assertEquals(expected.getAddList(), actual.getAddList());
+        assertEquals(expected.getDelList(), actual.getDelList());
+        assertEquals(new ArrayList<>(expected.getUpdateMap().entrySet()), new ArrayList<>(actual.getUpdateMap().entrySet()));
+        assertEquals(Collections.singletonList("Eve"), actual.getAddList());
+    }
+
+    /**
+     * 测试目的：验证getDiff(Function)对大集合的处理。
+     * 测试要求：新旧列表各十万条。
+     * 测试功能：线性时间匹配。
+     * 测试范围：大集合。
+     * 测试结果：新增、删除、已存在数量正确。
+     */
+    @Test
+    @Order(5)
+    void testGetDiffByKeyLarge() {
+        List<Integer> oldList = new ArrayList<>();
+        List<Integer> newList = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            oldList.add(i);
+            newList.add(i + 50_000);
+        }
+        Diff<Integer> diff = X.getDiff(oldList, newList, i -> i);
+        assertEquals(50_000, diff.getAddList().size());
+        assertEquals(50_000, diff.getDelList().size());
+        assertEquals(50_000, diff.getUpdateMap().size());
+        assertEquals(50_000, diff.getDelList().get(diff.getDelList().size() - 1) + 1);
+    }
+}
@@ -0,0 +1,91 @@
+package single;
+
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class IndexedPrimitiveTest {
+
+    private static List<String> letters(int size) {
+        List<String> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(String.valueOf((char) ('a' + i % 26)));
+        }
+        return list;
+    }
+
+    /**
+     * 测试目的：验证基本类型下标的mapIndexed/filterIndexed与装箱版本一致。
+     * 测试要求：超过Integer缓存范围(127)的下标。
+     * 测试功能：mapIndexedInt/mapIndexedLong/filterIndexedInt/filterIndexedLong。
+     * 测试范围：1000个元素。
+     * 测试结果：结果与装箱版本相同。
+     */
+    @Test
+    @Order(1)
+    void testMapAndFilter() {
+        List<String> list = letters(1_000);
+        List<String> boxed = X.list(list).mapIndexed((i, s) -> i + s).toList();
+        assertEquals(boxed, X.list(list).mapIndexedInt((i, s) -> i + s).toList());
+        assertEquals(boxed, X.list(list).mapIndexedLong((i, s) -> i + s).toList());
+        assertEquals(1_000, X.list(list).mapIndexedInt((i, s) -> i).count());
+
+        List<String> filtered = X.list(list).filterIndexeds((i, s) -> i % 3 == 0, (i, s) -> i > 500).toList();
+        assertEquals(filtered, X.list(list).filterIndexedInt((i, s) -> i % 3 == 0, (i, s) -> i > 500).toList());
+        assertEquals(filtered, X.list(list).filterIndexedLong((i, s) -> i % 3 == 0, (i, s) -> i > 500).toList());
+        assertEquals(list, X.list(list).filterIndexedInt().toList());
+        assertEquals(Arrays.asList("c", "d"), X.list(letters(5)).skip(2).take(2).toList());
+    }
+
+    /**
+     * 测试目的：验证基本类型下标的reduceIndexed/foldIndexed与装箱版本一致。
+     * 测试要求：函数与消费者两种形式，带映射函数与不带映射函数。
+     * 测试功能：reduceIndexedInt/reduceIndexedLong/foldIndexedInt/foldIndexedLong。
+     * 测试范围：1000个元素。
+     * 测试结果：结果与装箱版本相同。
+     */
+    @Test
+    @Order(2)
+    void testReduceAndFold() {
+        List<String> list = letters(1_000);
+        long expectedSum = 999L * 1_000 / 2;
+        assertEquals(expectedSum, X.list(list).foldIndexed(0L, (i, acc, s) -> acc + i));
+        assertEquals(expectedSum, X.list(list).foldIndexedInt(0L, (i, acc, s) -> acc + i));
+        assertEquals(expectedSum, X.list(list).foldIndexedLong(0L, (i, acc, s) -> acc + i));
+        assertEquals(expectedSum, X.list(list).reduceIndexedInt(() -> 0L, (i, acc, s) -> {
+            return acc + i;
+        }));
+        assertEquals(expectedSum, X.list(list).reduceIndexedLong(() -> 0L, (i, acc, s) -> {
+            return acc + i;
+        }));
+
+        List<String> boxed = X.list(list).reduceIndexed(ArrayList::new, (Integer i, List<String> acc, String s) -> {
+            acc.add(i + s);
+        });
+        assertEquals(boxed, X.list(list).reduceIndexedInt(ArrayList::new, (int i, List<String> acc, String s) -> {
+            acc.add(i + s);
+        }));
+        assertEquals(boxed, X.list(list).reduceIndexedLong(ArrayList::new, (long i, List<String> acc, String s) -> {
+            acc.add(i + s);
+        }));
+        assertEquals(boxed, X.list(list).reduceIndexedIntList(s -> s, (i, acc, s) -> {
+            acc.add(i + s);
+        }));
+        assertEquals(new HashSet<>(boxed), X.list(list).reduceIndexedIntSet(s -> s, (i, acc, s) -> {
+            acc.add(i + s);
+        }));
+        assertEquals(boxed.size(), X.list(list).reduceIndexedInt(() -> new int[1], String::length, (i, acc, len) -> {
+            acc[0] += len;
+        })[0]);
+    }
+}
@@ -0,0 +1,159 @@
+package single;
+
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class KeyDomainGroupTest {
+
+    enum Status {
+        NEW,
+        // 带类体的常量是枚举的匿名子类
+        PAID {
+            @Override
+            public String toString() {
+                return "paid";
+            }
+        },
+        SHIPPED,
+        CLOSED
+    }
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    private static Status status(int i) {
+        return Status.values()[(i * 7) % 3 + 1];
+    }
+
+    // 与逐个 computeIfAbsent 的 LinkedHashMap 对照，键按首次出现的顺序
+    private static <K> Map<K, List<Integer>> expectedGroups(List<Integer> list, Function<Integer, K> keyMapper) {
+        Map<K, List<Integer>> expected = new LinkedHashMap<>();
+        for (Integer i : list) {
+            expected.computeIfAbsent(keyMapper.apply(i), k -> new ArrayList<>()).add(i);
+        }
+        return expected;
+    }
+
+    /**
+     * 测试目的：验证枚举与Boolean键的分组结果与直接使用Map相同。
+     * 测试要求：枚举键（含带类体的常量）、Boolean键、中途出现null键。
+     * 测试功能：由第一个键识别取值域，域以外的键退化为Map。
+     * 测试范围：顺序与并行。
+     * 测试结果：分组内容与键的首次出现顺序都一致。
+     */
+    @Test
+    @Order(1)
+    void testDetectedDomain() {
+        List<Integer> list = range(10_000);
+        Map<Status, List<Integer>> byStatus = X.list(list).groupBy(KeyDomainGroupTest::status).toMap();
+        Map<Status, List<Integer>> expected = expectedGroups(list, KeyDomainGroupTest::status);
+        assertEquals(expected, byStatus);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(byStatus.keySet()));
+
+        Map<Boolean, List<Integer>> byParity = X.list(list).groupBy(i -> i % 2 == 1).toMap();
+        assertEquals(Arrays.asList(false, true), new ArrayList<>(byParity.keySet()));
+        assertEquals(5_000, byParity.get(true).size());
+
+        Map<Status, List<Integer>> withNull = X.list(list).groupBy(i -> i == 5 ? null : status(i)).toMap();
+        Map<Status, List<Integer>> expectedWithNull = expectedGroups(list, i -> i == 5 ? null : status(i));
+        assertEquals(expectedWithNull, withNull);
+        assertEquals(new ArrayList<>(expectedWithNull.keySet()), new ArrayList<>(withNull.keySet()));
+
+        Map<Object, List<Integer>> mixed = X.list(range(6)).<Object>groupBy(i -> i < 3 ? status(i) : "s" + i % 2).toMap();
+        assertEquals(new ArrayList<>(expectedGroups(range(6), i -> i < 3 ? (Object) status(i) : "s" + i % 2).keySet()),
+                new ArrayList<>(mixed.keySet()));
+
+        Map<Status, Long> counts = X.list(list).groupingBy(KeyDomainGroupTest::status, Collectors.counting()).toMap();
+        assertEquals(list.stream().collect(Collectors.groupingBy(KeyDomainGroupTest::status, Collectors.counting())), counts);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Map<Status, List<Integer>> parallel = X.list(list).parallel(pool).groupBy(i -> i == 9_000 ? null : status(i)).toMap();
+            assertEquals(X.list(list).groupBy(i -> i == 9_000 ? null : status(i)).toMap(), parallel);
+            assertEquals(counts, X.list(list).parallel(pool).groupingBy(KeyDomainGroupTest::status, Collectors.counting()).toMap());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 测试目的：验证显式取值域的分组。
+     * 测试要求：域中有没有元素的键，元素中有域以外的键，域中有重复键。
+     * 测试功能：groupBy/groupingBy的显式取值域。
+     * 测试范围：枚举域与字符串域。
+     * 测试结果：结果按域的顺序包含每个键，域以外的键排在后面，重复键抛出异常。
+     */
+    @Test
+    @Order(2)
+    void testExplicitDomain() {
+        List<Integer> list = range(100);
+        Map<Status, List<Integer>> grouped = X.list(list).groupBy(KeyDomainGroupTest::status, Status.CLOSED, Status.NEW, Status.PAID).toMap();
+        assertEquals(Arrays.asList(Status.CLOSED, Status.NEW, Status.PAID, Status.SHIPPED), new ArrayList<>(grouped.keySet()));
+        assertEquals(List.of(), grouped.get(Status.NEW));
+        assertEquals(expectedGroups(list, KeyDomainGroupTest::status).get(Status.SHIPPED), grouped.get(Status.SHIPPED));
+
+        String[] names = new String[12];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "k" + (11 - i);
+        }
+        Map<String, Long> counts = X.list(list).groupingBy(i -> "k" + i % 10, Collectors.counting(), names).toMap();
+        assertEquals(Arrays.asList(names), new ArrayList<>(counts.keySet()));
+        assertEquals(0L, counts.get("k11"));
+        assertEquals(10L, counts.get("k3"));
+
+        assertThrows(IllegalArgumentException.class, () -> X.list(list).groupBy(i -> i, 1, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> X.list(list).partitionBy(i -> i, "a", "b", "c", "d", "e", "f", "g", "h", "a"));
+    }
+
+    /**
+     * 测试目的：验证partitionBy与partitionEveryOne。
+     * 测试要求：每个元素进入唯一分组；键不在域中；元素满足多个条件。
+     * 测试功能：一次遍历的分组。
+     * 测试范围：枚举域、Boolean域。
+     * 测试结果：分组与域一一对应，键不在域中时抛出异常，partitionEveryOne的结果不变且可修改。
+     */
+    @Test
+    @Order(3)
+    void testPartition() {
+        List<Integer> list = range(30);
+        List<List<Integer>> parts = X.list(list).partitionBy(KeyDomainGroupTest::status, Status.values());
+        assertEquals(4, parts.size());
+        assertEquals(List.of(), parts.get(0));
+        for (Status status : Status.values()) {
+            assertEquals(X.list(list).filter(i -> status(i) == status).toList(), parts.get(status.ordinal()));
+        }
+
+        List<List<Integer>> parity = X.list(list).partitionBy(i -> i % 2 == 0, true, false);
+        assertEquals(0, parity.get(0).get(0));
+        assertEquals(1, parity.get(1).get(0));
+
+        assertThrows(IllegalArgumentException.class, () -> X.list(list).partitionBy(KeyDomainGroupTest::status, Status.PAID));
+
+        List<List<Integer>> everyOne = X.list(range(6)).partitionEveryOne(i -> i % 2 == 0, i -> i > 2);
+        assertEquals(Arrays.asList(Arrays.asList(0, 2, 4), Arrays.asList(3, 4, 5)), everyOne);
+        everyOne.add(new ArrayList<>());
+        assertEquals(3, everyOne.size());
+    }
+}
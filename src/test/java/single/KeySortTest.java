@@ -0,0 +1,162 @@
+package single;
+
+import com.zyf.util.Sort;
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class KeySortTest {
+
+    private static List<String> randomList(int size) {
+        Random random = new Random(42);
+        List<String> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(random.nextInt(10) == 0 ? null : "s" + random.nextInt(size / 4));
+        }
+        return list;
+    }
+
+    // 与旧实现一致的参照比较器
+    private static <T, U extends Comparable<? super U>> Comparator<T> reference(Function<T, U> key, Sort order, Sort nullPosition) {
+        Comparator<U> natural = order == Sort.Asc ? Comparator.naturalOrder() : Comparator.reverseOrder();
+        return Comparator.comparing(key, nullPosition == Sort.NullFirst ? Comparator.nullsFirst(natural) : Comparator.nullsLast(natural));
+    }
+
+    /**
+     * 测试目的：验证排序时每个元素只提取一次键。
+     * 测试要求：统计keyExtractor调用次数。
+     * 测试功能：sort(keyExtractor, order, nullPosition)。
+     * 测试范围：大集合。
+     * 测试结果：调用次数等于元素个数。
+     */
+    @Test
+    @Order(1)
+    void testKeyExtractedOnce() {
+        List<String> list = randomList(10_000);
+        AtomicInteger calls = new AtomicInteger();
+        X.list(new ArrayList<>(list)).sort(s -> {
+            calls.incrementAndGet();
+            return s == null ? null : s.length();
+        }, Sort.Asc, Sort.NullFirst).toList();
+        assertEquals(list.size(), calls.get());
+    }
+
+    /**
+     * 测试目的：验证各种键类型的排序结果与比较器排序一致。
+     * 测试要求：int/long/double/String/其它Comparable键，升降序与空值位置组合。
+     * 测试功能：键特化与稳定排序。
+     * 测试范围：含空值与重复键的大集合。
+     * 测试结果：与List.sort的结果完全一致（包括相同键的先后顺序）。
+     */
+    @Test
+    @Order(2)
+    void testSameResultAsComparator() {
+        List<String> list = randomList(5_000);
+        List<Function<String, ? extends Comparable<?>>> keys = Arrays.asList(
+                s -> s == null ? null : s.length(),
+                s -> s == null ? null : (long) s.hashCode(),
+                s -> s == null ? null : s.length() / 3.0,
+                s -> s,
+                s -> s == null ? null : new java.math.BigDecimal(s.length()));
+        for (Function<String, ? extends Comparable<?>> key : keys) {
+            for (Sort order : Arrays.asList(Sort.Asc, Sort.Desc)) {
+                for (Sort nullPosition : Arrays.asList(Sort.NullFirst, Sort.NullLast)) {
+                    @SuppressWarnings({"unchecked", "rawtypes"})
+                    Function<String, Comparable> k = (Function) key;
+                    List<String> expected = new ArrayList<>(list);
+                    expected.sort(reference(k, order, nullPosition));
+                    assertEquals(expected, X.list(new ArrayList<>(list)).sort(k, order, nullPosition).toList());
+                }
+            }
+        }
+    }
+
+    /**
+     * 测试目的：验证多键排序。
+     * 测试要求：sort(Function<SortStream, Comparator>...)与普通比较器混用。
+     * 测试功能：多键提取排序与回退。
+     * 测试范围：大集合。
+     * 测试结果：与thenComparing的结果一致。
+     */
+    @Test
+    @Order(3)
+    void testMultipleKeys() {
+        List<String> list = randomList(5_000);
+        List<String> expected = new ArrayList<>(list);
+        expected.sort(reference((String s) -> s == null ? null : s.length(), Sort.Desc, Sort.NullLast)
+                .thenComparing(reference((String s) -> s, Sort.Asc, Sort.NullFirst)));
+
+        List<String> sorted = X.list(new ArrayList<>(list)).sort(
+                s -> s.createComparator(e -> e == null ? null : e.length(), Sort.Desc),
+                s -> s.createComparator(e -> e, Sort.Asc, Sort.NullFirst)).toList();
+        assertEquals(expected, sorted);
+
+        List<String> mixed = X.list(new ArrayList<>(list)).sort(
+                s -> s.createComparator(e -> e == null ? null : e.length(), Sort.Desc),
+                s -> Comparator.nullsFirst(Comparator.<String>naturalOrder())).toList();
+        assertEquals(expected, mixed);
+    }
+
+    /**
+     * 测试目的：验证键类型不可比较时的异常。
+     * 测试要求：键类型混合。
+     * 测试功能：异常传播。
+     * 测试范围：混合键。
+     * 测试结果：抛出ClassCastException。
+     */
+    @Test
+    @Order(4)
+    void testMixedKeyTypes() {
+        List<Object> list = new ArrayList<>(Arrays.asList(1, "a", 2));
+        assertThrows(ClassCastException.class,
+                () -> X.list(list).sort(o -> (Comparable) o, Sort.Asc).toList());
+    }
+
+    /**
+     * 测试目的：验证并行的多键排序与顺序排序一致。
+     * 测试要求：parallel()模式，元素个数远大于不再拆分的区间长度，含空值与大量重复键；键类型混合。
+     * 测试功能：对int下标的并行归并排序。
+     * 测试范围：大集合。
+     * 测试结果：与List.sort的结果完全一致（包括相同键的先后顺序），键不可比较时抛出ClassCastException。
+     */
+    @Test
+    @Order(5)
+    void testParallelMultiKeySort() {
+        List<String> list = randomList(200_000);
+        Comparator<String> byLength = reference(s -> s == null ? null : s.length(), Sort.Desc, Sort.NullFirst);
+        Comparator<String> byLastChar = reference(s -> s == null ? null : s.charAt(s.length() - 1), Sort.Asc, Sort.NullLast);
+        List<String> expected = new ArrayList<>(list);
+        expected.sort(byLength.thenComparing(byLastChar));
+
+        List<String> sorted = X.list(list).parallel().sort(
+                s -> s.createComparator(str -> str == null ? null : str.length(), Sort.Desc, Sort.NullFirst),
+                s -> s.createComparator(str -> str == null ? null : str.charAt(str.length() - 1), Sort.Asc, Sort.NullLast)).toList();
+        // 相同键的元素按原顺序，逐个比较引用
+        assertEquals(expected.size(), sorted.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), sorted.get(i));
+        }
+
+        List<Object> mixed = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            mixed.add(i == 30_000 ? "a" : i);
+        }
+        assertThrows(ClassCastException.class,
+                () -> X.list(mixed).parallel().sort(o -> (Comparable) o, Sort.Asc).toList());
+    }
+}
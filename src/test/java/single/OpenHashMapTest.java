@@ -0,0 +1,243 @@
+package single;
+
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class OpenHashMapTest {
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    /**
+     * 测试目的：验证groupBy/toMap/associate的结果与HashMap一致，且按键首次出现的顺序遍历。
+     * 测试要求：大量重复键，含null键。
+     * 测试功能：开放寻址的结果Map。
+     * 测试范围：普通集合。
+     * 测试结果：内容、equals、hashCode与HashMap相同，遍历顺序为插入顺序。
+     */
+    @Test
+    @Order(1)
+    void testSameAsHashMap() {
+        List<Integer> list = range(100_000);
+        Map<Integer, List<Integer>> grouped = X.list(list).groupBy(i -> (i * 31) % 997).toMap();
+        Map<Integer, List<Integer>> expected = new HashMap<>();
+        for (Integer i : list) {
+            expected.computeIfAbsent((i * 31) % 997, k -> new ArrayList<>()).add(i);
+        }
+        assertEquals(expected, grouped);
+        assertEquals(grouped, expected);
+        assertEquals(expected.hashCode(), grouped.hashCode());
+        assertEquals(X.list(list).map(i -> (i * 31) % 997).distinct().toList(), new ArrayList<>(grouped.keySet()));
+
+        Map<String, Integer> sums = X.list(list).toMap(i -> i % 3 == 0 ? null : "k" + i % 7, i -> 1, Integer::sum);
+        assertEquals(7, sums.size());
+        assertNull(sums.get(null));
+
+        Map<Object, Integer> withNull = X.list(Arrays.asList(1, null, 2, null)).associateBy(i -> i == null ? null : i % 2);
+        assertTrue(withNull.containsKey(null));
+        assertEquals(Arrays.asList(1, null, 0), new ArrayList<>(withNull.keySet()));
+        assertEquals(Map.of(1, 2L, 0, 2L), X.list(range(4)).groupingBy(i -> i % 2, Collectors.counting()).toMap());
+    }
+
+    /**
+     * 测试目的：验证结果Map可以像HashMap一样修改。
+     * 测试要求：随机执行put/remove/merge/computeIfAbsent/迭代器删除，与LinkedHashMap对照。
+     * 测试功能：删除后的探测链、扩容压缩、遍历顺序。
+     * 测试范围：随机操作序列。
+     * 测试结果：每一步的返回值和最终内容、顺序都与LinkedHashMap相同。
+     */
+    @Test
+    @Order(2)
+    void testRandomMutations() {
+        Map<Integer, Integer> map = X.list(range(10)).associateWith(Function.identity());
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            expected.put(i, i);
+        }
+        Random random = new Random(42);
+        for (int step = 0; step < 200_000; step++) {
+            Integer key = random.nextInt(500);
+            Integer value = random.nextInt(10);
+            switch (random.nextInt(5)) {
+                case 0 -> assertEquals(expected.put(key, value), map.put(key, value));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                case 2 -> assertEquals(expected.merge(key, value, (a, b) -> a + b > 12 ? null : a + b),
+                        map.merge(key, value, (a, b) -> a + b > 12 ? null : a + b));
+                case 3 -> assertEquals(expected.computeIfAbsent(key, k -> k % 2 == 0 ? k : null),
+                        map.computeIfAbsent(key, k -> k % 2 == 0 ? k : null));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+        }
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Integer> entry = iterator.next();
+            if (entry.getKey() % 3 == 0) {
+                iterator.remove();
+            } else {
+                entry.setValue(-entry.getValue());
+            }
+        }
+        expected.entrySet().removeIf(entry -> entry.getKey() % 3 == 0);
+        expected.replaceAll((k, v) -> -v);
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+        for (int i = 0; i < 500; i++) {
+            assertEquals(expected.get(i), map.get(i));
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        map.put(1, 1);
+        assertEquals(Map.of(1, 1), map);
+    }
+
+    /**
+     * 测试目的：验证distinct与minus的结果不变。
+     * 测试要求：含null与重复元素。
+     * 测试功能：开放寻址的去重集合。
+     * 测试范围：普通集合。
+     * 测试结果：保留首次出现的元素，minus移除所有匹配的元素。
+     */
+    @Test
+    @Order(3)
+    void testDistinctAndMinus() {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            list.add(i % 3 == 0 ? null : i % 1_000);
+        }
+        List<Integer> distinct = X.list(list).filter(i -> true).distinct().toList();
+        assertEquals(1_001, distinct.size());
+        assertNull(distinct.get(0));
+        assertEquals(Arrays.asList(1, 2), X.list(list).distinct(i -> i == null ? 0 : i % 3).toList().subList(1, 3));
+        assertEquals(Arrays.asList(4, 5), X.list(range(6)).minus(range(2), Arrays.asList(2, 3, null)).toList());
+    }
+
+    /**
+     * 测试目的：验证hashCode只在高位不同的键不会在线性探测中聚集。
+     * 测试要求：100000个键i * 65537，低16位异或高16位后大量相同。
+     * 测试功能：散列值的混合。
+     * 测试范围：distinct、toMap、groupByCompact。
+     * 测试结果：结果正确，且在线性时间内完成。
+     */
+    @Test
+    @Order(4)
+    void testClusteredHashCodes() {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            list.add(i * 65537);
+        }
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            assertEquals(100_000, X.list(list).distinct().toList().size());
+            Map<Integer, Integer> map = X.list(list).toMap(Function.identity(), i -> i);
+            assertEquals(100_000, map.size());
+            assertEquals(65537 * 3, map.get(65537 * 3));
+            assertEquals(100_000, X.list(list).groupByCompact(i -> i).toMap().size());
+        });
+    }
+
+    /**
+     * 测试目的：验证删除过条目的结果Map可以深拷贝。
+     * 测试要求：toMap与groupBy的结果删除部分键后调用X.clone。
+     * 测试功能：删除后留下的空洞不使用占位对象。
+     * 测试范围：普通集合。
+     * 测试结果：副本与原Map相等、顺序相同，修改副本不影响原Map。
+     */
+    @Test
+    @Order(5)
+    void testCloneAfterRemove() {
+        Map<Integer, Integer> map = X.list(List.of(1, 2, 3)).toMap(i -> i, i -> i);
+        map.remove(2);
+        Map<Integer, Integer> copy = X.clone(map);
+        assertEquals(map, copy);
+        assertEquals(Arrays.asList(1, 3), new ArrayList<>(copy.keySet()));
+        copy.put(2, 2);
+        assertEquals(2, map.size());
+
+        Map<Integer, List<Integer>> groups = X.list(range(100)).groupBy(i -> i % 10).toMap();
+        groups.keySet().removeIf(k -> k % 3 == 0);
+        Map<Integer, List<Integer>> groupsCopy = X.clone(groups);
+        assertEquals(groups, groupsCopy);
+        assertEquals(new ArrayList<>(groups.keySet()), new ArrayList<>(groupsCopy.keySet()));
+        groupsCopy.get(1).clear();
+        assertEquals(10, groups.get(1).size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T obj) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(obj);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            return (T) ois.readObject();
+        }
+    }
+
+    /**
+     * 测试目的：验证结果Map与HashMap一样可以序列化和clone。
+     * 测试要求：toMap与groupBy的结果，含null键、null值和删除过的键。
+     * 测试功能：序列化往返与浅拷贝。
+     * 测试范围：普通集合。
+     * 测试结果：往返后相等且顺序相同，可以继续修改；clone后两者互不影响。
+     */
+    @Test
+    @Order(6)
+    void testSerializableAndCloneable() throws Exception {
+        Map<Integer, String> map = X.list(range(20)).toMap(i -> i, i -> "v" + i);
+        map.remove(5);
+        map.put(null, "null");
+        map.put(1, null);
+        assertTrue(map instanceof Cloneable);
+        Map<Integer, String> read = roundTrip(map);
+        assertEquals(map, read);
+        assertEquals(new ArrayList<>(map.keySet()), new ArrayList<>(read.keySet()));
+        read.put(5, "v5");
+        assertEquals("v5", read.get(5));
+        assertNull(map.get(5));
+
+        Map<Integer, List<Integer>> groups = X.list(range(100)).groupBy(i -> i % 7).toMap();
+        Map<Integer, List<Integer>> readGroups = roundTrip(groups);
+        assertEquals(groups, readGroups);
+        assertEquals(new ArrayList<>(groups.keySet()), new ArrayList<>(readGroups.keySet()));
+
+        Map<Integer, String> cloned = (Map<Integer, String>) map.getClass().getMethod("clone").invoke(map);
+        assertNotSame(map, cloned);
+        assertEquals(map, cloned);
+        cloned.remove(3);
+        cloned.put(100, "v100");
+        assertEquals("v3", map.get(3));
+        assertEquals(20, map.size());
+    }
+}
@@ -0,0 +1,172 @@
+package single;
+
+import com.zyf.util.ListStream;
+import com.zyf.util.Sort;
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ParallelTest {
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    /**
+     * 测试目的：验证parallel()下无状态阶段与toList的结果。
+     * 测试要求：大集合经过filter/map/mapNotNull/flatMap。
+     * 测试功能：并行拆分执行。
+     * 测试范围：大集合。
+     * 测试结果：与顺序执行结果及顺序完全一致。
+     */
+    @Test
+    @Order(1)
+    void testParallelStatelessStages() {
+        List<Integer> list = range(100_000);
+        List<String> sequential = X.list(list)
+                .filter(i -> i % 3 != 0)
+                .map(i -> i * 2)
+                .mapNotNull(i -> i % 7 == 0 ? null : "v" + i)
+                .flatMap(v -> Arrays.asList(v, v + "!"))
+                .toList();
+        List<String> parallel = X.list(list).parallel()
+                .filter(i -> i % 3 != 0)
+                .map(i -> i * 2)
+                .mapNotNull(i -> i % 7 == 0 ? null : "v" + i)
+                .flatMap(v -> Arrays.asList(v, v + "!"))
+                .toList();
+        assertEquals(sequential, parallel);
+    }
+
+    /**
+     * 测试目的：验证parallel()下groupBy/groupingBy/toMap的结果。
+     * 测试要求：大集合分组与转Map。
+     * 测试功能：分段归约后按顺序合并。
+     * 测试范围：大集合。
+     * 测试结果：分组内元素顺序与顺序执行一致。
+     */
+    @Test
+    @Order(2)
+    void testParallelGrouping() {
+        List<Integer> list = range(50_000);
+        assertEquals(X.list(list).groupBy(i -> i % 10).toMap(), X.list(list).parallel().groupBy(i -> i % 10).toMap());
+        assertEquals(X.list(list).groupingBy(i -> i % 10, Collectors.counting()).toMap(),
+                X.list(list).parallel().groupingBy(i -> i % 10, Collectors.counting()).toMap());
+        Map<Integer, Integer> sequentialMap = X.list(list).toMap(i -> i % 100, i -> i, Integer::sum);
+        Map<Integer, Integer> parallelMap = X.list(list).parallel().toMap(i -> i % 100, i -> i, Integer::sum);
+        assertEquals(sequentialMap, parallelMap);
+        assertEquals(X.list(list).toMap(i -> i % 100), X.list(list).parallel().toMap(i -> i % 100));
+    }
+
+    /**
+     * 测试目的：验证parallel()下count/sumBigDecimal的结果。
+     * 测试要求：大集合计数与求和。
+     * 测试功能：并行归约。
+     * 测试范围：大集合。
+     * 测试结果：与顺序执行一致。
+     */
+    @Test
+    @Order(3)
+    void testParallelReduce() {
+        List<Integer> list = range(100_000);
+        assertEquals(50_000, X.list(list).parallel().filter(i -> i % 2 == 0).count());
+        assertEquals(X.list(list).sumBigDecimal(i -> i), X.list(list).parallel().sumBigDecimal(i -> i));
+        assertEquals(new BigDecimal("4999950000.0"), X.list(list).parallel().sumBigDecimal());
+    }
+
+    /**
+     * 测试目的：验证parallel(Executor)使用自定义线程池。
+     * 测试要求：传入固定大小线程池。
+     * 测试功能：自定义线程池执行。
+     * 测试范围：大集合。
+     * 测试结果：结果正确，异常原样抛出。
+     */
+    @Test
+    @Order(4)
+    void testParallelWithExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Integer> list = range(20_000);
+            assertEquals(X.list(list).map(i -> i + 1).toList(), X.list(list).parallel(executor).map(i -> i + 1).toList());
+            assertThrows(ArithmeticException.class, () -> X.list(list).parallel(executor).map(i -> 1 / (i - 10_000)).toList());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 测试目的：验证parallel()对不可拆分源头与有状态阶段的处理。
+     * 测试要求：LinkedList源头、distinct、sequential()。
+     * 测试功能：回退为顺序执行。
+     * 测试范围：非RandomAccess集合。
+     * 测试结果：结果与顺序执行一致。
+     */
+    @Test
+    @Order(5)
+    void testParallelFallback() {
+        List<Integer> list = new LinkedList<>(range(5_000));
+        assertEquals(X.list(list).map(i -> i % 100).distinct().toList(),
+                X.list(list).parallel().map(i -> i % 100).distinct().toList());
+        assertTrue(X.list(list).parallel().map(i -> i).isParallel());
+        assertFalse(X.list(list).parallel().sequential().isParallel());
+    }
+
+    /**
+     * 测试目的：验证超过阈值时自动并行排序。
+     * 测试要求：大量重复键，阈值调低，parallel()模式。
+     * 测试功能：Arrays.parallelSort稳定排序。
+     * 测试范围：大集合。
+     * 测试结果：与顺序排序结果完全一致，源集合不被修改。
+     */
+    @Test
+    @Order(6)
+    void testParallelSort() {
+        List<Integer> list = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            list.add(random.nextInt(1_000));
+        }
+        List<Integer> snapshot = new ArrayList<>(list);
+        List<Integer> expectedByKey = new ArrayList<>(list);
+        expectedByKey.sort(Comparator.comparing(i -> i % 10));
+        List<Integer> expectedNatural = new ArrayList<>(list);
+        expectedNatural.sort(null);
+
+        int threshold = ListStream.getParallelSortThreshold();
+        try {
+            ListStream.setParallelSortThreshold(1_000);
+            assertEquals(expectedByKey, X.list(list).sort(i -> i % 10, Sort.Asc).toList());
+            assertEquals(expectedByKey, X.list(list).sort(Comparator.comparing(i -> i % 10)).toList());
+            assertEquals(expectedNatural, X.list(list).sorted().toList());
+        } finally {
+            ListStream.setParallelSortThreshold(threshold);
+        }
+        assertEquals(expectedByKey, X.list(list).parallel().sortAsc(i -> i % 10).toList());
+        assertEquals(snapshot, list);
+        assertThrows(IllegalArgumentException.class, () -> ListStream.setParallelSortThreshold(0));
+    }
+}
@@ -0,0 +1,107 @@
+package single;
+
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PredicateArityTest {
+
+    private static final List<Predicate<Integer>> ALL = Arrays.asList(
+            i -> i % 2 == 0, i -> i % 3 == 0, i -> i > 10, i -> i < 50, i -> i % 5 != 0);
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<Integer>[] first(int n) {
+        return ALL.subList(0, n).toArray(new Predicate[0]);
+    }
+
+    private static boolean and(Predicate<Integer>[] predicates, Integer i) {
+        for (Predicate<Integer> predicate : predicates) {
+            if (!predicate.test(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean or(Predicate<Integer>[] predicates, Integer i) {
+        for (Predicate<Integer> predicate : predicates) {
+            if (predicate.test(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 测试目的：验证0到5个条件时多条件过滤的结果。
+     * 测试要求：filters/filterOrs/filterNots/count/partition/first/last使用不同个数的条件。
+     * 测试功能：条件编译的各个展开形式。
+     * 测试范围：0-5个条件。
+     * 测试结果：与逐个判断条件的结果一致。
+     */
+    @Test
+    @Order(1)
+    void testAllArities() {
+        List<Integer> list = range(100);
+        for (int n = 0; n <= ALL.size(); n++) {
+            Predicate<Integer>[] predicates = first(n);
+            List<Integer> ands = new ArrayList<>();
+            List<Integer> ors = new ArrayList<>();
+            List<Integer> nones = new ArrayList<>();
+            for (Integer i : list) {
+                if (and(predicates, i)) {
+                    ands.add(i);
+                }
+                if (or(predicates, i)) {
+                    ors.add(i);
+                } else {
+                    nones.add(i);
+                }
+            }
+            assertEquals(ands, X.list(list).filters(predicates).toList(), "n=" + n);
+            assertEquals(ors, X.list(list).filterOrs(predicates).toList(), "n=" + n);
+            assertEquals(nones, X.list(list).filterNots(predicates).toList(), "n=" + n);
+            assertEquals(ors.size(), X.list(list).count(predicates), "n=" + n);
+            assertEquals(ands, X.list(list).partition(predicates).get(0), "n=" + n);
+            assertEquals(ands.get(0), X.list(list).first(predicates), "n=" + n);
+            assertEquals(ands.get(ands.size() - 1), X.list(list).last(predicates), "n=" + n);
+        }
+    }
+
+    /**
+     * 测试目的：验证按字段判断空白与空值的多函数形式。
+     * 测试要求：filterBlank/filterNotBlank/filterNulls/filterNotNulls使用多个函数。
+     * 测试功能：按函数返回值编译条件。
+     * 测试范围：含空值与空字符串的集合。
+     * 测试结果：所有函数的返回值都满足时保留元素。
+     */
+    @Test
+    @Order(2)
+    void testValueFunctions() {
+        List<String[]> rows = Arrays.asList(
+                new String[]{"a", "b"}, new String[]{"", null}, new String[]{null, "c"}, new String[]{"", ""});
+        assertEquals(2, X.list(rows).filterBlank(r -> r[0], r -> r[1]).count());
+        assertEquals(1, X.list(rows).filterNotBlank(r -> r[0], r -> r[1]).count());
+        assertEquals(0, X.list(rows).filterNulls(r -> r[0], r -> r[1]).count());
+        assertEquals(2, X.list(rows).filterNotNulls(r -> r[0], r -> r[1]).count());
+        assertEquals(Arrays.asList("", null), X.list(Arrays.asList("x", "", null)).filterBlank().toList());
+    }
+}
@@ -0,0 +1,159 @@
+package single;
+
+import com.zyf.util.IntIntMap;
+import com.zyf.util.IntObjectMap;
+import com.zyf.util.LongObjectMap;
+import com.zyf.util.MapListStream;
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PrimitiveKeyMapTest {
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    /**
+     * 测试目的：验证groupByInt/groupByLong与groupBy的结果一致。
+     * 测试要求：窄范围的键与分散的键，含null元素。
+     * 测试功能：int/long键分组，自动选择数组或哈希表。
+     * 测试范围：普通集合。
+     * 测试结果：分组内容与顺序一致，窄范围使用数组，分散的键使用哈希表。
+     */
+    @Test
+    @Order(1)
+    void testGroupByMatchesBoxed() {
+        List<Integer> list = new ArrayList<>(range(10_000));
+        list.add(null);
+        IntObjectMap<List<Integer>> byAge = X.list(list).groupByInt(i -> i % 100);
+        assertTrue(byAge.isDense());
+        assertEquals(X.list(list).groupBy(i -> i % 100).toMap(), byAge.toMap());
+        assertEquals(new ArrayList<>(X.list(list).groupBy(i -> i % 100).toMap().keySet()),
+                new ArrayList<>(MapListStream.ofInt(byAge).toMap().keySet()));
+        assertEquals(Arrays.asList(7, 107, 207), byAge.get(7).subList(0, 3));
+        assertNull(byAge.get(100));
+
+        IntObjectMap<List<String>> sparse = X.list(list).groupByInt(i -> i * 1_000_003, String::valueOf);
+        assertFalse(sparse.isDense());
+        assertEquals(X.list(list).groupBy(i -> i * 1_000_003, String::valueOf).toMap(), sparse.toMap());
+
+        LongObjectMap<List<Integer>> byLong = X.list(list).groupByLong(i -> (long) i * Integer.MAX_VALUE);
+        assertEquals(10_000, byLong.size());
+        assertFalse(byLong.isDense());
+        assertEquals(List.of(3), byLong.get(3L * Integer.MAX_VALUE));
+        assertEquals(X.list(list).groupBy(i -> (long) i * Integer.MAX_VALUE).toMap(), MapListStream.ofLong(byLong).toMap());
+    }
+
+    /**
+     * 测试目的：验证countByInt与toIntMap。
+     * 测试要求：重复键，保留最后一个值或合并。
+     * 测试功能：计数与转换。
+     * 测试范围：顺序与并行。
+     * 测试结果：与装箱的实现结果一致，并行结果与顺序结果相同。
+     */
+    @Test
+    @Order(2)
+    void testCountAndToMap() {
+        List<Integer> list = range(100_000);
+        IntIntMap counts = X.list(list).countByInt(i -> i % 7 - 3);
+        assertEquals(7, counts.size());
+        assertEquals(14_286, counts.get(-3));
+        assertEquals(0, counts.get(4));
+        assertArrayEquals(new int[]{-3, -2, -1, 0, 1, 2, 3}, counts.keys());
+
+        IntObjectMap<Integer> last = X.list(list).toIntMap(i -> i % 10);
+        assertEquals(99_990, last.get(0));
+        IntObjectMap<Integer> sums = X.list(list).toIntMap(i -> i % 10, i -> 1, Integer::sum);
+        assertEquals(10_000, sums.get(9));
+        assertEquals("{0=2, 1=3}", X.list(range(3)).toIntMap(i -> i / 2 * (i % 2 + 1), i -> i + 1, (a, b) -> b).toString());
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            assertEquals(X.list(list).groupByInt(i -> i % 1_000).toMap(),
+                    X.list(list).parallel(pool).groupByInt(i -> i % 1_000).toMap());
+            assertEquals(counts.toMap(), X.list(list).parallel(pool).countByInt(i -> i % 7 - 3).toMap());
+            assertEquals(sums.toMap(), X.list(list).parallel(pool).toIntMap(i -> i % 10, i -> 1, Integer::sum).toMap());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 测试目的：验证数组与哈希表之间的切换及边界键。
+     * 测试要求：随机键与极值键，与LinkedHashMap对照。
+     * 测试功能：范围扩大、向下扩展、切换后重新变窄。
+     * 测试范围：int与long的极值。
+     * 测试结果：任何时刻的查找结果与LinkedHashMap相同，范围重新变窄后回到数组。
+     */
+    @Test
+    @Order(3)
+    void testModeSwitching() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        for (int key = 10; key >= -10; key--) {
+            map.put(key, key);
+            expected.put(key, key);
+        }
+        assertTrue(map.isDense());
+        map.put(1_000_000, 0);
+        expected.put(1_000_000, 0);
+        assertFalse(map.isDense());
+        for (int key = 0; key < 300_000; key++) {
+            assertEquals(expected.put(key, key), map.put(key, key));
+        }
+        assertTrue(map.isDense());
+        map.put(Integer.MIN_VALUE, 1);
+        map.put(Integer.MAX_VALUE, 2);
+        expected.put(Integer.MIN_VALUE, 1);
+        expected.put(Integer.MAX_VALUE, 2);
+        assertFalse(map.isDense());
+        assertEquals(expected, map.toMap());
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.toMap().keySet()));
+
+        Random random = new Random(7);
+        IntObjectMap<Integer> randomMap = new IntObjectMap<>();
+        Map<Integer, Integer> randomExpected = new LinkedHashMap<>();
+        for (int step = 0; step < 100_000; step++) {
+            int key = step % 3 == 0 ? random.nextInt() : random.nextInt(2_000) - 1_000;
+            if (random.nextBoolean()) {
+                assertEquals(randomExpected.put(key, step), randomMap.put(key, step));
+            } else {
+                assertEquals(randomExpected.get(key), randomMap.get(key));
+                assertEquals(randomExpected.containsKey(key), randomMap.containsKey(key));
+            }
+        }
+        assertEquals(randomExpected, randomMap.toMap());
+
+        LongObjectMap<String> extremes = new LongObjectMap<>();
+        extremes.put(Long.MIN_VALUE + 1, "a");
+        extremes.put(Long.MIN_VALUE, "b");
+        extremes.put(Long.MAX_VALUE, "c");
+        assertEquals("b", extremes.get(Long.MIN_VALUE));
+        assertEquals("c", extremes.get(Long.MAX_VALUE));
+        assertNull(extremes.get(0L));
+        assertArrayEquals(new long[]{Long.MIN_VALUE + 1, Long.MIN_VALUE, Long.MAX_VALUE}, extremes.keys());
+    }
+}
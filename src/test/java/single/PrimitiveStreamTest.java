@@ -0,0 +1,128 @@
+package single;
+
+import com.zyf.util.DoubleListStream;
+import com.zyf.util.IntListStream;
+import com.zyf.util.LongListStream;
+import com.zyf.util.X;
+import full.test.entity.User;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PrimitiveStreamTest {
+
+    /**
+     * 测试目的：验证mapToInt后的统计操作。
+     * 测试要求：对象集合映射为int。
+     * 测试功能：sum/average/min/max。
+     * 测试范围：对象集合。
+     * 测试结果：返回正确统计值。
+     */
+    @Test
+    @Order(1)
+    void testMapToInt() {
+        List<User> users = Arrays.asList(new User("Alice", 20, 168), new User("Bob", 17, 178), new User("Eve", 5, 158));
+        IntListStream ages = X.list(users).mapToInt(User::getAge);
+        assertEquals(3, ages.size());
+        assertEquals(42L, ages.sum());
+        assertEquals(14.0, ages.average());
+        assertEquals(5, ages.min());
+        assertEquals(20, ages.max());
+        assertArrayEquals(new int[]{5, 17, 20}, ages.sorted().toArray());
+        assertArrayEquals(new int[]{20, 17, 5}, ages.toArray());
+        assertEquals(Arrays.asList(20, 17, 5), ages.boxed().toList());
+    }
+
+    /**
+     * 测试目的：验证int求和不会溢出。
+     * 测试要求：元素之和超过Integer.MAX_VALUE。
+     * 测试功能：long累加。
+     * 测试范围：极值集合。
+     * 测试结果：返回正确的long值。
+     */
+    @Test
+    @Order(2)
+    void testIntSumOverflow() {
+        IntListStream stream = X.list(Arrays.asList(Integer.MAX_VALUE, Integer.MAX_VALUE)).mapToInt(i -> i);
+        assertEquals(2L * Integer.MAX_VALUE, stream.sum());
+    }
+
+    /**
+     * 测试目的：验证直方图统计。
+     * 测试要求：给定升序边界。
+     * 测试功能：histogram。
+     * 测试范围：普通集合。
+     * 测试结果：每个桶计数正确，非升序边界抛出异常。
+     */
+    @Test
+    @Order(3)
+    void testHistogram() {
+        IntListStream stream = IntListStream.of(-5, 0, 1, 9, 10, 11, 100);
+        assertArrayEquals(new long[]{1, 3, 2, 1}, stream.histogram(0, 10, 100));
+        assertThrows(IllegalArgumentException.class, () -> stream.histogram(10, 0));
+
+        LongListStream longs = LongListStream.of(1L, 2L, 3L);
+        assertArrayEquals(new long[]{1, 2}, longs.histogram(2L));
+
+        DoubleListStream doubles = DoubleListStream.of(0.5, 1.5, Double.NaN, 2.5);
+        assertArrayEquals(new long[]{1, 1, 1}, doubles.histogram(1.0, 2.0));
+    }
+
+    /**
+     * 测试目的：验证空集合的统计。
+     * 测试要求：空集合。
+     * 测试功能：空集合统计。
+     * 测试范围：空集合。
+     * 测试结果：sum/average为0，min/max抛出异常或返回默认值。
+     */
+    @Test
+    @Order(4)
+    void testEmpty() {
+        IntListStream stream = X.list(Collections.<Integer>emptyList()).mapToInt(i -> i);
+        assertTrue(stream.isEmpty());
+        assertEquals(0L, stream.sum());
+        assertEquals(0.0, stream.average());
+        assertThrows(NoSuchElementException.class, stream::min);
+        assertEquals(-1, stream.maxOrElse(-1));
+    }
+
+    /**
+     * 测试目的：验证mapToLong/mapToDouble的统计。
+     * 测试要求：过滤后的懒加载流。
+     * 测试功能：sum/average/min/max。
+     * 测试范围：大集合。
+     * 测试结果：返回正确统计值，double求和有补偿。
+     */
+    @Test
+    @Order(5)
+    void testMapToLongAndDouble() {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 1; i <= 100_000; i++) {
+            list.add(i);
+        }
+        LongListStream longs = X.list(list).filter(i -> i % 2 == 0).mapToLong(i -> i * 100_000L);
+        assertEquals(50_000, longs.size());
+        assertEquals(200_000L, longs.min());
+        assertEquals(10_000_000_000L, longs.max());
+
+        DoubleListStream doubles = X.list(list).mapToDouble(i -> 0.1);
+        assertEquals(10_000.0, doubles.sum(), 1e-9);
+        assertEquals(0.1, doubles.average(), 1e-15);
+
+        DoubleListStream parallel = X.list(list).parallel().mapToDouble(i -> i);
+        assertArrayEquals(X.list(list).mapToDouble(i -> i).toArray(), parallel.toArray());
+    }
+}
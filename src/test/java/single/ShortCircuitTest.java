@@ -0,0 +1,139 @@
+package single;
+
+import com.zyf.util.ListStream;
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ShortCircuitTest {
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    // 统计 get 调用次数的 RandomAccess 列表
+    static class CountingList extends AbstractList<Integer> implements RandomAccess {
+        final List<Integer> delegate;
+        final AtomicInteger gets = new AtomicInteger();
+
+        CountingList(List<Integer> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Integer get(int index) {
+            gets.incrementAndGet();
+            return delegate.get(index);
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+    }
+
+    /**
+     * 测试目的：验证take/limit取满后不再从上游拉取。
+     * 测试要求：大集合经过map后take。
+     * 测试功能：短路。
+     * 测试范围：大集合。
+     * 测试结果：上游map只执行n次。
+     */
+    @Test
+    @Order(1)
+    void testTakeStopsPulling() {
+        List<Integer> list = range(1_000_000);
+        AtomicInteger calls = new AtomicInteger();
+        List<Integer> result = X.list(list).map(i -> {
+            calls.incrementAndGet();
+            return i * 2;
+        }).take(10).toList();
+        assertEquals(Arrays.asList(0, 2, 4, 6, 8, 10, 12, 14, 16, 18), result);
+        assertEquals(10, calls.get());
+
+        calls.set(0);
+        X.list(new LinkedList<>(list)).map(i -> {
+            calls.incrementAndGet();
+            return i;
+        }).sub(5, 8).toList();
+        assertEquals(8, calls.get());
+    }
+
+    /**
+     * 测试目的：验证RandomAccess源头上skip/take/sub按下标跳转。
+     * 测试要求：统计源列表的get次数。
+     * 测试功能：O(1)跳过。
+     * 测试范围：RandomAccess集合。
+     * 测试结果：只访问结果区间内的元素，结果可修改且与源列表无关。
+     */
+    @Test
+    @Order(2)
+    void testRandomAccessJump() {
+        CountingList list = new CountingList(range(100_000));
+        List<Integer> result = X.list(list).skip(90_000).take(5).toList();
+        assertEquals(Arrays.asList(90_000, 90_001, 90_002, 90_003, 90_004), result);
+        assertEquals(5, list.gets.get());
+
+        list.gets.set(0);
+        assertEquals(Arrays.asList(50, 51), X.list(list).sub(50, 52).toList());
+        assertEquals(2, list.gets.get());
+
+        result.add(-1);
+        assertEquals(100_000, list.size());
+        assertEquals(3, X.list(list).skip(99_997).count());
+    }
+
+    /**
+     * 测试目的：验证大偏移量的sub。
+     * 测试要求：非RandomAccess集合，偏移量很大或超出长度。
+     * 测试功能：循环跳过，不递归。
+     * 测试范围：LinkedList。
+     * 测试结果：不会栈溢出，超出长度时返回空集合。
+     */
+    @Test
+    @Order(3)
+    void testSubLargeOffset() {
+        List<Integer> list = new LinkedList<>(range(1_000_000));
+        assertEquals(Arrays.asList(999_998, 999_999), X.list(list).sub(999_998, 1_000_005).toList());
+        assertTrue(X.list(list).sub(2_000_000, 2_000_001).toList().isEmpty());
+        assertTrue(X.list(range(3)).sub(5, 10).toList().isEmpty());
+        assertEquals(Arrays.asList(1, 2), X.list(range(3)).skip(1).take(5).toList());
+        assertThrows(IllegalArgumentException.class, () -> X.list(list).sub(3, 2));
+    }
+
+    /**
+     * 测试目的：验证视图的延迟求值。
+     * 测试要求：构造流之后修改源列表。
+     * 测试功能：区间视图按当前长度计算。
+     * 测试范围：ArrayList。
+     * 测试结果：终端操作时读取源列表的最新内容。
+     */
+    @Test
+    @Order(4)
+    void testRangeIsLazy() {
+        List<Integer> list = range(3);
+        ListStream<Integer> stream = X.list(list).skip(1);
+        list.add(3);
+        assertEquals(Arrays.asList(1, 2, 3), stream.toList());
+        assertEquals(Arrays.asList(2), X.list(list).skip(1).skip(1).take(1).toList());
+    }
+}
@@ -0,0 +1,143 @@
+package single;
+
+import com.zyf.util.ListStream;
+import com.zyf.util.Sort;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SinglePassTest {
+
+    private static final int SIZE = 100;
+
+    private final AtomicInteger pulls = new AtomicInteger();
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    /**
+     * 非集合的源头，统计 next 次数；之后的 filter 统计上游函数的调用次数，并使元素个数未知
+     */
+    private ListStream<Integer> counted() {
+        pulls.set(0);
+        evaluations.set(0);
+        Iterable<Integer> source = () -> new Iterator<>() {
+            int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < SIZE;
+            }
+
+            @Override
+            public Integer next() {
+                pulls.incrementAndGet();
+                return next++;
+            }
+        };
+        return ListStream.of(source).filter(i -> {
+            evaluations.incrementAndGet();
+            return true;
+        });
+    }
+
+    private void assertSinglePass() {
+        assertEquals(SIZE, pulls.get(), "源头被重复遍历");
+        assertEquals(SIZE, evaluations.get(), "上游函数被重复执行");
+    }
+
+    /**
+     * 测试目的：验证收集到Map的终端操作只遍历一次上游。
+     * 测试要求：非集合源头经过filter后groupBy/toMap/toLinkedMap。
+     * 测试功能：单次遍历。
+     * 测试范围：groupBy、toMap、toLinkedMap。
+     * 测试结果：每个元素只被拉取和计算一次。
+     */
+    @Test
+    @Order(1)
+    void testMapCollectors() {
+        Map<Integer, List<Integer>> groups = counted().groupBy(i -> i % 3).toMap();
+        assertSinglePass();
+        assertEquals(34, groups.get(0).size());
+
+        assertEquals(SIZE, counted().toMap(i -> i).size());
+        assertSinglePass();
+
+        assertEquals(SIZE, counted().toMap(i -> i, i -> i * 2, Integer::sum).size());
+        assertSinglePass();
+
+        assertEquals(SIZE, counted().toLinkedMap(i -> i, i -> i).size());
+        assertSinglePass();
+    }
+
+    /**
+     * 测试目的：验证计数、展开与排序只遍历一次上游。
+     * 测试要求：元素个数未知时count/count(条件)/flatMap/sort。
+     * 测试功能：单次遍历。
+     * 测试范围：count、flatMap、sort、sortDesc。
+     * 测试结果：结果正确，每个元素只被拉取和计算一次。
+     */
+    @Test
+    @Order(2)
+    void testCountFlatMapSort() {
+        assertEquals(SIZE, counted().count());
+        assertSinglePass();
+
+        assertEquals(50, counted().count(i -> i % 2 == 0, i -> i < 0));
+        assertSinglePass();
+
+        assertEquals(SIZE * 2, counted().flatMap(i -> Arrays.asList(i, i)).toList().size());
+        assertSinglePass();
+
+        assertEquals(SIZE - 1, counted().sortDesc(i -> i).toList().get(0));
+        assertSinglePass();
+
+        assertEquals(0, counted().sort(s -> s.createComparator(i -> i, Sort.Asc)).toList().get(0));
+        assertSinglePass();
+
+        assertEquals(0, ListStream.of(new ArrayList<Integer>()).filter(i -> true).count(i -> true));
+    }
+
+    /**
+     * 测试目的：验证匹配类终端操作单次遍历且能提前结束。
+     * 测试要求：containsAll/noneMatch/anyMatch/allMatch。
+     * 测试功能：单次遍历与短路。
+     * 测试范围：非集合源头。
+     * 测试结果：没有找到时每个元素只被拉取一次，找到后立即停止。
+     */
+    @Test
+    @Order(3)
+    void testMatchers() {
+        assertTrue(counted().containsAll(Arrays.asList(SIZE - 1, 0, 50)));
+        assertSinglePass();
+
+        assertFalse(counted().containsAll(Arrays.asList(1, SIZE)));
+        assertSinglePass();
+
+        assertTrue(counted().containsAll(Arrays.asList(0, 1, 1)));
+        assertEquals(2, pulls.get());
+
+        assertTrue(counted().noneMatch(i -> i < 0, i -> i >= SIZE));
+        assertSinglePass();
+
+        assertFalse(counted().noneMatch(i -> i == 9));
+        assertEquals(10, pulls.get());
+
+        assertFalse(counted().anyMatch(i -> i < 0));
+        assertSinglePass();
+
+        assertTrue(counted().allMatch(i -> i > 4, i -> i < 6));
+        assertEquals(6, evaluations.get());
+    }
+}
@@ -0,0 +1,123 @@
+package single;
+
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SumTest {
+
+    // 逐个转换为 BigDecimal 相加的参考实现
+    private static BigDecimal reference(List<? extends Number> list) {
+        BigDecimal sum = new BigDecimal("0.0");
+        for (Number n : list) {
+            sum = sum.add(new BigDecimal(String.valueOf(n)));
+        }
+        return sum;
+    }
+
+    /**
+     * 测试目的：验证sumBigDecimal对整数集合的求和。
+     * 测试要求：Integer/Long/Short/Byte混合。
+     * 测试功能：整数快速路径。
+     * 测试范围：整数集合。
+     * 测试结果：与逐个转换BigDecimal相加的结果完全一致（包括scale）。
+     */
+    @Test
+    @Order(1)
+    void testSumIntegral() {
+        List<Number> list = Arrays.asList(1, 2L, (short) 3, (byte) 4, -5);
+        assertEquals(reference(list), X.list(list).sumBigDecimal());
+        assertEquals(new BigDecimal("5.0"), X.list(list).sumBigDecimal(n -> n));
+        assertEquals(5, X.list(list).sumInt());
+        assertEquals(5L, X.list(list).sumLong());
+        assertEquals(5.0, X.list(list).sumDouble());
+    }
+
+    /**
+     * 测试目的：验证long溢出时的求和。
+     * 测试要求：元素之和超过Long.MAX_VALUE。
+     * 测试功能：溢出进位到BigInteger。
+     * 测试范围：极值集合。
+     * 测试结果：与参考实现一致。
+     */
+    @Test
+    @Order(2)
+    void testSumLongOverflow() {
+        List<Long> list = Arrays.asList(Long.MAX_VALUE, Long.MAX_VALUE, 10L, Long.MIN_VALUE);
+        BigDecimal expected = reference(list);
+        assertEquals(expected, X.list(list).sumBigDecimal());
+        assertEquals(expected.longValue(), X.list(list).sumLong());
+        assertEquals(expected.intValue(), X.list(list).sumInt());
+        assertEquals(expected.doubleValue(), X.list(list).sumDouble());
+    }
+
+    /**
+     * 测试目的：验证混合小数类型的求和。
+     * 测试要求：Double/Float/BigDecimal/BigInteger/Integer混合。
+     * 测试功能：按类型分派累加。
+     * 测试范围：混合类型集合。
+     * 测试结果：与参考实现一致。
+     */
+    @Test
+    @Order(3)
+    void testSumMixed() {
+        List<Number> list = Arrays.asList(0.1, 0.2, 1.5f, new BigDecimal("1.2345"), BigInteger.TEN, 7, 1e20);
+        BigDecimal expected = reference(list);
+        assertEquals(expected, X.list(list).sumBigDecimal());
+        assertEquals(expected.doubleValue(), X.list(list).sumDouble());
+        assertEquals(expected.longValue(), X.list(list).sumLong());
+        assertEquals(expected.intValue(), X.list(list).sumInt(n -> n));
+    }
+
+    /**
+     * 测试目的：验证averageBigDecimal的结果。
+     * 测试要求：整数与小数集合。
+     * 测试功能：平均值保留两位小数。
+     * 测试范围：普通集合与并行。
+     * 测试结果：与参考实现一致。
+     */
+    @Test
+    @Order(4)
+    void testAverage() {
+        List<Number> list = Arrays.asList(1, 2, 2, 0.5);
+        BigDecimal expected = reference(list).divide(BigDecimal.valueOf(4), 2, RoundingMode.HALF_UP);
+        assertEquals(expected, X.list(list).averageBigDecimal());
+
+        List<Integer> large = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            large.add(i);
+        }
+        assertEquals(reference(large), X.list(large).parallel().sumBigDecimal(i -> i));
+        assertEquals(X.list(large).averageBigDecimal(), X.list(large).parallel().averageBigDecimal());
+        assertEquals(new BigDecimal("0.0"), X.list(Collections.emptyList()).sumBigDecimal());
+    }
+
+    /**
+     * 测试目的：验证非法元素的异常。
+     * 测试要求：包含null或NaN。
+     * 测试功能：异常场景。
+     * 测试范围：异常集合。
+     * 测试结果：与原实现一致抛出NumberFormatException。
+     */
+    @Test
+    @Order(5)
+    void testSumInvalid() {
+        assertThrows(NumberFormatException.class, () -> X.list(Arrays.asList(1, null)).sumBigDecimal(n -> n));
+        assertThrows(NumberFormatException.class, () -> X.list(Arrays.asList(1.0, Double.NaN)).sumBigDecimal());
+        assertThrows(IllegalArgumentException.class, () -> X.list(Arrays.asList("1", "2")).sumBigDecimal());
+    }
+}
@@ -0,0 +1,134 @@
+package single;
+
+import com.zyf.util.ListStream;
+import com.zyf.util.Sort;
+import com.zyf.util.X;
+import full.test.entity.User;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class TopKTest {
+
+    private static List<User> randomUsers(int size) {
+        Random random = new Random(11);
+        List<User> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(new User("u" + i, random.nextInt(8) == 0 ? null : random.nextInt(100), 170));
+        }
+        return users;
+    }
+
+    /**
+     * 测试目的：验证topK/bottomK与完整排序后取前n个一致。
+     * 测试要求：含空值与大量重复键，不同n与空值位置。
+     * 测试功能：有界堆选取。
+     * 测试范围：大集合。
+     * 测试结果：结果与顺序完全一致，相同键保持原顺序。
+     */
+    @Test
+    @Order(1)
+    void testSameAsSortThenTake() {
+        List<User> users = randomUsers(5_000);
+        for (int n : new int[]{0, 1, 10, 100, 5_000, 6_000}) {
+            for (Sort nullPosition : Arrays.asList(Sort.NullFirst, Sort.NullLast)) {
+                List<User> desc = new ArrayList<>(users);
+                desc.sort(Comparator.comparing(User::getAge, nullPosition == Sort.NullFirst
+                        ? Comparator.nullsFirst(Comparator.reverseOrder()) : Comparator.nullsLast(Comparator.reverseOrder())));
+                assertEquals(desc.subList(0, Math.min(n, desc.size())), X.list(users).topK(n, User::getAge, nullPosition).toList());
+
+                List<User> asc = new ArrayList<>(users);
+                asc.sort(Comparator.comparing(User::getAge, nullPosition == Sort.NullFirst
+                        ? Comparator.nullsFirst(Comparator.naturalOrder()) : Comparator.nullsLast(Comparator.naturalOrder())));
+                assertEquals(asc.subList(0, Math.min(n, asc.size())), X.list(users).bottomK(n, User::getAge, nullPosition).toList());
+            }
+        }
+        assertEquals(X.list(users).sortDesc(User::getAge).toList().subList(0, 10), X.list(users).topK(10, User::getAge).toList());
+        assertThrows(IllegalArgumentException.class, () -> X.list(users).topK(-1, User::getAge));
+    }
+
+    /**
+     * 测试目的：验证sort(...).take(n)被改写为堆选取。
+     * 测试要求：统计比较器调用次数。
+     * 测试功能：排序后取前n个的优化。
+     * 测试范围：大集合。
+     * 测试结果：比较次数远小于完整排序，结果与完整排序一致。
+     */
+    @Test
+    @Order(2)
+    void testSortThenTakeRewrite() {
+        List<Integer> list = new ArrayList<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 100_000; i++) {
+            list.add(random.nextInt());
+        }
+        AtomicLong comparisons = new AtomicLong();
+        Comparator<Integer> counting = (a, b) -> {
+            comparisons.incrementAndGet();
+            return Integer.compare(a, b);
+        };
+        List<Integer> top = X.list(list).sort(counting).take(5).toList();
+        assertTrue(comparisons.get() < 3L * list.size());
+
+        List<Integer> expected = new ArrayList<>(list);
+        expected.sort(null);
+        assertEquals(expected.subList(0, 5), top);
+        assertEquals(expected.subList(0, 3), X.list(list).sorted().limit(5).take(3).toList());
+        assertEquals(expected.subList(0, 5), X.list(list).filter(i -> true).sorted().take(5).toList());
+    }
+
+    /**
+     * 测试目的：验证多键排序后取前n个。
+     * 测试要求：sort(Function<SortStream, Comparator>...).take(n)。
+     * 测试功能：多键堆选取。
+     * 测试范围：含空值集合。
+     * 测试结果：与完整排序后取前n个一致。
+     */
+    @Test
+    @Order(3)
+    void testMultipleKeysThenTake() {
+        List<User> users = randomUsers(2_000);
+        List<User> full = X.list(users).sort(
+                s -> s.createComparator(User::getAge, Sort.Desc, Sort.NullFirst),
+                s -> s.createComparator(User::getName, Sort.Asc)).toList();
+        List<User> top = X.list(users).sort(
+                s -> s.createComparator(User::getAge, Sort.Desc, Sort.NullFirst),
+                s -> s.createComparator(User::getName, Sort.Asc)).take(50).toList();
+        assertEquals(full.subList(0, 50), top);
+    }
+
+    /**
+     * 测试目的：验证排序中的异常推迟到终结操作时抛出。
+     * 测试要求：元素不是Comparable；比较器抛出异常。
+     * 测试功能：延迟排序。
+     * 测试范围：sorted、sort(comparator)、sort后take。
+     * 测试结果：调用排序方法时不抛出异常，toList时抛出。
+     */
+    @Test
+    @Order(4)
+    void testSortErrorsAreDeferred() {
+        List<Object> mixed = Arrays.asList(3, new Object(), 1);
+        ListStream<Object> sorted = X.list(mixed).sorted();
+        assertThrows(ClassCastException.class, sorted::toList);
+        assertThrows(ClassCastException.class, () -> X.list(mixed).sorted().take(1).toList());
+
+        Comparator<Integer> failing = (a, b) -> {
+            throw new IllegalStateException("compare");
+        };
+        ListStream<Integer> failingSort = X.list(Arrays.asList(2, 1)).sort(failing);
+        assertThrows(IllegalStateException.class, failingSort::toList);
+    }
+}
@@ -0,0 +1,155 @@
+package single;
+
+import com.zyf.util.MapListStream;
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ValueStreamParallelTest {
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    // 组的大小很不均匀：键 0 的组最大，键越大组越小
+    private static MapListStream<Integer, Integer> unevenGroups() {
+        return X.list(range(20_000)).groupBy(i -> Integer.numberOfLeadingZeros(i) * 100 + i % 50);
+    }
+
+    /**
+     * 测试目的：验证valueStreamParallel与valueStream的结果一致。
+     * 测试要求：大小不均匀的分组，每组排序后取聚合值。
+     * 测试功能：并行的分组计算。
+     * 测试范围：公共线程池、固定线程池、保持与不保持键顺序。
+     * 测试结果：结果相同；保持顺序时键顺序与原Map相同，否则按组从大到小。
+     */
+    @Test
+    @Order(1)
+    void testSameAsValueStream() {
+        MapListStream<Integer, Integer> groups = unevenGroups();
+        Map<Integer, Long> expected = groups.valueStream(values -> values.sortDesc(i -> i).sumLong()).toMap();
+        Map<Integer, Long> parallel = groups.valueStreamParallel(values -> values.sortDesc(i -> i).sumLong()).toMap();
+        assertEquals(expected, parallel);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(parallel.keySet()));
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Map<Integer, Long> withPool = groups.valueStreamParallel(values -> values.sumLong(), pool).toMap();
+            assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(withPool.keySet()));
+
+            Map<Integer, Integer> bySize = groups.valueStreamParallel(values -> values.toList().size(), pool, false).toMap();
+            assertEquals(expected.keySet(), bySize.keySet());
+            List<Integer> sizes = new ArrayList<>(bySize.values());
+            for (int i = 1; i < sizes.size(); i++) {
+                assertTrue(sizes.get(i - 1) >= sizes.get(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(Map.of(), X.list(new ArrayList<Integer>()).groupBy(i -> i).valueStreamParallel(values -> values.sumLong()).toMap());
+    }
+
+    /**
+     * 测试目的：验证分组确实在多个线程上执行，且线程池不可用时由调用线程完成。
+     * 测试要求：单线程池被占满、线程池拒绝执行。
+     * 测试功能：调用线程参与执行。
+     * 测试范围：固定线程池。
+     * 测试结果：多线程时使用了多个线程；线程池不可用时结果仍然完整，不会阻塞。
+     */
+    @Test
+    @Order(2)
+    void testCallerRuns() throws Exception {
+        MapListStream<Integer, Integer> groups = X.list(range(1_000)).groupBy(i -> i % 64);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            groups.valueStreamParallel(values -> {
+                threads.add(Thread.currentThread().getName());
+                sleep(5);
+                return values.sumLong();
+            }, pool);
+            assertTrue(threads.size() > 1);
+
+            // 在单线程池唯一的线程中调用，提交的任务永远不会开始
+            ExecutorService single = Executors.newSingleThreadExecutor();
+            try {
+                Map<Integer, Long> sums = single.submit(() -> groups.valueStreamParallel(values -> values.sumLong(), single).toMap()).get();
+                assertEquals(groups.valueStream(values -> values.sumLong()).toMap(), sums);
+            } finally {
+                single.shutdown();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<Integer, Long> rejected = groups.valueStreamParallel(values -> values.sumLong(), command -> {
+            throw new RejectedExecutionException();
+        }).toMap();
+        assertEquals(64, rejected.size());
+        assertEquals(X.list(range(1_000)).filter(i -> i % 64 == 3).sumLong(), rejected.get(3));
+    }
+
+    /**
+     * 测试目的：验证分组失败时的异常。
+     * 测试要求：多个分组抛出异常。
+     * 测试功能：异常传播。
+     * 测试范围：固定线程池。
+     * 测试结果：抛出第一个异常，第一个失败之后不再开始新的分组。
+     */
+    @Test
+    @Order(3)
+    void testFailure() {
+        MapListStream<Integer, Integer> groups = X.list(range(10_000)).groupBy(i -> i % 1_000);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> groups.valueStreamParallel(values -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("boom");
+            }, pool));
+            assertEquals("boom", e.getMessage());
+            assertTrue(calls.get() < 1_000);
+        } finally {
+            pool.shutdown();
+        }
+
+        RuntimeException cause = new RuntimeException("only");
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> X.list(Arrays.asList(1, 2)).groupBy(i -> i)
+                .valueStreamParallel(values -> {
+                    throw cause;
+                }, Runnable::run, true));
+        assertSame(cause, thrown);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
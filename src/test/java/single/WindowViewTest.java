@@ -0,0 +1,97 @@
+package single;
+
+import com.zyf.util.ListStream;
+import com.zyf.util.X;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class WindowViewTest {
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    /**
+     * 测试目的：验证视图窗口、复用窗口与复制窗口的结果一致。
+     * 测试要求：各种长度、窗口大小、步长与partialWindows组合。
+     * 测试功能：windowedView、windowed(consumer)。
+     * 测试范围：ArrayList、LinkedList、元素个数未知的流。
+     * 测试结果：窗口序列完全相同，个数推算正确。
+     */
+    @Test
+    @Order(1)
+    void testSameAsCopyingWindows() {
+        for (int n = 0; n <= 12; n++) {
+            List<Integer> list = range(n);
+            List<ListStream<Integer>> streams = Arrays.asList(
+                    X.list(list), X.list(new LinkedList<>(list)), X.list(list).filter(i -> true));
+            for (int size = 1; size <= 5; size++) {
+                for (int step = 1; step <= 6; step++) {
+                    for (boolean partial : new boolean[]{true, false}) {
+                        String message = "n=" + n + " size=" + size + " step=" + step + " partial=" + partial;
+                        List<List<Integer>> expected = X.list(list).windowed(size, step, partial).toList();
+                        for (ListStream<Integer> stream : streams) {
+                            assertEquals(expected, stream.windowedView(size, step, partial).toList(), message);
+                            assertEquals(expected.size(), stream.windowedView(size, step, partial).count(), message);
+                            List<List<Integer>> reused = new ArrayList<>();
+                            stream.windowed(size, step, partial, window -> reused.add(new ArrayList<>(window)));
+                            assertEquals(expected, reused, message);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 测试目的：验证视图窗口不复制元素且只读。
+     * 测试要求：RandomAccess源头，修改窗口。
+     * 测试功能：零复制视图。
+     * 测试范围：ArrayList。
+     * 测试结果：窗口元素与源列表是同一对象，修改窗口抛出异常，复用模式只有一个视图对象。
+     */
+    @Test
+    @Order(2)
+    void testViewsAreZeroCopy() {
+        List<StringBuilder> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(new StringBuilder("s" + i));
+        }
+        List<List<StringBuilder>> windows = X.list(list).windowedView(3, 2, false).toList();
+        assertEquals(4, windows.size());
+        assertSame(list.get(2), windows.get(1).get(0));
+        assertThrows(UnsupportedOperationException.class, () -> windows.get(0).add(new StringBuilder()));
+        assertThrows(UnsupportedOperationException.class, () -> windows.get(0).set(0, new StringBuilder()));
+
+        List<List<Integer>> chunks = X.list(range(7)).chunkedView(3).toList();
+        assertEquals(Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(3, 4, 5), Arrays.asList(6)), chunks);
+
+        List<List<Integer>> seen = new ArrayList<>();
+        List<Integer> sums = new ArrayList<>();
+        X.list(range(6)).filter(i -> true).windowed(3, 1, false, window -> {
+            seen.add(window);
+            sums.add(window.get(0) + window.get(1) + window.get(2));
+        });
+        assertEquals(Arrays.asList(3, 6, 9, 12), sums);
+        assertSame(seen.get(0), seen.get(3));
+        assertThrows(IllegalArgumentException.class, () -> X.list(range(3)).windowedView(0, 1, false));
+        assertThrows(IllegalArgumentException.class, () -> X.list(range(3)).windowed(1, 0, false, w -> {
+        }));
+    }
+}